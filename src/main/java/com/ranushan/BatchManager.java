@@ -1,44 +1,129 @@
 package com.ranushan;
 
+import com.ranushan.cluster.BatchPartitioner;
+import com.ranushan.cluster.ClusterLockProvider;
+import com.ranushan.cluster.MembershipStore;
 import com.ranushan.configuration.BatchConfiguration;
 import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.BatchType;
+import com.ranushan.domain.ShutdownReport;
+import com.ranushan.event.BatchEventBus;
+import com.ranushan.event.BatchEventSubscription;
 import com.ranushan.factory.BatchFactory;
+import com.ranushan.journal.ExecutionJournal;
+import com.ranushan.journal.ExecutionRecord;
+import com.ranushan.metrics.BatchMetricsSnapshot;
+import com.ranushan.registry.BatchRegistry;
 import com.ranushan.runner.AbstractBatch;
 import com.ranushan.scanner.AnnotatedBatchScanner;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.scheduler.SchedulerType;
+import com.ranushan.scheduler.ThreadPoolBatchScheduler;
+import com.ranushan.scheduler.TimingWheelBatchScheduler;
+import com.ranushan.store.FileFireTimeStore;
 import com.ranushan.util.CommonRegEx;
 import com.ranushan.util.ExceptionUtils;
+import com.ranushan.util.JsonWriter;
 import com.ranushan.util.ObjectUtils;
 import com.ranushan.util.StringUtils;
 import com.ranushan.util.logging.LogArgument;
 import com.ranushan.util.logging.LogUtils;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 @Slf4j
-@RequiredArgsConstructor
 public class BatchManager {
 
+    /**
+     * The default maximum time {@link #shutdown()} waits for running tasks.
+     */
+    public static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final long DRAIN_POLL_MILLIS = 10L;
     private static final String MSG_INVALID_BATCH = "Invalid batch: %s";
     private static final String MSG_BATCH_STARTED_PLEASE_STOP_FIRST = "'%s' is started. Please stop the batch before this operation.";
 
-    private final Map<String, AbstractBatch> batchesByName = new TreeMap<>();
-    private final Map<String, BatchConfiguration> batchesByClass = new TreeMap<>();
+    private final BatchRegistry registry = new BatchRegistry();
+    private final Map<String, Exception> instantiationErrors = new ConcurrentHashMap<>();
+    // The batches stopped by stop(Duration), which startAllBatches() resets
+    private final Set<String> restartableBatches = ConcurrentHashMap.newKeySet();
 
     private final ConfigurationHolder configurationHolder;
+    private final BatchScheduler scheduler;
+    private final BatchEventBus eventBus;
+    private final BatchPartitioner partitioner;
+    private final MembershipStore membershipStore;
+    private final Duration shutdownTimeout;
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+    private final Thread shutdownHook;
+    private int instantiationParallelism = 1;
+
+    /**
+     * Creates a manager of no batch, with the given configuration and the defaults of a
+     * {@link BatchRunner} for everything else.
+     *
+     * @param configurationHolder the configuration shared by the managed batches; not null
+     */
+    public BatchManager(ConfigurationHolder configurationHolder) {
+        this(new BatchRunner().configurationHolder(
+                Objects.requireNonNull(configurationHolder, "The configuration holder must not be null")).prepare());
+    }
 
     private BatchManager(BatchRunner runner) {
         this.configurationHolder = runner.configurationHolder;
+        this.scheduler = runner.scheduler;
+        this.instantiationParallelism = runner.instantiationParallelism;
+        this.eventBus = new BatchEventBus(runner.eventBufferCapacity);
+        this.membershipStore = runner.membershipStore;
+        this.partitioner = runner.membershipStore == null ? null
+                : new BatchPartitioner(this, runner.membershipStore, runner.nodeId, runner.heartbeatInterval);
+        this.shutdownTimeout = runner.shutdownTimeout;
+        this.shutdownHook = runner.registerShutdownHook ? new Thread(this::shutdown, "BatchManager-shutdown") : null;
+        if (this.shutdownHook != null) {
+            Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+        }
     }
 
     public static class BatchRunner {
         private ConfigurationHolder configurationHolder;
         private String scanPackage;
+        private BatchScheduler scheduler;
+        private SchedulerType schedulerType = SchedulerType.THREAD_POOL;
+        private int schedulerPoolSize = ThreadPoolBatchScheduler.DEFAULT_POOL_SIZE;
+        private Duration tickDuration = TimingWheelBatchScheduler.DEFAULT_TICK_DURATION;
+        private int instantiationParallelism = 1;
+        private Path fireTimeStoreDirectory;
+        private Path executionJournalFile;
+        private int executionJournalCapacity = ExecutionJournal.DEFAULT_CAPACITY;
+        private int eventBufferCapacity = BatchEventBus.DEFAULT_CAPACITY;
+        private ClusterLockProvider clusterLockProvider;
+        private MembershipStore membershipStore;
+        private String nodeId = BatchPartitioner.defaultNodeId();
+        private Duration heartbeatInterval = BatchPartitioner.DEFAULT_HEARTBEAT_INTERVAL;
+        private Duration shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+        private boolean registerShutdownHook = true;
         private final BiFunction<BatchManager, String, BatchManager> fnScanPackage = (bm, sp) ->  {
             bm.scanPackage(sp);
             return bm;
@@ -54,15 +139,187 @@ public class BatchManager {
             return this;
         }
 
-        public BatchManager build() {
-            if(this.configurationHolder == null) {
-                this.configurationHolder = new ConfigurationHolder();
+        /**
+         * Sets the scheduling engine shared by all batches. If not specified, a new scheduler
+         * will be created with the configured type, pool size and tick duration.
+         */
+        public BatchRunner scheduler(BatchScheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Sets the type of the scheduling engine to be created (default is
+         * {@link SchedulerType#THREAD_POOL}). Ignored if a custom scheduler is specified.
+         */
+        public BatchRunner schedulerType(SchedulerType schedulerType) {
+            this.schedulerType = schedulerType;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads of the scheduling engine to be created. Ignored if a
+         * custom scheduler is specified.
+         */
+        public BatchRunner schedulerPoolSize(int schedulerPoolSize) {
+            this.schedulerPoolSize = schedulerPoolSize;
+            return this;
+        }
+
+        /**
+         * Sets the tick duration, i.e. the accuracy, of a {@link SchedulerType#TIMING_WHEEL}
+         * scheduler (for example: 1 ms, 10 ms or 1 s). Ignored for other scheduler types.
+         */
+        public BatchRunner tickDuration(Duration tickDuration) {
+            this.tickDuration = tickDuration;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of batches to be instantiated in parallel at startup
+         * (default is 1, i.e. sequential instantiation). Values greater than 1 use a dedicated,
+         * bounded {@link ForkJoinPool}.
+         */
+        public BatchRunner instantiationParallelism(int instantiationParallelism) {
+            if (instantiationParallelism < 1) {
+                throw ExceptionUtils.illegalArgument("The parallelism must be positive: %d", instantiationParallelism);
             }
+            this.instantiationParallelism = instantiationParallelism;
+            return this;
+        }
+
+        /**
+         * Sets the directory of a {@link FileFireTimeStore}, in which the last fire time of
+         * each Cron batch is recorded, so that the executions missed while the application
+         * was down can be handled on start according to the misfire policy of each batch.
+         */
+        public BatchRunner fireTimeStoreDirectory(Path fireTimeStoreDirectory) {
+            this.fireTimeStoreDirectory = fireTimeStoreDirectory;
+            return this;
+        }
+
+        /**
+         * Sets the file of an {@link ExecutionJournal}, in which every batch execution will be
+         * recorded.
+         */
+        public BatchRunner executionJournalFile(Path executionJournalFile) {
+            this.executionJournalFile = executionJournalFile;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of records held by the execution journal (default is
+         * {@link ExecutionJournal#DEFAULT_CAPACITY}); the oldest records are overwritten
+         * once the journal is full. Ignored if no journal file is specified.
+         */
+        public BatchRunner executionJournalCapacity(int executionJournalCapacity) {
+            this.executionJournalCapacity = executionJournalCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the number of state transition events retained for subscribers (default is
+         * {@link BatchEventBus#DEFAULT_CAPACITY}); must be a power of two. Subscribers lagging
+         * further behind drop the oldest events.
+         */
+        public BatchRunner eventBufferCapacity(int eventBufferCapacity) {
+            this.eventBufferCapacity = eventBufferCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the provider of the locks that restrict each scheduled execution to a single
+         * node of the cluster, e.g. a {@link com.ranushan.cluster.JdbcClusterLockProvider}.
+         * Manual executions are never locked.
+         */
+        public BatchRunner clusterLockProvider(ClusterLockProvider clusterLockProvider) {
+            this.clusterLockProvider = clusterLockProvider;
+            return this;
+        }
+
+        /**
+         * Sets the store of the live nodes of the cluster. When set, the batches are spread
+         * over the live nodes, and {@link #startAllBatches()} only starts the batches owned by
+         * this node (see {@link BatchPartitioner}).
+         */
+        public BatchRunner membershipStore(MembershipStore membershipStore) {
+            this.membershipStore = membershipStore;
+            return this;
+        }
+
+        /**
+         * Sets the identifier of this node in the cluster (default is the host name and the
+         * process ID). Ignored if no membership store is specified.
+         */
+        public BatchRunner nodeId(String nodeId) {
+            this.nodeId = nodeId;
+            return this;
+        }
+
+        /**
+         * Sets the time between two heartbeats of this node (default is
+         * {@link BatchPartitioner#DEFAULT_HEARTBEAT_INTERVAL}). Ignored if no membership
+         * store is specified.
+         */
+        public BatchRunner heartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time {@link #shutdown()} waits for running tasks before
+         * interrupting them (default is {@link #DEFAULT_SHUTDOWN_TIMEOUT}).
+         */
+        public BatchRunner shutdownTimeout(Duration shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+            return this;
+        }
+
+        /**
+         * Registers a JVM shutdown hook that calls {@link #shutdown()}, e.g. on SIGTERM or
+         * {@link System#exit(int)} (default is {@code true}), so that the running tasks are
+         * given the shutdown timeout to complete.
+         * <p>
+         * <b>NOTE:</b> The scheduler threads are not daemon threads: the JVM does not exit when
+         * the main thread ends, but only once {@link #shutdown()} is called or the process is
+         * terminated. Disable the hook only when the manager is shut down by a container, such
+         * as a Spring application context.
+         */
+        public BatchRunner registerShutdownHook(boolean registerShutdownHook) {
+            this.registerShutdownHook = registerShutdownHook;
+            return this;
+        }
+
+        public BatchManager build() {
+            prepare();
             if(StringUtils.isEmpty(this.scanPackage)) {
                 this.scanPackage = "com.ranu";
             }
             return this.fnScanPackage.apply(new BatchManager(this), this.scanPackage);
         }
+
+        /*
+         * Applies the defaults and creates the configured stores and scheduler
+         */
+        private BatchRunner prepare() {
+            if(this.configurationHolder == null) {
+                this.configurationHolder = new ConfigurationHolder();
+            }
+            if(this.fireTimeStoreDirectory != null) {
+                this.configurationHolder.setFireTimeStore(new FileFireTimeStore(this.fireTimeStoreDirectory));
+            }
+            if(this.executionJournalFile != null) {
+                this.configurationHolder.setExecutionJournal(
+                        new ExecutionJournal(this.executionJournalFile, this.executionJournalCapacity));
+            }
+            if(this.clusterLockProvider != null) {
+                this.configurationHolder.setClusterLockProvider(this.clusterLockProvider);
+            }
+            if(this.scheduler == null) {
+                this.scheduler = this.schedulerType.getFactoryFunction().apply(this.schedulerPoolSize, this.tickDuration);
+            }
+            return this;
+        }
     }
 
     private void scanPackage(String basePackage) {
@@ -78,14 +335,33 @@ public class BatchManager {
 
         log.info("Instantiating batch(es)...");
 
-        batchCandidates.stream()
-                .map(this::findHighestPrecedenceConfiguration)
-                .map(this::instantiateBatchQuietly)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .forEach(this::addBatch);
+        List<AbstractBatch> batches = instantiationParallelism > 1 ? instantiateInParallel(batchCandidates)
+                : instantiate(batchCandidates.stream());
+        batches.forEach(this::addBatch);
+
+        if (!instantiationErrors.isEmpty()) {
+            log.warn("{} batch(es) could not be instantiated: {}", instantiationErrors.size(),
+                    instantiationErrors.keySet());
+        }
+        log.info("Instantiation complete. Now managing {} batches: {}", registry.size(), registry.getConfigurations());
+    }
 
-        log.info("Instantiation complete. Now managing {} batches: {}", batchesByClass.size(), batchesByClass.values());
+    private List<AbstractBatch> instantiate(Stream<BatchConfiguration> batchCandidates) {
+        return batchCandidates.map(this::findHighestPrecedenceConfiguration)
+                              .map(this::instantiateBatchQuietly)
+                              .flatMap(Optional::stream)
+                              .toList();
+    }
+
+    private List<AbstractBatch> instantiateInParallel(Collection<BatchConfiguration> batchCandidates) {
+        log.debug("Instantiating batches with parallelism {}", instantiationParallelism);
+        ForkJoinPool pool = new ForkJoinPool(instantiationParallelism);
+        try {
+            return pool.submit(() -> instantiate(batchCandidates.parallelStream())).join();
+        }
+        finally {
+            pool.shutdown();
+        }
     }
 
     private BatchConfiguration findHighestPrecedenceConfiguration(BatchConfiguration batchConfiguration) {
@@ -94,7 +370,7 @@ public class BatchManager {
     }
 
     private Optional<AbstractBatch> instantiateBatchQuietly(BatchConfiguration batchConfiguration) {
-        if (batchesByClass.containsKey(batchConfiguration.getClassName())) {
+        if (registry.containsClassName(batchConfiguration.getClassName())) {
             log.debug("The batch {} was already instantiated", batchConfiguration.getClass());
             return Optional.empty();
         }
@@ -104,32 +380,38 @@ public class BatchManager {
     private Optional<AbstractBatch> instantiateBatch(BatchConfiguration batchConfiguration) {
         log.debug("Instantiating batch {}...", batchConfiguration.getClassName());
         try {
-            return Optional.of(BatchFactory.create(batchConfiguration, configurationHolder));
+            return Optional.of(BatchFactory.create(batchConfiguration, configurationHolder, scheduler));
         }
         catch (Exception exception) {
             log.error("Error loading batch: {}", batchConfiguration.getClassName(), exception);
+            instantiationErrors.put(batchConfiguration.getClassName(), exception);
             return Optional.empty();
         }
     }
 
     private void addBatch(AbstractBatch batch) {
-        BatchConfiguration configuration = batch.getConfiguration();
-        String name = configuration.getName();
-        String batchClass = configuration.getClassName();
+        String batchClass = batch.getConfiguration().getClassName();
 
-        batchesByName.put(name, batch);
-        batchesByClass.put(batchClass, configuration);
+        registry.register(batch).ifPresent(replaced -> replaced.removeStateListener(eventBus));
+        batch.addStateListener(eventBus);
         log.debug("New batch added: {} (Object ID = {})", batchClass, ObjectUtils.getIdentityHexString(batch));
     }
 
+    /**
+     * @return the errors raised while instantiating the scanned batches or, with lazy
+     *         instantiation, while starting them with {@link #startAllBatches()}, by batch
+     *         class name
+     */
+    public Map<String, Exception> getInstantiationErrors() {
+        return Collections.unmodifiableMap(instantiationErrors);
+    }
+
     public AbstractBatch findBatchByName(String name) {
         if (StringUtils.isEmpty(name)) {
             throw ExceptionUtils.illegalArgument("The name cannot be null or empty");
         }
-        if (batchesByName.containsKey(name)) {
-            return batchesByName.get(name);
-        }
-        throw ExceptionUtils.illegalArgument(MSG_INVALID_BATCH, name);
+        return registry.findByName(name)
+                       .orElseThrow(() -> ExceptionUtils.illegalArgument(MSG_INVALID_BATCH, name));
     }
 
     public void removeBatch(String name) {
@@ -137,7 +419,8 @@ public class BatchManager {
         if (batch.isStarted() || batch.isRunning()) {
             throw ExceptionUtils.illegalState(MSG_BATCH_STARTED_PLEASE_STOP_FIRST, name);
         }
-        batchesByName.remove(name);
+        registry.unregister(name).ifPresent(removed -> removed.removeStateListener(eventBus));
+        restartableBatches.remove(name);
     }
 
     public void resetBatch(String name) {
@@ -149,14 +432,93 @@ public class BatchManager {
         log.info("Resetting batch: {}", batch.getConfiguration().getClassName());
 
         String batchClass = batch.getConfiguration().getClassName();
-        BatchConfiguration batchConfig = batchesByClass.get(batchClass);
-        AbstractBatch newBatch = BatchFactory.create(batchConfig, configurationHolder);
+        BatchConfiguration batchConfig = registry.findConfigurationByClassName(batchClass)
+                .orElseThrow(() -> ExceptionUtils.illegalArgument(MSG_INVALID_BATCH, name));
+        AbstractBatch newBatch = BatchFactory.create(batchConfig, configurationHolder, scheduler);
 
         addBatch(newBatch);
+        restartableBatches.remove(name);
+    }
+
+    /**
+     * Finds the last executions of a batch in the execution journal.
+     *
+     * @param name  the batch name
+     * @param limit the maximum number of records to be returned
+     * @return the execution records of the batch, most recent first
+     * @throws IllegalStateException if no execution journal is configured
+     */
+    public List<ExecutionRecord> findLastRuns(String name, int limit) {
+        return getExecutionJournal().findLastRuns(name, limit);
+    }
+
+    /**
+     * Finds the last executions of any batch that lasted longer than the given threshold.
+     *
+     * @param threshold the duration threshold
+     * @param limit     the maximum number of records to be returned
+     * @return the matching execution records, most recent first
+     * @throws IllegalStateException if no execution journal is configured
+     */
+    public List<ExecutionRecord> findRunsSlowerThan(Duration threshold, int limit) {
+        return getExecutionJournal().findRunsSlowerThan(threshold, limit);
+    }
+
+    /**
+     * Finds the last executions of a batch that lasted longer than the given threshold.
+     *
+     * @param name      the batch name
+     * @param threshold the duration threshold
+     * @param limit     the maximum number of records to be returned
+     * @return the matching execution records, most recent first
+     * @throws IllegalStateException if no execution journal is configured
+     */
+    public List<ExecutionRecord> findRunsSlowerThan(String name, Duration threshold, int limit) {
+        return getExecutionJournal().findRunsSlowerThan(name, threshold, limit);
+    }
+
+    /**
+     * Returns the runtime statistics of a batch: histograms of its task duration and
+     * scheduling lag, and counters of runs, failures, skipped executions and misfires.
+     *
+     * @param name the batch name
+     * @return a snapshot of the metrics of the batch
+     */
+    public BatchMetricsSnapshot getMetrics(String name) {
+        AbstractBatch batch = findBatchByName(name);
+        return batch.getMetrics().snapshot(batch.getName());
+    }
+
+    /**
+     * @return a snapshot of the metrics of all registered batches, sorted by batch name
+     */
+    public List<BatchMetricsSnapshot> getAllMetrics() {
+        return registry.getBatches().stream()
+                       .map(batch -> batch.getMetrics().snapshot(batch.getName()))
+                       .toList();
+    }
+
+    /**
+     * Subscribes to the state transitions of the managed batches. Events are published
+     * without ever blocking the batch threads, and a subscriber that cannot keep up drops the
+     * oldest events.
+     *
+     * @return a new subscription, receiving the events published from now on
+     */
+    public BatchEventSubscription subscribeToEvents() {
+        return eventBus.subscribe();
+    }
+
+    private ExecutionJournal getExecutionJournal() {
+        ExecutionJournal journal = configurationHolder.getExecutionJournal();
+        if (journal == null) {
+            throw ExceptionUtils.illegalState("No execution journal configured");
+        }
+        return journal;
     }
 
     public void startBatch(String name) {
-        startBatch(findBatchByName(name));
+        findBatchByName(name).start();
     }
 
     public void runNow(String name) {
@@ -167,8 +529,35 @@ public class BatchManager {
         findBatchByName(name).stop();
     }
 
+    /**
+     * @return all managed batches, sorted by name
+     */
     public Collection<AbstractBatch> getBatches() {
-        return batchesByName.values();
+        return registry.getBatches();
+    }
+
+    /**
+     * @param type the batch type
+     * @return the managed batches of the given type
+     */
+    public Collection<AbstractBatch> getBatchesByType(BatchType type) {
+        return registry.getBatchesByType(type);
+    }
+
+    /**
+     * @param state the batch state
+     * @return the managed batches that are currently in the given state
+     */
+    public Collection<AbstractBatch> getBatchesByState(AbstractBatch.State state) {
+        return registry.getBatchesByState(state);
+    }
+
+    /**
+     * @param tag the tag
+     * @return the managed batches with the given tag
+     */
+    public Collection<AbstractBatch> getBatchesByTag(String tag) {
+        return registry.getBatchesByTag(tag);
     }
 
     public boolean isBatchRunning(String name) {
@@ -183,13 +572,268 @@ public class BatchManager {
         return findBatchByName(name).getStatusJson();
     }
 
+    /**
+     * Writes the status of all registered batches, sorted by name, as a JSON array. The
+     * cached status of each batch is written directly, without building the whole document
+     * in memory. The writer is neither flushed nor closed.
+     *
+     * @param writer the destination; not null
+     * @throws UncheckedIOException if an I/O error occurs
+     */
+    public void getAllStatusesJson(Writer writer) {
+        Objects.requireNonNull(writer, "The writer must not be null");
+        JsonWriter jsonWriter = new JsonWriter(writer).beginArray();
+        for (AbstractBatch batch : getBatches()) {
+            jsonWriter.rawValue(batch.getStatusJson());
+        }
+        jsonWriter.endArray();
+    }
+
+    /**
+     * Writes the status of all registered batches, sorted by name, as a UTF-8 encoded JSON
+     * array. The stream is flushed, but not closed.
+     *
+     * @param outputStream the destination; not null
+     * @throws UncheckedIOException if an I/O error occurs
+     */
+    public void getAllStatusesJson(OutputStream outputStream) {
+        Objects.requireNonNull(outputStream, "The output stream must not be null");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        getAllStatusesJson(writer);
+        try {
+            writer.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Starts all batches or, if the batches are partitioned across a cluster, joins the
+     * cluster and starts the batches owned by this node. The batches stopped by
+     * {@link #stop(Duration)} are reset first; the batches stopped otherwise, e.g. by
+     * {@link #stopBatch(String)}, must still be reset explicitly, and are skipped. The batches
+     * already started are left as they are. A batch that fails to start is recorded in
+     * {@link #getInstantiationErrors()}, and the other batches are started anyway.
+     */
     public void startAllBatches() {
+        if (partitioner != null) {
+            log.info("Starting batches owned by node {}...", partitioner.getNodeId());
+            partitioner.start();
+            return;
+        }
         log.info("Starting batches...");
-        getBatches().forEach(this::startBatch);
-        log.info("All batches started successfully...");
+        long failures = getBatches().stream()
+                                    .filter(batch -> !batch.isStarted())
+                                    .filter(batch -> !startBatchQuietly(batch))
+                                    .count();
+        if (failures == 0) {
+            log.info("All batches started successfully...");
+        } else {
+            log.warn("{} batch(es) could not be started: {}", failures, instantiationErrors.keySet());
+        }
+    }
+
+    /*
+     * With lazy instantiation, the batch object is only created when the batch is started: a
+     * batch that cannot be created is recorded along with the instantiation errors, and does
+     * not prevent the next batches from starting.
+     */
+    private boolean startBatchQuietly(AbstractBatch batch) {
+        try {
+            if (batch.isStopped()) {
+                if (!restartableBatches.contains(batch.getName())) {
+                    log.info("Batch {} was stopped. Please reset this batch before restarting", batch.getName());
+                    return true;
+                }
+                resetBatch(batch.getName());
+                batch = findBatchByName(batch.getName());
+            }
+            batch.start();
+            return true;
+        }
+        catch (RuntimeException exception) {
+            log.error("Error starting batch: {}", batch.getName(), exception);
+            instantiationErrors.put(batch.getConfiguration().getClassName(), exception);
+            return false;
+        }
+    }
+
+    /**
+     * Stops all started batches, then waits for their running tasks to complete, up to the
+     * given timeout. The tasks still running at the deadline are interrupted, and reported.
+     * <p>
+     * <b>NOTE:</b> If the batches are partitioned across a cluster, the partitioner may start
+     * them again on the next membership change; use {@link #stop(Duration)} or
+     * {@link #shutdown()} to leave the cluster.
+     *
+     * @param timeout the maximum time to wait for running tasks; not null
+     * @return the names of the batches whose task was interrupted, and the time taken
+     */
+    public ShutdownReport stopAllBatches(Duration timeout) {
+        Objects.requireNonNull(timeout, "The timeout must not be null");
+        return stopAllBatches(timeout, false);
+    }
+
+    private ShutdownReport stopAllBatches(Duration timeout, boolean restartable) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        log.info("Stopping all batches...");
+        getBatches().parallelStream()
+                    .filter(AbstractBatch::isStarted)
+                    .filter(this::stopQuietly)
+                    .forEach(batch -> {
+                        if (restartable) {
+                            restartableBatches.add(batch.getName());
+                        }
+                    });
+
+        Collection<AbstractBatch> running = registry.getBatchesByState(AbstractBatch.State.RUNNING);
+        try {
+            while (!running.isEmpty() && System.nanoTime() - deadline < 0) {
+                TimeUnit.MILLISECONDS.sleep(DRAIN_POLL_MILLIS);
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        List<String> interruptedBatches = running.stream()
+                                                 .filter(AbstractBatch::interruptTask)
+                                                 .map(AbstractBatch::getName)
+                                                 .sorted()
+                                                 .toList();
+        ShutdownReport report = new ShutdownReport(Duration.ofNanos(System.nanoTime() - start), interruptedBatches);
+        if (report.isClean()) {
+            log.info("All batches stopped in {} ms", report.elapsed().toMillis());
+        } else {
+            log.warn("Batches stopped in {} ms; tasks cut off: {}", report.elapsed().toMillis(), interruptedBatches);
+        }
+        return report;
+    }
+
+    /**
+     * Leaves the cluster, if the batches are partitioned, and stops all batches (see
+     * {@link #stopAllBatches(Duration)}). Unlike {@link #shutdown()}, the scheduler and the
+     * stores are kept, so that {@link #startAllBatches()} starts the batches again.
+     *
+     * @param timeout the maximum time to wait for running tasks; not null
+     * @return the outcome of stopping the batches
+     */
+    public ShutdownReport stop(Duration timeout) {
+        Objects.requireNonNull(timeout, "The timeout must not be null");
+        if (partitioner != null) {
+            partitioner.stop();
+        }
+        return stopAllBatches(timeout, true);
+    }
+
+    /*
+     * A batch may be stopped concurrently, e.g. by the partitioner.
+     */
+    private boolean stopQuietly(AbstractBatch batch) {
+        try {
+            batch.stop();
+            return true;
+        }
+        catch (IllegalStateException exception) {
+            log.debug("Batch {} already stopped", batch.getName());
+            return false;
+        }
+    }
+
+    /**
+     * Shuts this manager down, waiting for running tasks up to the configured shutdown
+     * timeout.
+     *
+     * @return the outcome of stopping the batches
+     * @see #shutdown(Duration)
+     */
+    public ShutdownReport shutdown() {
+        return shutdown(shutdownTimeout);
+    }
+
+    /**
+     * Shuts this manager down: leaves the cluster, if the batches are partitioned, stops all
+     * batches (see {@link #stopAllBatches(Duration)}), shuts the scheduler down, and closes
+     * the configured stores, journal and lock provider. Subsequent calls do nothing.
+     *
+     * @param timeout the maximum time to wait for running tasks; not null
+     * @return the outcome of stopping the batches
+     */
+    public ShutdownReport shutdown(Duration timeout) {
+        Objects.requireNonNull(timeout, "The timeout must not be null");
+        if (!shutdown.compareAndSet(false, true)) {
+            return new ShutdownReport(Duration.ZERO, List.of());
+        }
+        if (partitioner != null) {
+            partitioner.close();
+        }
+        ShutdownReport report = stopAllBatches(timeout);
+        scheduler.shutdown();
+        closeQuietly(membershipStore);
+        closeQuietly(configurationHolder.getClusterLockProvider());
+        closeQuietly(configurationHolder.getFireTimeStore());
+        closeQuietly(configurationHolder.getExecutionJournal());
+        removeShutdownHook();
+        return report;
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        }
+        catch (Exception exception) {
+            log.warn("Unable to close {}", resource, exception);
+        }
+    }
+
+    /*
+     * Removing the hook fails if the JVM is already shutting down, e.g. when running it.
+     */
+    private void removeShutdownHook() {
+        if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            }
+            catch (IllegalStateException exception) {
+                log.debug("Shutdown hook not removed: JVM shutdown in progress");
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if {@link #shutdown()} was called
+     */
+    public boolean isShutdown() {
+        return shutdown.get();
+    }
+
+    /**
+     * Stops all the started batches of the given type.
+     *
+     * @param type the batch type
+     */
+    public void stopBatchesByType(BatchType type) {
+        log.info("Stopping {} batches...", type);
+        getBatchesByType(type).stream()
+                              .filter(AbstractBatch::isStarted)
+                              .forEach(AbstractBatch::stop);
+    }
+
+    /**
+     * @return the partitioner spreading the batches across the cluster, or
+     *         {@link Optional#empty()} if no membership store is configured
+     */
+    public Optional<BatchPartitioner> findPartitioner() {
+        return Optional.ofNullable(partitioner);
     }
 
-    private void startBatch(AbstractBatch batch) {
-        batch.start();
+    /**
+     * @return the scheduling engine shared by all batches of this manager
+     */
+    public BatchScheduler getScheduler() {
+        return scheduler;
     }
 }
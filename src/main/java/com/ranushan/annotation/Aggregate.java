@@ -0,0 +1,21 @@
+package com.ranushan.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Identifies the annotated method as the one that aggregates the results of all partitions
+ * of a batch of type {@link com.ranushan.domain.BatchType#PARTITIONED}. This method is
+ * optional.
+ * <p>
+ * The method takes a single {@link java.util.List} parameter, which receives the values
+ * returned by the method annotated with {@link Run}, in the order of the partitions. It is
+ * only called once all partitions completed successfully.
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+public @interface Aggregate {
+}
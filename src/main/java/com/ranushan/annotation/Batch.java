@@ -1,6 +1,10 @@
 package com.ranushan.annotation;
 
 import com.ranushan.domain.BatchType;
+import com.ranushan.domain.CronDialect;
+import com.ranushan.domain.ExecutionMode;
+import com.ranushan.domain.MisfirePolicy;
+import com.ranushan.domain.SchedulingPolicy;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -57,9 +61,88 @@ public @interface Batch {
      * next ones will occur at 7h25, 11h25, 15h25, etc.</li>
      * </ul>
      * <p>
-     * <b>NOTE:</b> This option is only applicable for batches of type {@link BatchType#TIMER}.
+     * <b>NOTE:</b> This option is only applicable for batches of type {@link BatchType#TIMER}
+     * and {@link BatchType#PARTITIONED}.
      *
      * @return a flag determining whether interval modulation is enabled for this batch
      */
     boolean modulate() default false;
+
+    /**
+     * The dialect of the Cron expression set in {@link #interval()} (default is
+     * {@link CronDialect#UNIX}). The {@link CronDialect#QUARTZ} and {@link CronDialect#SPRING}
+     * dialects support a seconds field.
+     * <p>
+     * <b>NOTE:</b> This option is only applicable for batches of type {@link BatchType#CRON}.
+     *
+     * @return the Cron expression dialect
+     */
+    CronDialect cronDialect() default CronDialect.UNIX;
+
+    /**
+     * The policy for scheduling successive executions, notably when an execution overruns
+     * its period or fires late.
+     * <p>
+     * If not specified, the default policy of the batch type will be considered
+     * ({@link SchedulingPolicy#FIXED_RATE} for timers, and
+     * {@link SchedulingPolicy#FIXED_RATE_COALESCE} for Cron batches).
+     *
+     * @return the scheduling policy
+     */
+    SchedulingPolicy schedulingPolicy() default SchedulingPolicy.DEFAULT;
+
+    /**
+     * The policy for handling the executions missed while the application was down (default
+     * is {@link MisfirePolicy#IGNORE}). Missed executions are only detected if a
+     * {@link com.ranushan.store.FireTimeStore} is configured.
+     * <p>
+     * <b>NOTE:</b> This option is only applicable for batches of type {@link BatchType#CRON}.
+     *
+     * @return the misfire policy
+     */
+    MisfirePolicy misfirePolicy() default MisfirePolicy.IGNORE;
+
+    /**
+     * The mode for executing the batch task once its trigger fires.
+     * <p>
+     * If not specified, the global execution mode defined in the
+     * {@link com.ranushan.configuration.ConfigurationHolder} will be considered.
+     *
+     * @return the execution mode
+     */
+    ExecutionMode executionMode() default ExecutionMode.DEFAULT;
+
+    /**
+     * The maximum duration of an execution of the task, in the format of {@link #interval()}
+     * (e.g. {@code "30 seconds"}). Once exceeded, the execution is cancelled: the thread
+     * running the task is interrupted, and the execution is reported as timed out.
+     * <p>
+     * The timeout is enforced independently of the scheduler threads, so that it also fires
+     * when a task blocks the scheduler thread running it.
+     * <p>
+     * If not specified, executions are not limited in time.
+     *
+     * @return a string representing the maximum duration of an execution
+     * @see com.ranushan.runner.BatchContext
+     */
+    String timeout() default "";
+
+    /**
+     * The maximum number of partitions processed concurrently.
+     * <p>
+     * If not specified, the number of available processors will be considered.
+     * <p>
+     * <b>NOTE:</b> This option is only applicable for batches of type
+     * {@link BatchType#PARTITIONED}.
+     *
+     * @return the parallelism of the partitions
+     */
+    int parallelism() default 0;
+
+    /**
+     * Free-form tags that can be used to find and operate on groups of batches.
+     *
+     * @return the batch tags
+     */
+    String[] tags() default {};
 }
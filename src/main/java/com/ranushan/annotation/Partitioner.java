@@ -0,0 +1,20 @@
+package com.ranushan.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Identifies the annotated method as the one that splits the work of a batch of type
+ * {@link com.ranushan.domain.BatchType#PARTITIONED} into partitions.
+ * <p>
+ * The method takes no parameter, and returns a {@link java.util.Collection} of partition
+ * keys (e.g. ranges of identifiers, or file names). It is called at the beginning of each
+ * execution, and each key is then passed to the method annotated with {@link Run}.
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+public @interface Partitioner {
+}
@@ -8,6 +8,12 @@ import java.lang.annotation.Target;
 /**
  * Identifies the annotated method as the one to be executed for a class annotated with
  * {@code @Batch}.
+ * <p>
+ * The method may take a {@link com.ranushan.runner.BatchContext} as single parameter. For
+ * batches of type {@link com.ranushan.domain.BatchType#PARTITIONED}, the method is run once
+ * per partition: its first parameter receives the partition key, and an optional second
+ * parameter the context. Its return value, if any, is passed to the method annotated with
+ * {@link Aggregate}.
  *
  */
 @Retention(RetentionPolicy.RUNTIME)
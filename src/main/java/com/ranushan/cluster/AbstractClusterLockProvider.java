@@ -0,0 +1,76 @@
+package com.ranushan.cluster;
+
+import com.ranushan.factory.TaskExecutorFactory;
+import com.ranushan.util.ExceptionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A base for {@link ClusterLockProvider}s built on a blocking check-and-set, which is run
+ * on a dedicated executor to make the acquisition asynchronous.
+ *
+ */
+@Slf4j
+public abstract class AbstractClusterLockProvider implements ClusterLockProvider {
+
+    private final ExecutorService executor;
+
+    protected AbstractClusterLockProvider(String name) {
+        this.executor = TaskExecutorFactory.newVirtualThreadExecutor(name);
+    }
+
+    @Override
+    public CompletableFuture<Optional<ClusterLock>> tryAcquire(String batchName, long fireTime,
+                                                               Duration leaseDuration) {
+        Objects.requireNonNull(batchName, "The batch name must not be null");
+        Objects.requireNonNull(leaseDuration, "The lease duration must not be null");
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return acquire(batchName, fireTime, leaseDuration.toMillis());
+            }
+            catch (Exception exception) {
+                throw ExceptionUtils.batchRuntime(exception, "Unable to acquire the cluster lock of batch %s",
+                        batchName);
+            }
+        }, executor);
+    }
+
+    /**
+     * Atomically checks whether the given execution is free, and takes it if so.
+     *
+     * @param batchName   the batch name
+     * @param fireTime    the intended time of the execution, in milliseconds since the epoch
+     * @param leaseMillis the duration of the lease, in milliseconds
+     * @return the granted lock, or {@link Optional#empty()}
+     * @throws Exception if the lock could not be checked
+     */
+    protected abstract Optional<ClusterLock> acquire(String batchName, long fireTime, long leaseMillis)
+            throws Exception;
+
+    /**
+     * Runs the release of a lock, logging its failure.
+     */
+    protected static void releaseQuietly(String batchName, ReleaseAction action) {
+        try {
+            action.release();
+        }
+        catch (Exception exception) {
+            log.warn("Unable to release the cluster lock of batch {}; it will expire", batchName, exception);
+        }
+    }
+
+    @FunctionalInterface
+    protected interface ReleaseAction {
+        void release() throws Exception;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
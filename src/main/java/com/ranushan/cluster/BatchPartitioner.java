@@ -0,0 +1,287 @@
+package com.ranushan.cluster;
+
+import com.ranushan.BatchManager;
+import com.ranushan.factory.BatchThreadFactory;
+import com.ranushan.runner.AbstractBatch;
+import com.ranushan.util.ExceptionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the batches of a {@link BatchManager} over the live nodes of a cluster, so that
+ * each node only starts the batches it owns.
+ * <p>
+ * Each node renews its membership in a shared {@link MembershipStore} on every heartbeat,
+ * and reads the live nodes back. Batch names are mapped onto the live nodes with a
+ * {@link ConsistentHashRing}, so that when a node joins or leaves, only the batches whose
+ * owner changed are moved: this node stops the batches it lost, and resets and starts the
+ * batches it gained. A batch taken over from another node is started on its regular
+ * schedule only (see {@link AbstractBatch#startOnSchedule()}): the executions it missed
+ * were the responsibility of the previous owner, and the fire times recorded by this node
+ * are stale if the {@link com.ranushan.store.FireTimeStore} is not shared. The batches
+ * owned when this node joins are started normally, missed executions included. A transition that cannot be completed yet (e.g. the task of a lost
+ * batch is still running) is retried on the next heartbeat.
+ * <p>
+ * <b>NOTE:</b> Until the membership of a dead node expires, its batches are not executed;
+ * conversely, a node that cannot reach the store keeps running its batches. Combine with a
+ * {@link ClusterLockProvider} if duplicate executions must never happen.
+ *
+ */
+@Slf4j
+public class BatchPartitioner implements AutoCloseable {
+
+    /**
+     * The default time between two heartbeats.
+     */
+    public static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ofSeconds(10);
+
+    /*
+     * The number of heartbeats a node may miss before being considered dead
+     */
+    private static final int MISSED_HEARTBEATS_TOLERANCE = 3;
+
+    private final BatchManager batchManager;
+    private final MembershipStore membershipStore;
+    private final String nodeId;
+    private final long heartbeatMillis;
+    private final ScheduledExecutorService executor;
+
+    /*
+     * The periodic heartbeats, while this node is in the cluster, guarded by this object
+     */
+    private ScheduledFuture<?> heartbeats;
+
+    private ConsistentHashRing ring = ConsistentHashRing.of(Set.of());
+    private final Set<String> pendingBatches = new HashSet<>();
+
+    /*
+     * The pending batches gained from another node, rather than from an empty ring
+     */
+    private final Set<String> takenOverBatches = new HashSet<>();
+
+    /**
+     * Creates a partitioner.
+     *
+     * @param batchManager      the manager of the batches to be partitioned; not null
+     * @param membershipStore   the store of the live nodes, shared by all nodes; not null
+     * @param nodeId            the identifier of this node, unique in the cluster; not null
+     * @param heartbeatInterval the time between two heartbeats; must be positive
+     * @throws IllegalArgumentException if the heartbeat interval is not positive
+     */
+    public BatchPartitioner(BatchManager batchManager, MembershipStore membershipStore, String nodeId,
+                            Duration heartbeatInterval) {
+        this.batchManager = Objects.requireNonNull(batchManager, "The batch manager must not be null");
+        this.membershipStore = Objects.requireNonNull(membershipStore, "The membership store must not be null");
+        this.nodeId = Objects.requireNonNull(nodeId, "The node identifier must not be null");
+        if (heartbeatInterval == null || heartbeatInterval.isNegative() || heartbeatInterval.isZero()) {
+            throw ExceptionUtils.illegalArgument("The heartbeat interval must be positive: %s", heartbeatInterval);
+        }
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.executor = Executors.newSingleThreadScheduledExecutor(new BatchThreadFactory("Partitioner"));
+    }
+
+    /**
+     * @return an identifier of this process, made of the host name and the process ID
+     */
+    public static String defaultNodeId() {
+        return NodeIds.local();
+    }
+
+    /**
+     * Joins the cluster, starts the batches owned by this node, and schedules the periodic
+     * heartbeats.
+     *
+     * @throws IllegalStateException                        if this node already joined the
+     *                                                      cluster
+     * @throws com.ranushan.exception.BatchRuntimeException if the membership store is not
+     *                                                      available
+     */
+    public synchronized void start() {
+        if (heartbeats != null) {
+            throw ExceptionUtils.illegalState("Node %s already joined the cluster", nodeId);
+        }
+        refresh();
+        heartbeats = executor.scheduleWithFixedDelay(this::refreshQuietly, heartbeatMillis, heartbeatMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * A heartbeat already due when the node leaves the cluster must not join it again.
+     */
+    private void refreshQuietly() {
+        try {
+            synchronized (this) {
+                if (heartbeats != null) {
+                    refresh();
+                }
+            }
+        }
+        catch (Exception exception) {
+            log.warn("Unable to refresh the membership of node {}", nodeId, exception);
+        }
+    }
+
+    /**
+     * Stops the heartbeats and leaves the cluster, so that the other nodes take over the
+     * batches of this node on their next refresh. The batches of this node are not stopped.
+     * Unlike {@link #close()}, this node can join the cluster again with {@link #start()}.
+     */
+    public void stop() {
+        if (cancelHeartbeats()) {
+            leave();
+        }
+    }
+
+    /*
+     * Returns false if this node was not in the cluster.
+     */
+    private synchronized boolean cancelHeartbeats() {
+        if (heartbeats == null) {
+            return false;
+        }
+        heartbeats.cancel(false);
+        heartbeats = null;
+        ring = ConsistentHashRing.of(Set.of());
+        pendingBatches.clear();
+        takenOverBatches.clear();
+        return true;
+    }
+
+    /**
+     * Renews the membership of this node, and moves the batches whose owner changed since
+     * the last refresh.
+     *
+     * @throws com.ranushan.exception.BatchRuntimeException if the membership store is not
+     *                                                      available
+     */
+    public synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        membershipStore.heartbeat(nodeId, now + MISSED_HEARTBEATS_TOLERANCE * heartbeatMillis);
+        Set<String> liveNodes = new HashSet<>(membershipStore.findLiveNodes(now));
+        liveNodes.add(nodeId);
+        if (!liveNodes.equals(ring.getNodes())) {
+            ConsistentHashRing newRing = ConsistentHashRing.of(liveNodes);
+            log.info("Cluster membership changed: {} -> {}", ring.getNodes(), newRing.getNodes());
+            for (AbstractBatch batch : batchManager.getBatches()) {
+                Optional<String> previousOwner = ring.findOwner(batch.getName());
+                Optional<String> owner = newRing.findOwner(batch.getName());
+                if (!previousOwner.equals(owner)
+                        && (previousOwner.filter(nodeId::equals).isPresent() || owner.filter(nodeId::equals).isPresent())) {
+                    pendingBatches.add(batch.getName());
+                    if (previousOwner.isPresent() && owner.filter(nodeId::equals).isPresent()) {
+                        takenOverBatches.add(batch.getName());
+                    } else {
+                        takenOverBatches.remove(batch.getName());
+                    }
+                }
+            }
+            ring = newRing;
+        }
+        Iterator<String> pending = pendingBatches.iterator();
+        while (pending.hasNext()) {
+            String batchName = pending.next();
+            if (applyOwnership(batchName)) {
+                pending.remove();
+                takenOverBatches.remove(batchName);
+            }
+        }
+    }
+
+    /*
+     * Returns false if the transition must be retried later.
+     */
+    private boolean applyOwnership(String batchName) {
+        AbstractBatch batch;
+        try {
+            batch = batchManager.findBatchByName(batchName);
+        }
+        catch (IllegalArgumentException exception) {
+            // The batch was removed
+            return true;
+        }
+        try {
+            if (!isOwner(batchName)) {
+                if (batch.isStarted()) {
+                    log.info("Batch {} moved to node {}", batchName, ring.findOwner(batchName).orElse(null));
+                    batch.stop();
+                }
+                return true;
+            }
+            if (batch.isStarted()) {
+                return true;
+            }
+            if (batch.isRunning()) {
+                return false;
+            }
+            if (batch.isStopped()) {
+                batchManager.resetBatch(batchName);
+            }
+            if (takenOverBatches.contains(batchName)) {
+                log.info("Batch {} moved to this node ({})", batchName, nodeId);
+                batchManager.findBatchByName(batchName).startOnSchedule();
+            } else {
+                log.info("Batch {} owned by this node ({})", batchName, nodeId);
+                batchManager.startBatch(batchName);
+            }
+            return true;
+        }
+        catch (IllegalStateException exception) {
+            log.debug("Ownership of batch {} not applied yet: {}", batchName, exception.getMessage());
+            return false;
+        }
+        catch (RuntimeException exception) {
+            // e.g. a lazily instantiated batch whose class cannot be instantiated
+            log.error("Unable to start batch {}", batchName, exception);
+            return true;
+        }
+    }
+
+    /**
+     * @param batchName the batch name
+     * @return {@code true} if the given batch is owned by this node
+     */
+    public synchronized boolean isOwner(String batchName) {
+        return ring.findOwner(batchName).filter(nodeId::equals).isPresent();
+    }
+
+    /**
+     * @return the live nodes of the cluster, as of the last refresh
+     */
+    public synchronized Set<String> getLiveNodes() {
+        return ring.getNodes();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Stops the heartbeats and leaves the cluster for good, see {@link #stop()}.
+     */
+    @Override
+    public void close() {
+        cancelHeartbeats();
+        executor.shutdownNow();
+        // Left even if not started, since a failed start may have renewed the membership
+        leave();
+    }
+
+    private void leave() {
+        try {
+            membershipStore.leave(nodeId);
+        }
+        catch (Exception exception) {
+            log.warn("Unable to leave the cluster; the membership of node {} will expire", nodeId, exception);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ranushan.cluster;
+
+/**
+ * A lease granted by a {@link ClusterLockProvider} to execute a batch for a given fire time.
+ *
+ */
+public interface ClusterLock {
+
+    /**
+     * Ends the lease, so that other nodes may execute the following fire times of the batch
+     * before the lease expires. Executions for the same or an earlier fire time remain
+     * forbidden. Failures are logged, not thrown: an unreleased lease simply expires.
+     */
+    void release();
+}
@@ -0,0 +1,45 @@
+package com.ranushan.cluster;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A service that grants, across all the nodes of a cluster, the right to execute a batch
+ * for a given fire time, so that each scheduled execution happens on a single node.
+ * <p>
+ * A lock is keyed by batch name and granted only if no node was ever granted the same or a
+ * later fire time of that batch, and if the lease of the previous execution has expired or
+ * has been released. The lease bounds the time a crashed node can block the batch.
+ * Acquisition is asynchronous, so that the scheduler threads never wait for a remote
+ * round trip.
+ * <p>
+ * <b>NOTE:</b> Fire times only match across nodes for batches planned on the wall clock,
+ * i.e. Cron batches and modulated timers. The executions of a plain timer batch, planned
+ * from the start of each node, are only deduplicated while the lease of another node is
+ * held.
+ *
+ */
+public interface ClusterLockProvider extends AutoCloseable {
+
+    /**
+     * Attempts to acquire the lock of the given execution.
+     *
+     * @param batchName     the batch name; not null
+     * @param fireTime      the intended time of the execution, in milliseconds since the
+     *                      epoch
+     * @param leaseDuration the maximum time the lock is held, should this node fail to
+     *                      release it
+     * @return a future completed with the granted lock, or with {@link Optional#empty()} if
+     *         the execution belongs to another node; completed exceptionally if the lock
+     *         could not be checked
+     */
+    CompletableFuture<Optional<ClusterLock>> tryAcquire(String batchName, long fireTime, Duration leaseDuration);
+
+    /**
+     * Releases the resources of this provider. The default implementation does nothing.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,126 @@
+package com.ranushan.cluster;
+
+import com.ranushan.util.ExceptionUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An immutable consistent-hash ring, which maps keys (e.g. batch names) onto a set of nodes.
+ * <p>
+ * Each node is placed at several pseudo-random positions of a 64-bit ring (its virtual
+ * nodes), and a key belongs to the node of the first position at or after the hash of the
+ * key. Adding or removing one node among {@code n} therefore only moves about {@code 1/n}
+ * of the keys, and the virtual nodes even out the share of each node. Lookups are binary
+ * searches in a sorted array, with no allocation.
+ *
+ */
+public final class ConsistentHashRing {
+
+    /**
+     * The default number of virtual nodes per node, for which the share of each node
+     * deviates from the average by about 8%.
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Set<String> nodes;
+    private final long[] positions;
+    private final String[] owners;
+
+    private ConsistentHashRing(Set<String> nodes, long[] positions, String[] owners) {
+        this.nodes = nodes;
+        this.positions = positions;
+        this.owners = owners;
+    }
+
+    private record VirtualNode(long position, String node) {
+    }
+
+    /**
+     * Builds a ring with {@value #DEFAULT_VIRTUAL_NODES} virtual nodes per node.
+     *
+     * @param nodes the node identifiers; not null
+     * @return a new ring
+     */
+    public static ConsistentHashRing of(Collection<String> nodes) {
+        return of(nodes, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Builds a ring.
+     *
+     * @param nodes        the node identifiers; not null
+     * @param virtualNodes the number of positions of each node on the ring; must be positive
+     * @return a new ring
+     * @throws IllegalArgumentException if the number of virtual nodes is not positive
+     */
+    public static ConsistentHashRing of(Collection<String> nodes, int virtualNodes) {
+        Objects.requireNonNull(nodes, "The nodes must not be null");
+        if (virtualNodes < 1) {
+            throw ExceptionUtils.illegalArgument("The number of virtual nodes must be positive: %d", virtualNodes);
+        }
+        Set<String> sortedNodes = new TreeSet<>(nodes);
+        VirtualNode[] virtualNodeArray = new VirtualNode[sortedNodes.size() * virtualNodes];
+        int index = 0;
+        for (String node : sortedNodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                virtualNodeArray[index++] = new VirtualNode(hash(node + '#' + i), node);
+            }
+        }
+        Arrays.sort(virtualNodeArray, Comparator.comparingLong(VirtualNode::position)
+                                                .thenComparing(VirtualNode::node));
+        long[] positions = new long[virtualNodeArray.length];
+        String[] owners = new String[virtualNodeArray.length];
+        for (int i = 0; i < virtualNodeArray.length; i++) {
+            positions[i] = virtualNodeArray[i].position();
+            owners[i] = virtualNodeArray[i].node();
+        }
+        return new ConsistentHashRing(Collections.unmodifiableSet(sortedNodes), positions, owners);
+    }
+
+    /**
+     * @param key the key; not null
+     * @return the node owning the given key, or {@link Optional#empty()} if the ring is empty
+     */
+    public Optional<String> findOwner(String key) {
+        Objects.requireNonNull(key, "The key must not be null");
+        if (positions.length == 0) {
+            return Optional.empty();
+        }
+        int index = Arrays.binarySearch(positions, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Optional.of(owners[index == positions.length ? 0 : index]);
+    }
+
+    /**
+     * @return the nodes of this ring, sorted
+     */
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    /*
+     * FNV-1a spreads short, similar strings poorly over the high bits, hence the final
+     * avalanche (from MurmurHash3).
+     */
+    static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,148 @@
+package com.ranushan.cluster;
+
+import com.ranushan.util.ExceptionUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ClusterLockProvider} storing the locks in a directory shared by all nodes (e.g.
+ * an NFS mount), with one small file per batch holding the last granted fire time, the end
+ * of its lease and the identifier of the owner node.
+ * <p>
+ * Each check-and-set is performed under an exclusive {@link FileChannel#tryLock() file
+ * lock}, held only for the duration of the check. A node that finds the file locked by
+ * another node (or another thread) retries for a short while, since the holder may just be
+ * checking or releasing the lock; if the file remains locked, the acquisition fails and the
+ * execution counts as a misfire, rather than as taken by another node. The shared file
+ * system must support byte-range locks across hosts (e.g. NFSv4); otherwise, two nodes may
+ * execute the same fire time.
+ *
+ */
+public class FileClusterLockProvider extends AbstractClusterLockProvider {
+
+    private static final String FILE_SUFFIX = ".lock";
+    private static final int RECORD_SIZE = 3 * Long.BYTES;
+    private static final long LOCK_TIMEOUT_MILLIS = 1000L;
+    private static final long MAX_LOCK_RETRY_DELAY_MILLIS = 5L;
+
+    private final Path directory;
+    private final long nodeId = ThreadLocalRandom.current().nextLong();
+
+    /**
+     * Creates a provider, creating the lock directory if necessary.
+     *
+     * @param directory the shared directory of the lock files; not null
+     * @throws com.ranushan.exception.BatchRuntimeException if the directory cannot be created
+     */
+    public FileClusterLockProvider(Path directory) {
+        super("ClusterLock-file");
+        this.directory = Objects.requireNonNull(directory, "The lock directory must not be null");
+        try {
+            Files.createDirectories(directory);
+        }
+        catch (IOException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to create the lock directory %s", directory);
+        }
+    }
+
+    /*
+     * The sanitized name may be shared by several batches, hence the hash of the real name.
+     */
+    private Path fileOf(String batchName) {
+        String sanitized = batchName.replaceAll("[^A-Za-z0-9._-]", "_");
+        return directory.resolve(sanitized + '-' + Integer.toHexString(batchName.hashCode()) + FILE_SUFFIX);
+    }
+
+    @Override
+    protected Optional<ClusterLock> acquire(String batchName, long fireTime, long leaseMillis) throws IOException {
+        Path file = fileOf(batchName);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+             FileLock fileLock = lock(channel, file)) {
+            long now = System.currentTimeMillis();
+            ByteBuffer record = read(channel);
+            if (record != null && (record.getLong(0) >= fireTime || record.getLong(Long.BYTES) > now)) {
+                return Optional.empty();
+            }
+            write(channel, fireTime, now + leaseMillis);
+            return Optional.of(() -> releaseQuietly(batchName, () -> release(batchName, fireTime)));
+        }
+    }
+
+    private void release(String batchName, long fireTime) throws IOException {
+        Path file = fileOf(batchName);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock fileLock = lock(channel, file)) {
+            ByteBuffer record = read(channel);
+            if (record != null && record.getLong(0) == fireTime && record.getLong(2 * Long.BYTES) == nodeId) {
+                write(channel, fireTime, System.currentTimeMillis());
+            }
+        }
+    }
+
+    /*
+     * The lock of a file is only held for a check-and-set, so it is retried with a short,
+     * random delay until it is granted or the timeout expires.
+     */
+    private static FileLock lock(FileChannel channel, Path file) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LOCK_TIMEOUT_MILLIS);
+        FileLock fileLock;
+        while ((fileLock = tryLock(channel)) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IOException("Lock file busy for more than " + LOCK_TIMEOUT_MILLIS + " ms: " + file);
+            }
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(1L, MAX_LOCK_RETRY_DELAY_MILLIS + 1));
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the lock file " + file);
+            }
+        }
+        return fileLock;
+    }
+
+    /*
+     * Another thread of this JVM may hold the lock of the file, which is reported by an
+     * exception rather than a null lock.
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        }
+        catch (OverlappingFileLockException exception) {
+            return null;
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        while (record.hasRemaining()) {
+            if (channel.read(record, record.position()) < 0) {
+                return null;
+            }
+        }
+        return record;
+    }
+
+    private void write(FileChannel channel, long fireTime, long lockedUntil) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).putLong(fireTime).putLong(lockedUntil).putLong(nodeId)
+                                      .flip();
+        while (record.hasRemaining()) {
+            channel.write(record, record.position());
+        }
+        channel.force(false);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ranushan.cluster;
+
+import com.ranushan.util.ExceptionUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link MembershipStore} keeping one small file per node in a directory, named after the
+ * node and holding the expiry of its membership. It suits tests and nodes sharing a host or
+ * a file system.
+ * <p>
+ * Heartbeats are written to a temporary file which then atomically replaces the file of the
+ * node, so that readers never see a partial write.
+ *
+ */
+public class FileMembershipStore implements MembershipStore {
+
+    private static final String FILE_SUFFIX = ".node";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    /**
+     * Creates a store, creating the directory if necessary.
+     *
+     * @param directory the directory of the node files; not null
+     * @throws com.ranushan.exception.BatchRuntimeException if the directory cannot be created
+     */
+    public FileMembershipStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "The membership directory must not be null");
+        try {
+            Files.createDirectories(directory);
+        }
+        catch (IOException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to create the membership directory %s", directory);
+        }
+    }
+
+    private Path fileOf(String nodeId) {
+        if (nodeId.isEmpty() || !nodeId.matches("[A-Za-z0-9._:-]+")) {
+            throw ExceptionUtils.illegalArgument("Invalid node identifier: \"%s\"", nodeId);
+        }
+        return directory.resolve(nodeId.replace(':', '_') + FILE_SUFFIX);
+    }
+
+    @Override
+    public void heartbeat(String nodeId, long expiresAt) {
+        Objects.requireNonNull(nodeId, "The node identifier must not be null");
+        Path file = fileOf(nodeId);
+        Path temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        try {
+            Files.writeString(temporaryFile, nodeId + '\n' + expiresAt, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to record the heartbeat of node %s", nodeId);
+        }
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        try {
+            Files.deleteIfExists(fileOf(nodeId));
+        }
+        catch (IOException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to remove the membership of node %s", nodeId);
+        }
+    }
+
+    @Override
+    public Set<String> findLiveNodes(long now) {
+        Set<String> nodes = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, '*' + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String[] content = readQuietly(file).split("\n");
+                if (content.length == 2 && Long.parseLong(content[1].trim()) > now) {
+                    nodes.add(content[0]);
+                }
+            }
+        }
+        catch (IOException | NumberFormatException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to read the live nodes in %s", directory);
+        }
+        return nodes;
+    }
+
+    /*
+     * A node may leave while the directory is being listed.
+     */
+    private static String readQuietly(Path file) throws IOException {
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        }
+        catch (NoSuchFileException exception) {
+            return "";
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,148 @@
+package com.ranushan.cluster;
+
+import com.ranushan.util.ExceptionUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link ClusterLockProvider} storing the locks in a database table, with one row per
+ * batch:
+ * <pre>
+ * CREATE TABLE BATCH_LOCK (
+ *     NAME         VARCHAR(255) NOT NULL PRIMARY KEY,
+ *     FIRE_TIME    BIGINT       NOT NULL,
+ *     LOCKED_UNTIL BIGINT       NOT NULL,
+ *     LOCKED_BY    VARCHAR(255) NOT NULL
+ * )
+ * </pre>
+ * A lock is acquired by a single conditional {@code UPDATE} of the row (or an
+ * {@code INSERT} of the first row of a batch), which the database serializes across nodes.
+ * Lease expiry is computed from the clock of each node, so the clocks of the cluster are
+ * expected to be synchronized well within the lease duration.
+ *
+ */
+public class JdbcClusterLockProvider extends AbstractClusterLockProvider {
+
+    /**
+     * The default name of the lock table.
+     */
+    public static final String DEFAULT_TABLE_NAME = "BATCH_LOCK";
+
+    private static final String SQL_STATE_INTEGRITY_VIOLATION_PREFIX = "23";
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_]\\w*(\\.[A-Za-z_]\\w*)?");
+
+    private final DataSource dataSource;
+    private final String tableName;
+    private final String nodeId;
+
+    /**
+     * Creates a provider using the {@link #DEFAULT_TABLE_NAME default} lock table.
+     *
+     * @param dataSource the data source of the lock table; not null
+     */
+    public JdbcClusterLockProvider(DataSource dataSource) {
+        this(dataSource, DEFAULT_TABLE_NAME);
+    }
+
+    /**
+     * Creates a provider.
+     *
+     * @param dataSource the data source of the lock table; not null
+     * @param tableName  the name of the lock table, optionally qualified by a schema name
+     * @throws IllegalArgumentException if the table name is invalid
+     */
+    public JdbcClusterLockProvider(DataSource dataSource, String tableName) {
+        super("ClusterLock-jdbc");
+        this.dataSource = Objects.requireNonNull(dataSource, "The data source must not be null");
+        if (tableName == null || !TABLE_NAME.matcher(tableName).matches()) {
+            throw ExceptionUtils.illegalArgument("Invalid lock table name: %s", tableName);
+        }
+        this.tableName = tableName;
+        this.nodeId = NodeIds.local();
+    }
+
+    /**
+     * Creates the lock table if it does not exist, using a {@code CREATE TABLE IF NOT EXISTS}
+     * statement (supported by H2, PostgreSQL and MySQL, among others).
+     *
+     * @throws SQLException if the table cannot be created
+     */
+    public void createTableIfNotExists() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                    + "NAME VARCHAR(255) NOT NULL PRIMARY KEY, "
+                    + "FIRE_TIME BIGINT NOT NULL, "
+                    + "LOCKED_UNTIL BIGINT NOT NULL, "
+                    + "LOCKED_BY VARCHAR(255) NOT NULL)");
+        }
+    }
+
+    @Override
+    protected Optional<ClusterLock> acquire(String batchName, long fireTime, long leaseMillis) throws SQLException {
+        long now = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            if (update(connection, batchName, fireTime, now + leaseMillis, now) || insert(connection, batchName,
+                    fireTime, now + leaseMillis)) {
+                return Optional.of(() -> releaseQuietly(batchName, () -> release(batchName, fireTime)));
+            }
+            return Optional.empty();
+        }
+    }
+
+    private boolean update(Connection connection, String batchName, long fireTime, long lockedUntil, long now)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE " + tableName
+                + " SET FIRE_TIME = ?, LOCKED_UNTIL = ?, LOCKED_BY = ?"
+                + " WHERE NAME = ? AND FIRE_TIME < ? AND LOCKED_UNTIL <= ?")) {
+            statement.setLong(1, fireTime);
+            statement.setLong(2, lockedUntil);
+            statement.setString(3, nodeId);
+            statement.setString(4, batchName);
+            statement.setLong(5, fireTime);
+            statement.setLong(6, now);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private boolean insert(Connection connection, String batchName, long fireTime, long lockedUntil)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + tableName
+                + " (NAME, FIRE_TIME, LOCKED_UNTIL, LOCKED_BY) VALUES (?, ?, ?, ?)")) {
+            statement.setString(1, batchName);
+            statement.setLong(2, fireTime);
+            statement.setLong(3, lockedUntil);
+            statement.setString(4, nodeId);
+            return statement.executeUpdate() == 1;
+        }
+        catch (SQLException exception) {
+            String sqlState = exception.getSQLState();
+            if (sqlState != null && sqlState.startsWith(SQL_STATE_INTEGRITY_VIOLATION_PREFIX)) {
+                // The row exists: the lock is held, or the fire time was already taken
+                return false;
+            }
+            throw exception;
+        }
+    }
+
+    private void release(String batchName, long fireTime) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE " + tableName
+                     + " SET LOCKED_UNTIL = ? WHERE NAME = ? AND FIRE_TIME = ? AND LOCKED_BY = ?")) {
+            connection.setAutoCommit(true);
+            statement.setLong(1, System.currentTimeMillis());
+            statement.setString(2, batchName);
+            statement.setLong(3, fireTime);
+            statement.setString(4, nodeId);
+            statement.executeUpdate();
+        }
+    }
+}
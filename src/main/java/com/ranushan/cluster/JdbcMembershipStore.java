@@ -0,0 +1,151 @@
+package com.ranushan.cluster;
+
+import com.ranushan.util.ExceptionUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link MembershipStore} storing one row per node in a database table:
+ * <pre>
+ * CREATE TABLE BATCH_NODE (
+ *     NODE_ID    VARCHAR(255) NOT NULL PRIMARY KEY,
+ *     EXPIRES_AT BIGINT       NOT NULL
+ * )
+ * </pre>
+ * Expired rows are not deleted, which lets operators see the nodes that died; they are
+ * simply ignored by {@link #findLiveNodes(long)}.
+ *
+ */
+public class JdbcMembershipStore implements MembershipStore {
+
+    /**
+     * The default name of the membership table.
+     */
+    public static final String DEFAULT_TABLE_NAME = "BATCH_NODE";
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_]\\w*(\\.[A-Za-z_]\\w*)?");
+
+    private final DataSource dataSource;
+    private final String tableName;
+
+    /**
+     * Creates a store using the {@link #DEFAULT_TABLE_NAME default} membership table.
+     *
+     * @param dataSource the data source of the membership table; not null
+     */
+    public JdbcMembershipStore(DataSource dataSource) {
+        this(dataSource, DEFAULT_TABLE_NAME);
+    }
+
+    /**
+     * Creates a store.
+     *
+     * @param dataSource the data source of the membership table; not null
+     * @param tableName  the name of the membership table, optionally qualified by a schema
+     *                   name
+     * @throws IllegalArgumentException if the table name is invalid
+     */
+    public JdbcMembershipStore(DataSource dataSource, String tableName) {
+        this.dataSource = Objects.requireNonNull(dataSource, "The data source must not be null");
+        if (tableName == null || !TABLE_NAME.matcher(tableName).matches()) {
+            throw ExceptionUtils.illegalArgument("Invalid membership table name: %s", tableName);
+        }
+        this.tableName = tableName;
+    }
+
+    /**
+     * Creates the membership table if it does not exist, using a
+     * {@code CREATE TABLE IF NOT EXISTS} statement.
+     *
+     * @throws SQLException if the table cannot be created
+     */
+    public void createTableIfNotExists() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                    + "NODE_ID VARCHAR(255) NOT NULL PRIMARY KEY, "
+                    + "EXPIRES_AT BIGINT NOT NULL)");
+        }
+    }
+
+    @Override
+    public void heartbeat(String nodeId, long expiresAt) {
+        Objects.requireNonNull(nodeId, "The node identifier must not be null");
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            if (update(connection, nodeId, expiresAt) == 0) {
+                insert(connection, nodeId, expiresAt);
+            }
+        }
+        catch (SQLException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to record the heartbeat of node %s", nodeId);
+        }
+    }
+
+    private int update(Connection connection, String nodeId, long expiresAt) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE " + tableName
+                + " SET EXPIRES_AT = ? WHERE NODE_ID = ?")) {
+            statement.setLong(1, expiresAt);
+            statement.setString(2, nodeId);
+            return statement.executeUpdate();
+        }
+    }
+
+    private void insert(Connection connection, String nodeId, long expiresAt) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + tableName
+                + " (NODE_ID, EXPIRES_AT) VALUES (?, ?)")) {
+            statement.setString(1, nodeId);
+            statement.setLong(2, expiresAt);
+            statement.executeUpdate();
+        }
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM " + tableName
+                     + " WHERE NODE_ID = ?")) {
+            connection.setAutoCommit(true);
+            statement.setString(1, nodeId);
+            statement.executeUpdate();
+        }
+        catch (SQLException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to remove the membership of node %s", nodeId);
+        }
+    }
+
+    @Override
+    public Set<String> findLiveNodes(long now) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT NODE_ID FROM " + tableName
+                     + " WHERE EXPIRES_AT > ?")) {
+            statement.setLong(1, now);
+            Set<String> nodes = new HashSet<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    nodes.add(resultSet.getString(1));
+                }
+            }
+            return nodes;
+        }
+        catch (SQLException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to read the live nodes");
+        }
+    }
+
+    /**
+     * Does nothing: connections are borrowed from the data source for each operation.
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,45 @@
+package com.ranushan.cluster;
+
+import java.util.Set;
+
+/**
+ * A store of the live nodes of a cluster, shared by all nodes.
+ * <p>
+ * Each node periodically renews its membership with a heartbeat that expires at a given
+ * time; a node whose last heartbeat has expired is considered dead. Implementations are
+ * expected to be thread-safe.
+ *
+ */
+public interface MembershipStore extends AutoCloseable {
+
+    /**
+     * Registers or renews the membership of a node.
+     *
+     * @param nodeId    the node identifier; not null
+     * @param expiresAt the time at which the membership expires unless renewed, in
+     *                  milliseconds since the epoch
+     * @throws com.ranushan.exception.BatchRuntimeException if the membership cannot be stored
+     */
+    void heartbeat(String nodeId, long expiresAt);
+
+    /**
+     * Removes the membership of a node, e.g. on graceful shutdown.
+     *
+     * @param nodeId the node identifier
+     * @throws com.ranushan.exception.BatchRuntimeException if the membership cannot be removed
+     */
+    void leave(String nodeId);
+
+    /**
+     * @param now the current time, in milliseconds since the epoch
+     * @return the identifiers of the nodes whose membership has not expired at the given time
+     * @throws com.ranushan.exception.BatchRuntimeException if the store cannot be read
+     */
+    Set<String> findLiveNodes(long now);
+
+    /**
+     * Releases the resources held by this store.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,25 @@
+package com.ranushan.cluster;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class NodeIds {
+
+    /*
+     * The host name and process ID identify a node, even with several nodes per host.
+     */
+    static String local() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        }
+        catch (UnknownHostException exception) {
+            host = "unknown";
+        }
+        return host + ':' + ProcessHandle.current().pid();
+    }
+}
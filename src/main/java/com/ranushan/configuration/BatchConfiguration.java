@@ -2,6 +2,10 @@ package com.ranushan.configuration;
 
 import com.ranushan.annotation.Batch;
 import com.ranushan.domain.BatchType;
+import com.ranushan.domain.CronDialect;
+import com.ranushan.domain.ExecutionMode;
+import com.ranushan.domain.MisfirePolicy;
+import com.ranushan.domain.SchedulingPolicy;
 import com.ranushan.exception.BatchConfigurationException;
 import com.ranushan.util.ExceptionUtils;
 import com.ranushan.util.StringUtils;
@@ -10,7 +14,11 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * An object that parses and stores the configuration data for a particular batch.
@@ -26,6 +34,13 @@ public class BatchConfiguration {
     private final String className;
     private final String interval;
     private final boolean modulate;
+    private final CronDialect cronDialect;
+    private final SchedulingPolicy schedulingPolicy;
+    private final MisfirePolicy misfirePolicy;
+    private final ExecutionMode executionMode;
+    private final String timeout;
+    private final int parallelism;
+    private final Set<String> tags;
 
     protected BatchConfiguration(BatchConfiguration.BatchConfigurationBuilder builder) {
         this.name = builder.name;
@@ -33,6 +48,13 @@ public class BatchConfiguration {
         this.className = builder.className;
         this.interval = builder.interval;
         this.modulate = builder.modulate;
+        this.cronDialect = builder.cronDialect;
+        this.schedulingPolicy = builder.schedulingPolicy;
+        this.misfirePolicy = builder.misfirePolicy;
+        this.executionMode = builder.executionMode;
+        this.timeout = builder.timeout;
+        this.parallelism = builder.parallelism;
+        this.tags = builder.tags;
     }
 
     /**
@@ -52,9 +74,28 @@ public class BatchConfiguration {
             if (StringUtils.isEmpty(name)) {
                 name = StringUtils.defaultIfEmpty(name, className);
             }
+            if (cronDialect == null) {
+                cronDialect = CronDialect.UNIX;
+            }
             if (StringUtils.isEmpty(interval)) {
-                interval = type.getDefaultInterval();
+                interval = type == BatchType.CRON ? cronDialect.getDefaultExpression() : type.getDefaultInterval();
+            }
+            if (schedulingPolicy == null) {
+                schedulingPolicy = SchedulingPolicy.DEFAULT;
+            }
+            if (misfirePolicy == null) {
+                misfirePolicy = MisfirePolicy.IGNORE;
+            }
+            if (executionMode == null) {
+                executionMode = ExecutionMode.DEFAULT;
+            }
+            if (timeout == null) {
+                timeout = "";
+            }
+            if (parallelism < 0) {
+                throw ExceptionUtils.batchConfiguration("The parallelism cannot be negative: %d", parallelism);
             }
+            tags = tags == null ? Collections.emptySet() : Set.copyOf(tags);
             return new BatchConfiguration(this);
         }
 
@@ -66,9 +107,16 @@ public class BatchConfiguration {
                         "className": %s,
                         "type": %s,
                         "interval": %s,
-                        "modulate": %b
+                        "modulate": %b,
+                        "cronDialect": %s,
+                        "schedulingPolicy": %s,
+                        "misfirePolicy": %s,
+                        "executionMode": %s,
+                        "timeout": %s,
+                        "parallelism": %d,
+                        "tags": %s
                     }
-                    """.formatted(name, className, type.name(), interval, modulate);
+                    """.formatted(name, className, type.name(), interval, modulate, cronDialect, schedulingPolicy, misfirePolicy, executionMode, timeout, parallelism, tags);
         }
     }
 
@@ -92,6 +140,13 @@ public class BatchConfiguration {
         String className = batchClass.getCanonicalName();
         String interval = annotation.interval();
         boolean modulate = annotation.modulate();
+        CronDialect cronDialect = annotation.cronDialect();
+        SchedulingPolicy schedulingPolicy = annotation.schedulingPolicy();
+        MisfirePolicy misfirePolicy = annotation.misfirePolicy();
+        ExecutionMode executionMode = annotation.executionMode();
+        String timeout = annotation.timeout();
+        int parallelism = annotation.parallelism();
+        Set<String> tags = Arrays.stream(annotation.tags()).collect(Collectors.toUnmodifiableSet());
 
         return new BatchConfiguration.BatchConfigurationBuilder()
                 .type(type)
@@ -99,6 +154,13 @@ public class BatchConfiguration {
                 .className(className)
                 .interval(interval)
                 .modulate(modulate)
+                .cronDialect(cronDialect)
+                .schedulingPolicy(schedulingPolicy)
+                .misfirePolicy(misfirePolicy)
+                .executionMode(executionMode)
+                .timeout(timeout)
+                .parallelism(parallelism)
+                .tags(tags)
                 .build();
     }
 
@@ -110,8 +172,15 @@ public class BatchConfiguration {
                         "className": %s,
                         "type": %s,
                         "interval": %s,
-                        "modulate": %b
+                        "modulate": %b,
+                        "cronDialect": %s,
+                        "schedulingPolicy": %s,
+                        "misfirePolicy": %s,
+                        "executionMode": %s,
+                        "timeout": %s,
+                        "parallelism": %d,
+                        "tags": %s
                     }
-                    """.formatted(name, className, type.name(), interval, modulate);
+                    """.formatted(name, className, type.name(), interval, modulate, cronDialect, schedulingPolicy, misfirePolicy, executionMode, timeout, parallelism, tags);
     }
 }
\ No newline at end of file
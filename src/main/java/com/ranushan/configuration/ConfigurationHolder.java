@@ -1,7 +1,15 @@
 package com.ranushan.configuration;
 
+import com.ranushan.cluster.ClusterLockProvider;
+import com.ranushan.domain.ExecutionMode;
+import com.ranushan.factory.BatchTargetResolver;
+import com.ranushan.journal.ExecutionJournal;
+import com.ranushan.store.FireTimeStore;
+import com.ranushan.util.ExceptionUtils;
 import lombok.Getter;
+import lombok.Setter;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +24,71 @@ public class ConfigurationHolder {
 
     protected Map<String, BatchConfiguration> batchesByClassName;
 
+    /**
+     * The execution mode for batches whose configuration does not specify one (default is
+     * {@link ExecutionMode#SCHEDULER_THREAD}).
+     */
+    @Setter
+    protected ExecutionMode defaultExecutionMode = ExecutionMode.SCHEDULER_THREAD;
+
+    /**
+     * Whether the batch objects and the Cron descriptions are only created on the first
+     * {@code start()} or {@code runNow()} of each batch, rather than when the batches are
+     * instantiated (default is {@code false}).
+     * <p>
+     * <b>NOTE:</b> In lazy mode, errors such as a missing {@code @Run} method are only
+     * reported when the batch is first started or run.
+     */
+    @Setter
+    protected boolean lazyInstantiation;
+
+    /**
+     * The source of the instances on which the {@code @Run} methods are invoked (default is
+     * {@code null}, i.e. each batch class is instantiated through its default constructor).
+     */
+    @Setter
+    protected BatchTargetResolver batchTargetResolver;
+
+    /**
+     * The store of the last fire time of each Cron batch, used to detect the executions
+     * missed while the application was down (default is {@code null}, i.e. missed executions
+     * are not detected).
+     */
+    @Setter
+    protected FireTimeStore fireTimeStore;
+
+    /**
+     * The journal in which every batch execution is recorded (default is {@code null}, i.e.
+     * executions are not recorded).
+     */
+    @Setter
+    protected ExecutionJournal executionJournal;
+
+    /**
+     * The maximum number of missed executions replayed on start by a Cron batch with
+     * {@link com.ranushan.domain.MisfirePolicy#FIRE_ALL} (default is 100).
+     */
+    protected int misfireReplayLimit = 100;
+
+    /**
+     * The provider of the locks that restrict each scheduled execution to a single node of
+     * the cluster (default is {@code null}, i.e. every node executes every batch).
+     */
+    @Setter
+    protected ClusterLockProvider clusterLockProvider;
+
+    /**
+     * The maximum time a cluster lock is held if the node fails to release it (default is 10
+     * minutes). It must exceed the longest execution of any batch.
+     */
+    protected Duration clusterLockLeaseDuration = Duration.ofMinutes(10);
+
+    /**
+     * The maximum time to wait for a cluster lock before skipping the execution (default is
+     * 5 seconds).
+     */
+    protected Duration clusterLockTimeout = Duration.ofSeconds(5);
+
     /**
      * Builds a {@link ConfigurationHolder}, loaded with configuration data mapped from
      * all the supported configuration sources.
@@ -36,4 +109,61 @@ public class ConfigurationHolder {
     public Optional<BatchConfiguration> getHighestPrecedenceConfigurationByBatchClassName(String className) {
         return Optional.ofNullable(batchesByClassName.get(className));
     }
+
+    /**
+     * @return the configured {@link FireTimeStore}, or {@link Optional#empty()}
+     */
+    public Optional<FireTimeStore> findFireTimeStore() {
+        return Optional.ofNullable(fireTimeStore);
+    }
+
+    /**
+     * Sets the maximum number of missed executions replayed on start by a Cron batch with
+     * {@link com.ranushan.domain.MisfirePolicy#FIRE_ALL}.
+     *
+     * @param misfireReplayLimit the replay limit; must be positive
+     */
+    public void setMisfireReplayLimit(int misfireReplayLimit) {
+        if (misfireReplayLimit < 1) {
+            throw ExceptionUtils.illegalArgument("The replay limit must be positive: %d", misfireReplayLimit);
+        }
+        this.misfireReplayLimit = misfireReplayLimit;
+    }
+
+    /**
+     * Sets the maximum time a cluster lock is held if the node fails to release it.
+     *
+     * @param clusterLockLeaseDuration the lease duration; must be positive
+     */
+    public void setClusterLockLeaseDuration(Duration clusterLockLeaseDuration) {
+        this.clusterLockLeaseDuration = requirePositive(clusterLockLeaseDuration, "lease duration");
+    }
+
+    /**
+     * Sets the maximum time to wait for a cluster lock before skipping the execution.
+     *
+     * @param clusterLockTimeout the timeout; must be positive
+     */
+    public void setClusterLockTimeout(Duration clusterLockTimeout) {
+        this.clusterLockTimeout = requirePositive(clusterLockTimeout, "timeout");
+    }
+
+    private static Duration requirePositive(Duration duration, String description) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw ExceptionUtils.illegalArgument("The cluster lock %s must be positive: %s", description, duration);
+        }
+        return duration;
+    }
+
+    /**
+     * Resolves the effective execution mode of a batch.
+     *
+     * @param configuration the {@link BatchConfiguration} of the batch
+     * @return the execution mode of the given configuration, or the default execution mode if
+     *         the configuration does not specify one
+     */
+    public ExecutionMode getEffectiveExecutionMode(BatchConfiguration configuration) {
+        ExecutionMode executionMode = configuration.getExecutionMode();
+        return executionMode == null || executionMode == ExecutionMode.DEFAULT ? defaultExecutionMode : executionMode;
+    }
 }
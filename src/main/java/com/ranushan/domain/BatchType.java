@@ -1,15 +1,12 @@
 package com.ranushan.domain;
 
-import com.ranushan.configuration.BatchConfiguration;
-import com.ranushan.configuration.ConfigurationHolder;
-import com.ranushan.runner.AbstractBatch;
+import com.ranushan.factory.BatchFactoryFunction;
 import com.ranushan.runner.cron.DynamicCronBatch;
+import com.ranushan.runner.partitioned.DynamicPartitionedBatch;
 import com.ranushan.runner.timer.DynamicTimerBatch;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-import java.util.function.BiFunction;
-
 /**
  * Enumerates available {@link com.ranushan.annotation.Batch} types and associated facilities.
  *
@@ -19,15 +16,21 @@ import java.util.function.BiFunction;
 public enum BatchType {
     /**
      * An object that runs a particular task periodically, given a configurable interval in
-     * seconds, minutes, or hours.
+     * milliseconds, seconds, minutes, or hours.
      */
-    TIMER("1 minute", DynamicTimerBatch::new),
+    TIMER("1 minute", SchedulingPolicy.FIXED_RATE, DynamicTimerBatch::new),
 
     /**
      * An object that runs a particular task at specified times and dates, similar to the Cron
      * service available in Unix/Linux systems.
      */
-    CRON("* * * * *", DynamicCronBatch::new);
+    CRON("* * * * *", SchedulingPolicy.FIXED_RATE_COALESCE, DynamicCronBatch::new),
+
+    /**
+     * An object that runs a particular task periodically, like a {@link #TIMER}, but splits
+     * each execution into partitions processed concurrently.
+     */
+    PARTITIONED("1 minute", SchedulingPolicy.FIXED_DELAY, DynamicPartitionedBatch::new);
 
     /**
      * Returns the default interval for a batch type.
@@ -36,9 +39,16 @@ public enum BatchType {
     private final String defaultInterval;
 
     /**
-     * Returns the default factory {@link BiFunction} to be applied for instantiating new batches
-     * of this type.
+     * Returns the {@link SchedulingPolicy} applied to batches of this type, unless specified
+     * otherwise in the batch configuration.
+     *
+     */
+    private final SchedulingPolicy defaultSchedulingPolicy;
+
+    /**
+     * Returns the default {@link BatchFactoryFunction} to be applied for instantiating new
+     * batches of this type.
      *
      */
-    private final BiFunction<BatchConfiguration, ConfigurationHolder, AbstractBatch> factoryFunction;
+    private final BatchFactoryFunction factoryFunction;
 }
@@ -0,0 +1,55 @@
+package com.ranushan.domain;
+
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinition;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import lombok.Getter;
+
+/**
+ * Enumerates the supported Cron expression dialects for batches of type
+ * {@link BatchType#CRON}.
+ *
+ */
+@Getter
+public enum CronDialect {
+    /**
+     * The Unix Cron format, with five fields (minute, hour, day of month, month and day of
+     * week), whose finest granularity is one minute.
+     */
+    UNIX(CronType.UNIX, "* * * * *"),
+
+    /**
+     * The Quartz Cron format, with a leading seconds field and an optional trailing year
+     * field (e.g. {@code 0/10 * * * * ?}).
+     */
+    QUARTZ(CronType.QUARTZ, "0 * * * * ?"),
+
+    /**
+     * The Spring Cron format, with a leading seconds field (e.g. {@code *&#47;10 * * * * *}).
+     */
+    SPRING(CronType.SPRING, "0 * * * * *");
+
+    /**
+     * Returns the cron-utils type of this dialect.
+     *
+     */
+    private final CronType cronType;
+
+    /**
+     * Returns the default expression for this dialect (every minute).
+     *
+     */
+    private final String defaultExpression;
+
+    /**
+     * Returns the cron-utils definition of this dialect.
+     *
+     */
+    private final CronDefinition cronDefinition;
+
+    CronDialect(CronType cronType, String defaultExpression) {
+        this.cronType = cronType;
+        this.defaultExpression = defaultExpression;
+        this.cronDefinition = CronDefinitionBuilder.instanceDefinitionFor(cronType);
+    }
+}
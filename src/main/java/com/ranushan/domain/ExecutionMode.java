@@ -0,0 +1,28 @@
+package com.ranushan.domain;
+
+/**
+ * Enumerates the available modes for executing the task of a batch once its trigger fires.
+ *
+ */
+public enum ExecutionMode {
+    /**
+     * Use the global execution mode defined in the
+     * {@link com.ranushan.configuration.ConfigurationHolder}.
+     */
+    DEFAULT,
+
+    /**
+     * The task is executed by the scheduler thread that fired the trigger.
+     */
+    SCHEDULER_THREAD,
+
+    /**
+     * The scheduler thread only fires the trigger, and the task is executed on a virtual
+     * thread. This mode is recommended for I/O-bound tasks.
+     * <p>
+     * <b>NOTE:</b> On Java runtimes without virtual threads, the task is executed on a
+     * platform thread from a bounded pool instead (see
+     * {@link com.ranushan.factory.TaskExecutorFactory#MAX_PLATFORM_THREADS}).
+     */
+    VIRTUAL_THREAD
+}
@@ -0,0 +1,27 @@
+package com.ranushan.domain;
+
+/**
+ * Enumerates the policies for handling the executions of a Cron batch that were missed
+ * while the application was down, as detected from the last fire time recorded in the
+ * {@link com.ranushan.store.FireTimeStore}.
+ *
+ */
+public enum MisfirePolicy {
+    /**
+     * Missed executions are counted as misfires, but not executed.
+     */
+    IGNORE,
+
+    /**
+     * The task is executed once on start, and the remaining missed executions are counted as
+     * misfires.
+     */
+    FIRE_ONCE,
+
+    /**
+     * Every missed execution is replayed on start, up to the limit defined in
+     * {@link com.ranushan.configuration.ConfigurationHolder#getMisfireReplayLimit()}; the
+     * remaining ones are counted as misfires.
+     */
+    FIRE_ALL
+}
@@ -0,0 +1,35 @@
+package com.ranushan.domain;
+
+/**
+ * Enumerates the policies for scheduling the successive executions of a batch, notably
+ * when an execution overruns its period or fires late (e.g. after a long GC or a suspended
+ * JVM).
+ *
+ */
+public enum SchedulingPolicy {
+    /**
+     * Use the default policy of the batch type (see
+     * {@link BatchType#getDefaultSchedulingPolicy()}).
+     */
+    DEFAULT,
+
+    /**
+     * Executions are planned relative to the intended time of the previous one. Missed
+     * executions are caught up back-to-back, so that the total number of executions is
+     * preserved.
+     */
+    FIXED_RATE,
+
+    /**
+     * The next execution is planned relative to the end of the previous one, so that there is
+     * always at least one full period between consecutive executions.
+     */
+    FIXED_DELAY,
+
+    /**
+     * Executions are planned relative to the intended time of the previous one, but missed
+     * executions are coalesced into a single one, fired immediately. Every skipped
+     * execution is counted as a misfire.
+     */
+    FIXED_RATE_COALESCE
+}
@@ -0,0 +1,21 @@
+package com.ranushan.domain;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The outcome of stopping all batches of a {@link com.ranushan.BatchManager}.
+ *
+ * @param elapsed            the time taken to stop the batches and drain their running tasks
+ * @param interruptedBatches the names of the batches whose task was still running at the
+ *                           deadline, and was interrupted
+ */
+public record ShutdownReport(Duration elapsed, List<String> interruptedBatches) {
+
+    /**
+     * @return {@code true} if all running tasks completed before the deadline
+     */
+    public boolean isClean() {
+        return interruptedBatches.isEmpty();
+    }
+}
@@ -0,0 +1,19 @@
+package com.ranushan.event;
+
+import com.ranushan.journal.RunOutcome;
+
+/**
+ * A state transition of a batch, as published by a {@link BatchEventBus}.
+ *
+ * @param sequence      the position of the event in the bus, starting at 0
+ * @param timestamp     the time of the transition, in milliseconds since the epoch
+ * @param batchName     the name of the batch
+ * @param type          the kind of transition
+ * @param durationNanos the duration of the execution for {@link BatchEventType#FINISHED}
+ *                      events, in nanoseconds; otherwise 0
+ * @param outcome       the outcome of the execution for {@link BatchEventType#FINISHED} and
+ *                      {@link BatchEventType#ERROR} events; otherwise {@code null}
+ */
+public record BatchEvent(long sequence, long timestamp, String batchName, BatchEventType type, long durationNanos,
+                         RunOutcome outcome) {
+}
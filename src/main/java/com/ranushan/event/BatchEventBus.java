@@ -0,0 +1,177 @@
+package com.ranushan.event;
+
+import com.ranushan.journal.RunOutcome;
+import com.ranushan.runner.AbstractBatch;
+import com.ranushan.runner.BatchStateListener;
+import com.ranushan.util.ExceptionUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free, multi-producer and multi-consumer ring buffer of batch state transitions.
+ * <p>
+ * Registered as a {@link BatchStateListener}, the bus turns each transition into a
+ * {@link BatchEvent}. Publishing never blocks nor waits for consumers: it claims a sequence
+ * number with a single atomic increment and overwrites the oldest event of the ring in
+ * place, without allocating. Each consumer reads the ring through its own
+ * {@link BatchEventSubscription}, at its own pace; a consumer that falls behind by more than
+ * the capacity of the ring skips the overwritten events, which are counted as dropped.
+ *
+ */
+public final class BatchEventBus implements BatchStateListener {
+
+    /**
+     * The default number of events retained by the ring.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+
+    /*
+     * A slot of the ring, holding the fields of its last event. The stamp of the slot is
+     * 2 * sequence + 1 while the event of that sequence is being written, 2 * sequence + 2
+     * once it is published, and 0 while the slot is empty. Stamps only grow, so that a
+     * producer lapped by another one never overwrites a more recent event, and a consumer
+     * detects a torn read by a change of the stamp.
+     */
+    private static final class Slot {
+        private final AtomicLong stamp = new AtomicLong();
+        private volatile long timestamp;
+        private volatile String batchName;
+        private volatile BatchEventType type;
+        private volatile long durationNanos;
+        private volatile RunOutcome outcome;
+    }
+
+    /**
+     * Creates a bus with the default capacity.
+     */
+    public BatchEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a bus.
+     *
+     * @param capacity the number of events retained by the ring; must be a positive power of
+     *                 two
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     */
+    public BatchEventBus(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw ExceptionUtils.illegalArgument("The capacity must be a positive power of two: %d", capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Publishes the transition as an event. Transitions back to the initial
+     * {@link AbstractBatch.State#SET} state are only published when the task finishes, and
+     * the end of a failed execution is followed by an {@link BatchEventType#ERROR} event.
+     */
+    @Override
+    public void stateChanged(AbstractBatch batch, AbstractBatch.State previous, AbstractBatch.State current) {
+        if (previous == AbstractBatch.State.RUNNING) {
+            RunOutcome outcome = batch.getLastRunOutcome();
+            publish(batch.getName(), BatchEventType.FINISHED, batch.getLastRunDurationNanos(), outcome);
+            if (outcome == RunOutcome.FAILURE || outcome == RunOutcome.TIMED_OUT) {
+                publish(batch.getName(), BatchEventType.ERROR, 0L, outcome);
+            }
+            return;
+        }
+        switch (current) {
+            case STARTED -> publish(batch.getName(), BatchEventType.STARTED, 0L, null);
+            case RUNNING -> publish(batch.getName(), BatchEventType.RUNNING, 0L, null);
+            case ERROR -> publish(batch.getName(), BatchEventType.ERROR, 0L, null);
+            case STOPPED -> publish(batch.getName(), BatchEventType.STOPPED, 0L, null);
+            default -> {
+                // Nothing to publish
+            }
+        }
+    }
+
+    /**
+     * Publishes an event, overwriting the oldest one if the ring is full.
+     *
+     * @param batchName     the name of the batch
+     * @param type          the kind of transition
+     * @param durationNanos the duration of the execution, in nanoseconds, or 0
+     * @param outcome       the outcome of the execution, or {@code null}
+     */
+    public void publish(String batchName, BatchEventType type, long durationNanos, RunOutcome outcome) {
+        long sequence = cursor.getAndIncrement();
+        long writingStamp = 2 * sequence + 1;
+        Slot slot = slots[(int) sequence & mask];
+        long stamp = slot.stamp.get();
+        while (stamp < writingStamp) {
+            if ((stamp & 1L) != 0L) {
+                // An older event is being written, which only takes a few field writes
+                Thread.onSpinWait();
+                stamp = slot.stamp.get();
+            } else if (slot.stamp.compareAndSet(stamp, writingStamp)) {
+                slot.timestamp = System.currentTimeMillis();
+                slot.batchName = batchName;
+                slot.type = type;
+                slot.durationNanos = durationNanos;
+                slot.outcome = outcome;
+                slot.stamp.set(writingStamp + 1);
+                return;
+            } else {
+                stamp = slot.stamp.get();
+            }
+        }
+        // Lapped by a more recent event, which already took the slot: this one is dropped
+    }
+
+    /**
+     * Creates a subscription receiving the events published from now on.
+     *
+     * @return a new {@link BatchEventSubscription}
+     */
+    public BatchEventSubscription subscribe() {
+        return new BatchEventSubscription(this, cursor.get());
+    }
+
+    /**
+     * @return the number of events retained by the ring
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return the total number of events published so far
+     */
+    public long getPublishedCount() {
+        return cursor.get();
+    }
+
+    /*
+     * Returns the event of the given sequence, null if it is not published yet, or a more
+     * recent event if it was overwritten.
+     */
+    BatchEvent get(long sequence) {
+        Slot slot = slots[(int) sequence & mask];
+        while (true) {
+            long stamp = slot.stamp.get();
+            if (stamp < 2 * sequence + 2) {
+                return null;
+            }
+            if ((stamp & 1L) == 0L) {
+                BatchEvent event = new BatchEvent(stamp / 2 - 1, slot.timestamp, slot.batchName, slot.type,
+                        slot.durationNanos, slot.outcome);
+                if (slot.stamp.get() == stamp) {
+                    return event;
+                }
+            }
+            // Overwritten while being read, or being overwritten
+            Thread.onSpinWait();
+        }
+    }
+}
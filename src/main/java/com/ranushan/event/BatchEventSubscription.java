@@ -0,0 +1,71 @@
+package com.ranushan.event;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A cursor over the events of a {@link BatchEventBus}, owned by a single consumer.
+ * <p>
+ * Events are delivered in publication order. When the consumer is too slow and the events
+ * it has not read yet were overwritten, it resumes from the oldest event still available,
+ * and the skipped events are added to {@link #getDroppedCount()}. Instances are not
+ * thread-safe: each consumer thread must use its own subscription.
+ *
+ */
+public final class BatchEventSubscription {
+
+    private final BatchEventBus bus;
+    private long nextSequence;
+    private long droppedCount;
+
+    BatchEventSubscription(BatchEventBus bus, long nextSequence) {
+        this.bus = bus;
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Delivers the available events to the given consumer, without waiting.
+     *
+     * @param consumer  the consumer of the events; not null
+     * @param maxEvents the maximum number of events to be delivered
+     * @return the number of delivered events
+     */
+    public int poll(Consumer<? super BatchEvent> consumer, int maxEvents) {
+        Objects.requireNonNull(consumer, "The consumer must not be null");
+        int count = 0;
+        while (count < maxEvents) {
+            BatchEvent event = bus.get(nextSequence);
+            if (event == null || event.sequence() < nextSequence) {
+                // Not published yet
+                break;
+            }
+            if (event.sequence() > nextSequence) {
+                // Overwritten: skip to the oldest event still in the ring
+                long oldest = bus.getPublishedCount() - bus.getCapacity();
+                droppedCount += oldest - nextSequence;
+                nextSequence = oldest;
+                continue;
+            }
+            consumer.accept(event);
+            nextSequence++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of events that were overwritten before this subscription could read
+     *         them
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * @return the number of events published but not read yet by this subscription,
+     *         including those that will be dropped
+     */
+    public long getBacklog() {
+        return Math.max(0L, bus.getPublishedCount() - nextSequence);
+    }
+}
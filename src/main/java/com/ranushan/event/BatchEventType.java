@@ -0,0 +1,34 @@
+package com.ranushan.event;
+
+/**
+ * The kinds of batch state transitions published as {@link BatchEvent}s.
+ *
+ */
+public enum BatchEventType {
+
+    /**
+     * The batch timer was started.
+     */
+    STARTED,
+
+    /**
+     * The batch task started running.
+     */
+    RUNNING,
+
+    /**
+     * The batch task finished running, whether it succeeded or not.
+     */
+    FINISHED,
+
+    /**
+     * The batch task failed or timed out. Published right after the {@link #FINISHED} event
+     * of the execution.
+     */
+    ERROR,
+
+    /**
+     * The batch timer was stopped.
+     */
+    STOPPED
+}
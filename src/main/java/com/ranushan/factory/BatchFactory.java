@@ -5,6 +5,7 @@ import com.ranushan.configuration.ConfigurationHolder;
 import com.ranushan.domain.BatchType;
 import com.ranushan.exception.InvalidClassException;
 import com.ranushan.runner.AbstractBatch;
+import com.ranushan.scheduler.BatchScheduler;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -21,17 +22,21 @@ public class BatchFactory {
     /**
      * Creates a new batch instance from the given {@link BatchConfiguration}.
      *
-     * @param configuration the {@link BatchConfiguration} to be processed, not null
+     * @param configuration       the {@link BatchConfiguration} to be processed, not null
+     * @param configurationHolder the {@link ConfigurationHolder} of the managing instance, not null
+     * @param scheduler           the {@link BatchScheduler} to register the batch triggers, not null
      * @return an {@link AbstractBatch} from the given {@link BatchConfiguration}, not null
      *
-     * @throws NullPointerException  if a null {@link BatchConfiguration} is received
+     * @throws NullPointerException  if any of the arguments is null
      * @throws InvalidClassException if any exception regarding a reflective operation (e.g.:
      *                               required class or method not found) occurs
      */
-    public static AbstractBatch create(BatchConfiguration configuration, ConfigurationHolder configurationHolder) {
+    public static AbstractBatch create(BatchConfiguration configuration, ConfigurationHolder configurationHolder,
+                                       BatchScheduler scheduler) {
         Objects.requireNonNull(configuration, "The BatchConfiguration must not be null");
         Objects.requireNonNull(configurationHolder, "The ConfigurationHolder must not be null");
+        Objects.requireNonNull(scheduler, "The BatchScheduler must not be null");
         BatchType type = configuration.getType();
-        return type.getFactoryFunction().apply(configuration, configurationHolder);
+        return type.getFactoryFunction().create(configuration, configurationHolder, scheduler);
     }
 }
@@ -0,0 +1,26 @@
+package com.ranushan.factory;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.runner.AbstractBatch;
+import com.ranushan.scheduler.BatchScheduler;
+
+/**
+ * A function that instantiates a new batch of a particular type.
+ *
+ */
+@FunctionalInterface
+public interface BatchFactoryFunction {
+
+    /**
+     * Creates a new batch instance.
+     *
+     * @param configuration       the {@link BatchConfiguration} to be processed
+     * @param configurationHolder the {@link ConfigurationHolder} of the managing instance
+     * @param scheduler           the shared {@link BatchScheduler} where the batch triggers
+     *                            will be registered
+     * @return a new {@link AbstractBatch}
+     */
+    AbstractBatch create(BatchConfiguration configuration, ConfigurationHolder configurationHolder,
+                         BatchScheduler scheduler);
+}
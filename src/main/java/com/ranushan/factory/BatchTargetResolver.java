@@ -0,0 +1,22 @@
+package com.ranushan.factory;
+
+import java.util.Optional;
+
+/**
+ * A source of existing instances of batch classes, on which the {@code @Run} method of
+ * annotated batches is invoked, e.g. the beans of a dependency injection container.
+ *
+ */
+@FunctionalInterface
+public interface BatchTargetResolver {
+
+    /**
+     * Finds the instance of the given batch class to run.
+     *
+     * @param batchClass the batch class annotated with {@code @Batch}
+     * @return the instance to run, which may be a proxy of the batch class, or
+     *         {@link Optional#empty()} to let the batch class be instantiated through its
+     *         default constructor
+     */
+    Optional<Object> resolveTarget(Class<?> batchClass);
+}
@@ -0,0 +1,91 @@
+package com.ranushan.factory;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A factory that creates {@link ExecutorService} objects for the asynchronous execution of
+ * batch tasks.
+ *
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskExecutorFactory {
+
+    /**
+     * The maximum number of platform threads of an executor created when virtual threads
+     * are not available. Further tasks wait in the queue of the executor.
+     */
+    public static final int MAX_PLATFORM_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    private static final String VIRTUAL_THREAD_NAME_FORMAT = "Batch-%s-virtual";
+    private static final long PLATFORM_THREAD_KEEP_ALIVE_SECONDS = 60L;
+
+    /*
+     * Checked once, so that the fallback is only reported once
+     */
+    private static final boolean VIRTUAL_THREADS_AVAILABLE = checkVirtualThreads();
+
+    private static boolean checkVirtualThreads() {
+        try {
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            return true;
+        }
+        catch (ReflectiveOperationException | UnsupportedOperationException exception) {
+            log.info("Virtual threads not available in this runtime. Using up to {} platform threads per executor "
+                    + "instead.", MAX_PLATFORM_THREADS);
+            log.debug("Virtual threads not available", exception);
+            return false;
+        }
+    }
+
+    /**
+     * Creates an {@link ExecutorService} that starts a new virtual thread for each task.
+     * <p>
+     * Virtual threads are resolved reflectively, so that this library can still run on
+     * Java 17. If they are not supported by the current runtime, an executor backed by at
+     * most {@link #MAX_PLATFORM_THREADS} platform threads is returned instead, so that a
+     * burst of tasks waits for a thread rather than creating as many threads.
+     *
+     * @param name the name to compose new thread names; not null
+     * @return a new {@link ExecutorService}; not null
+     */
+    public static ExecutorService newVirtualThreadExecutor(String name) {
+        if (!VIRTUAL_THREADS_AVAILABLE) {
+            return newPlatformThreadExecutor(name);
+        }
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(builder, String.format(VIRTUAL_THREAD_NAME_FORMAT, name), 1L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        }
+        catch (ReflectiveOperationException | UnsupportedOperationException exception) {
+            log.debug("Unable to create a virtual thread executor", exception);
+            return newPlatformThreadExecutor(name);
+        }
+    }
+
+    /*
+     * Idle threads are released after the keep-alive time, like a cached pool, but the
+     * number of threads is bounded.
+     */
+    private static ExecutorService newPlatformThreadExecutor(String name) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_PLATFORM_THREADS, MAX_PLATFORM_THREADS,
+                PLATFORM_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new BatchThreadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
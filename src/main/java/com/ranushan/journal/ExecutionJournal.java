@@ -0,0 +1,336 @@
+package com.ranushan.journal;
+
+import com.ranushan.util.ExceptionUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A journal of batch executions, stored as fixed-size binary records in a memory-mapped
+ * ring file.
+ * <p>
+ * The file has a fixed size, defined by its capacity in records: once full, the oldest
+ * records are overwritten. Appending a record does not allocate any object, and concurrent
+ * appenders never block each other: each one reserves a slot through an atomic sequence
+ * number, and publishes the record by writing its sequence number last, so that readers can
+ * detect and ignore records being overwritten. Queries read the fields they filter on in
+ * place, and only materialize the matching records.
+ * <p>
+ * A record contains the batch identifier (a 64-bit FNV-1a hash of the batch name), the
+ * intended, start and end times of the execution, its duration, its {@link RunOutcome} and a
+ * hash of the exception thrown by the task, if any.
+ *
+ */
+@Slf4j
+public class ExecutionJournal implements AutoCloseable {
+
+    /**
+     * The default capacity of a journal (65,536 records, i.e. a 4 MiB file).
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The intended time recorded for manual executions.
+     */
+    public static final long MANUAL_RUN = -1L;
+
+    private static final int MAGIC = 0x424A524E;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 64;
+
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_CAPACITY = 8;
+
+    private static final int SEQUENCE = 0;
+    private static final int BATCH_ID = 8;
+    private static final int SCHEDULED_TIME = 16;
+    private static final int START_TIME = 24;
+    private static final int END_TIME = 32;
+    private static final int DURATION = 40;
+    private static final int OUTCOME = 48;
+    private static final int EXCEPTION_HASH = 52;
+
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    @Getter private final Path file;
+    @Getter private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final AtomicLong nextSequence;
+
+    /**
+     * Opens the journal stored in the given file with {@link #DEFAULT_CAPACITY}, creating
+     * it if necessary.
+     *
+     * @param file the journal file; not null
+     * @throws com.ranushan.exception.BatchRuntimeException if the journal cannot be opened
+     */
+    public ExecutionJournal(Path file) {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Opens the journal stored in the given file, creating it if necessary. An existing file
+     * with a different capacity or format is rotated, i.e. renamed with the {@code .old}
+     * suffix, and replaced with an empty journal.
+     *
+     * @param file     the journal file; not null
+     * @param capacity the maximum number of records held by the journal; must be positive
+     * @throws IllegalArgumentException                     if the capacity is invalid
+     * @throws com.ranushan.exception.BatchRuntimeException if the journal cannot be opened
+     */
+    public ExecutionJournal(Path file, int capacity) {
+        Objects.requireNonNull(file, "The journal file must not be null");
+        if (capacity < 1 || capacity > (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE) {
+            throw ExceptionUtils.illegalArgument("Invalid journal capacity: %d", capacity);
+        }
+        this.file = file;
+        this.capacity = capacity;
+        long size = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            if (Files.exists(file) && !isCompatible(file, size)) {
+                Path rotated = file.resolveSibling(file.getFileName() + ".old");
+                Files.move(file, rotated, StandardCopyOption.REPLACE_EXISTING);
+                log.info("Incompatible execution journal rotated to: {}", rotated);
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        catch (IOException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to open the execution journal: %s", file);
+        }
+        buffer.putInt(HEADER_MAGIC, MAGIC);
+        buffer.putInt(HEADER_VERSION, VERSION);
+        buffer.putInt(HEADER_CAPACITY, capacity);
+        nextSequence = new AtomicLong(findLastSequence() + 1);
+        log.debug("Execution journal opened: {} (capacity: {}, next sequence: {})", file, capacity, nextSequence);
+    }
+
+    private static boolean isCompatible(Path file, long size) throws IOException {
+        if (Files.size(file) != size) {
+            return false;
+        }
+        try (FileChannel existing = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(12);
+            existing.read(header, 0);
+            return header.getInt(HEADER_MAGIC) == MAGIC && header.getInt(HEADER_VERSION) == VERSION;
+        }
+    }
+
+    private long findLastSequence() {
+        long last = 0L;
+        for (int slot = 0; slot < capacity; slot++) {
+            last = Math.max(last, (long) LONGS.getAcquire(buffer, position(slot) + SEQUENCE));
+        }
+        return last;
+    }
+
+    /**
+     * Computes the identifier of a batch, i.e. the 64-bit FNV-1a hash of its name.
+     *
+     * @param batchName the batch name; not null
+     * @return the batch identifier
+     */
+    public static long batchId(String batchName) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < batchName.length(); i++) {
+            char c = batchName.charAt(i);
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+            hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Computes a hash that identifies the type and origin of an exception, so that
+     * recurring failures can be grouped.
+     *
+     * @param exception the exception, or {@code null}
+     * @return a non-zero hash of the exception class and its top stack frame, or 0 if the
+     *         exception is {@code null}
+     */
+    public static int exceptionHash(Throwable exception) {
+        if (exception == null) {
+            return 0;
+        }
+        int hash = exception.getClass().getName().hashCode();
+        StackTraceElement[] stackTrace = exception.getStackTrace();
+        if (stackTrace.length > 0) {
+            hash = 31 * hash + stackTrace[0].hashCode();
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Appends a record to this journal, overwriting the oldest record if the journal is full.
+     *
+     * @param batchId       the batch identifier (see {@link #batchId(String)})
+     * @param scheduledTime the intended time of the execution, or {@link #MANUAL_RUN}
+     * @param startTime     the start time, in milliseconds since the epoch
+     * @param endTime       the end time, in milliseconds since the epoch
+     * @param durationNanos the duration of the execution, in nanoseconds
+     * @param outcome       the outcome of the execution; not null
+     * @param exceptionHash the exception hash (see {@link #exceptionHash(Throwable)})
+     */
+    public void append(long batchId, long scheduledTime, long startTime, long endTime, long durationNanos,
+                       RunOutcome outcome, int exceptionHash) {
+        long sequence = nextSequence.getAndIncrement();
+        int position = position(slotOf(sequence));
+
+        // Invalidate the slot while it is being written
+        LONGS.setVolatile(buffer, position + SEQUENCE, 0L);
+        buffer.putLong(position + BATCH_ID, batchId);
+        buffer.putLong(position + SCHEDULED_TIME, scheduledTime);
+        buffer.putLong(position + START_TIME, startTime);
+        buffer.putLong(position + END_TIME, endTime);
+        buffer.putLong(position + DURATION, durationNanos);
+        buffer.putInt(position + OUTCOME, outcome.ordinal());
+        buffer.putInt(position + EXCEPTION_HASH, exceptionHash);
+        LONGS.setRelease(buffer, position + SEQUENCE, sequence);
+    }
+
+    /**
+     * Finds the last executions of a batch.
+     *
+     * @param batchName the batch name; not null
+     * @param limit     the maximum number of records to be returned
+     * @return the matching records, most recent first
+     */
+    public List<ExecutionRecord> findLastRuns(String batchName, int limit) {
+        long batchId = batchId(batchName);
+        return find(limit, position -> buffer.getLong(position + BATCH_ID) == batchId);
+    }
+
+    /**
+     * Finds the last executions, of any batch, that lasted longer than the given threshold.
+     *
+     * @param threshold the duration threshold; not null
+     * @param limit     the maximum number of records to be returned
+     * @return the matching records, most recent first
+     */
+    public List<ExecutionRecord> findRunsSlowerThan(Duration threshold, int limit) {
+        long thresholdNanos = threshold.toNanos();
+        return find(limit, position -> buffer.getLong(position + DURATION) > thresholdNanos);
+    }
+
+    /**
+     * Finds the last executions of a batch that lasted longer than the given threshold.
+     *
+     * @param batchName the batch name; not null
+     * @param threshold the duration threshold; not null
+     * @param limit     the maximum number of records to be returned
+     * @return the matching records, most recent first
+     */
+    public List<ExecutionRecord> findRunsSlowerThan(String batchName, Duration threshold, int limit) {
+        long batchId = batchId(batchName);
+        long thresholdNanos = threshold.toNanos();
+        return find(limit, position -> buffer.getLong(position + BATCH_ID) == batchId
+                && buffer.getLong(position + DURATION) > thresholdNanos);
+    }
+
+    /**
+     * @return the number of records appended since the journal was created, including the
+     *         ones that were overwritten
+     */
+    public long getRecordCount() {
+        return nextSequence.get() - 1;
+    }
+
+    @FunctionalInterface
+    private interface SlotFilter {
+        boolean test(int position);
+    }
+
+    private List<ExecutionRecord> find(int limit, SlotFilter filter) {
+        if (limit < 1) {
+            return Collections.emptyList();
+        }
+        List<ExecutionRecord> records = new ArrayList<>();
+        long last = nextSequence.get() - 1;
+        long first = Math.max(1L, last - capacity + 1);
+        for (long sequence = last; sequence >= first && records.size() < limit; sequence--) {
+            int position = position(slotOf(sequence));
+            if ((long) LONGS.getAcquire(buffer, position + SEQUENCE) == sequence && filter.test(position)) {
+                ExecutionRecord executionRecord = read(position, sequence);
+                if (executionRecord != null) {
+                    records.add(executionRecord);
+                }
+            }
+        }
+        return records;
+    }
+
+    /*
+     * Reads the record at the given position, or returns null if it was overwritten
+     * meanwhile.
+     */
+    private ExecutionRecord read(int position, long sequence) {
+        ExecutionRecord executionRecord = new ExecutionRecord(sequence,
+                buffer.getLong(position + BATCH_ID),
+                buffer.getLong(position + SCHEDULED_TIME),
+                buffer.getLong(position + START_TIME),
+                buffer.getLong(position + END_TIME),
+                buffer.getLong(position + DURATION),
+                RunOutcome.valueOf(buffer.getInt(position + OUTCOME)),
+                buffer.getInt(position + EXCEPTION_HASH));
+        VarHandle.acquireFence();
+        long current = (long) LONGS.getVolatile(buffer, position + SEQUENCE);
+        return current == sequence && executionRecord.outcome() != null ? executionRecord : null;
+    }
+
+    private int slotOf(long sequence) {
+        return (int) ((sequence - 1) % capacity);
+    }
+
+    private static int position(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    /**
+     * Forces the records written so far to the storage device.
+     */
+    public void flush() {
+        buffer.force();
+    }
+
+    /**
+     * Flushes and closes this journal.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+            channel.close();
+        }
+        catch (IOException exception) {
+            log.warn("Unable to close the execution journal: {}", file, exception);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ranushan.journal;
+
+import java.time.Duration;
+
+/**
+ * An execution of a batch, as recorded in the {@link ExecutionJournal}.
+ *
+ * @param sequence      the sequence number of the record in the journal
+ * @param batchId       the identifier of the batch (see {@link ExecutionJournal#batchId(String)})
+ * @param scheduledTime the intended time of the execution in milliseconds since the epoch,
+ *                      or {@link ExecutionJournal#MANUAL_RUN} for manual executions
+ * @param startTime     the start time, in milliseconds since the epoch
+ * @param endTime       the end time, in milliseconds since the epoch
+ * @param durationNanos the duration of the execution, in nanoseconds
+ * @param outcome       the outcome of the execution
+ * @param exceptionHash a hash of the exception thrown by the task, or 0 if none
+ */
+public record ExecutionRecord(long sequence, long batchId, long scheduledTime, long startTime, long endTime,
+                              long durationNanos, RunOutcome outcome, int exceptionHash) {
+
+    /**
+     * @return the duration of the execution
+     */
+    public Duration duration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    /**
+     * @return {@code true} if the execution was requested manually
+     */
+    public boolean isManual() {
+        return scheduledTime == ExecutionJournal.MANUAL_RUN;
+    }
+}
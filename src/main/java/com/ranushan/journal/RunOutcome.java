@@ -0,0 +1,34 @@
+package com.ranushan.journal;
+
+/**
+ * Enumerates the possible outcomes of a batch execution recorded in the
+ * {@link ExecutionJournal}.
+ *
+ */
+public enum RunOutcome {
+    /**
+     * The task completed normally.
+     */
+    SUCCESS,
+
+    /**
+     * The task threw an exception.
+     */
+    FAILURE,
+
+    /**
+     * The trigger fired while the task was still running, so the execution was skipped.
+     */
+    SKIPPED,
+
+    /**
+     * The task exceeded the timeout of the batch, and was cancelled.
+     */
+    TIMED_OUT;
+
+    private static final RunOutcome[] VALUES = values();
+
+    static RunOutcome valueOf(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : null;
+    }
+}
@@ -0,0 +1,131 @@
+package com.ranushan.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The runtime statistics of a batch: a histogram of the task duration, a histogram of the
+ * scheduling lag (i.e. the actual start time minus the intended fire time of scheduled
+ * executions), and counters of runs, failures, timeouts, skipped overlapping executions and
+ * misfires.
+ * <p>
+ * All recording methods are lock-free and do not allocate.
+ *
+ */
+public class BatchMetrics {
+
+    private final LatencyHistogram durations = new LatencyHistogram();
+    private final LatencyHistogram schedulingLags = new LatencyHistogram();
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder skippedOverlaps = new LongAdder();
+    private final LongAdder misfires = new LongAdder();
+
+    /**
+     * Records a completed execution of the task.
+     *
+     * @param durationNanos the duration of the execution, in nanoseconds
+     * @param failed        {@code true} if the task threw an exception
+     */
+    public void recordRun(long durationNanos, boolean failed) {
+        runs.increment();
+        if (failed) {
+            failures.increment();
+        }
+        durations.record(durationNanos);
+    }
+
+    /**
+     * Records an execution cancelled because it exceeded the timeout of the batch. The
+     * execution itself is recorded by {@link #recordRun(long, boolean)}, as a failed one.
+     */
+    public void recordTimeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * Records the delay between the intended fire time of a scheduled execution and its
+     * actual start.
+     *
+     * @param lagNanos the scheduling lag, in nanoseconds
+     */
+    public void recordSchedulingLag(long lagNanos) {
+        schedulingLags.record(lagNanos);
+    }
+
+    /**
+     * Records a scheduled execution skipped because the task was still running.
+     */
+    public void recordSkippedOverlap() {
+        skippedOverlaps.increment();
+    }
+
+    /**
+     * Records missed executions.
+     *
+     * @param count the number of missed executions
+     */
+    public void recordMisfires(long count) {
+        misfires.add(count);
+    }
+
+    /**
+     * @return the number of completed executions, including failed ones
+     */
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    /**
+     * @return the number of executions in which the task threw an exception or timed out
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return the number of executions cancelled because they exceeded the timeout
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * @return the number of scheduled executions skipped because the task was still running
+     */
+    public long getSkippedOverlaps() {
+        return skippedOverlaps.sum();
+    }
+
+    /**
+     * @return the number of missed executions
+     */
+    public long getMisfires() {
+        return misfires.sum();
+    }
+
+    /**
+     * @return the histogram of the task duration, in nanoseconds
+     */
+    public LatencyHistogram getDurations() {
+        return durations;
+    }
+
+    /**
+     * @return the histogram of the scheduling lag, in nanoseconds
+     */
+    public LatencyHistogram getSchedulingLags() {
+        return schedulingLags;
+    }
+
+    /**
+     * Takes a snapshot of these metrics.
+     *
+     * @param batchName the batch name
+     * @return a new {@link BatchMetricsSnapshot}
+     */
+    public BatchMetricsSnapshot snapshot(String batchName) {
+        return new BatchMetricsSnapshot(batchName, runs.sum(), failures.sum(), timeouts.sum(), skippedOverlaps.sum(),
+                misfires.sum(), durations.snapshot(), schedulingLags.snapshot());
+    }
+}
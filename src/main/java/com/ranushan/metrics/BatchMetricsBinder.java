@@ -0,0 +1,115 @@
+package com.ranushan.metrics;
+
+import com.ranushan.BatchManager;
+import com.ranushan.runner.AbstractBatch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A Micrometer {@link MeterBinder} that publishes the {@link BatchMetrics} of the batches of
+ * a {@link BatchManager}, tagged with the batch name, along with the number of batches in
+ * each state.
+ * <p>
+ * The meters read the metrics by batch name when they are published, so that they follow a
+ * batch replaced by {@link BatchManager#resetBatch(String)}; the meters of a removed batch
+ * report {@code NaN}. The batches added after binding are not published. Recording
+ * the metrics does not depend on Micrometer, which is an optional dependency: the binder is
+ * only registered by the Spring Boot auto-configuration if Micrometer is in the class path.
+ *
+ */
+@RequiredArgsConstructor
+public class BatchMetricsBinder implements MeterBinder {
+
+    /**
+     * The prefix of the names of all meters.
+     */
+    public static final String PREFIX = "shared.scheduler";
+
+    private static final String BATCH_TAG = "batch";
+    private static final double[] PERCENTILES = {0.5, 0.99};
+
+    private final BatchManager batchManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AbstractBatch.State state : AbstractBatch.State.values()) {
+            Gauge.builder(PREFIX + ".batches", batchManager, manager -> manager.getBatchesByState(state).size())
+                 .tag("state", state.name().toLowerCase(Locale.ROOT))
+                 .description("The number of batches in the state")
+                 .register(registry);
+        }
+        for (AbstractBatch batch : batchManager.getBatches()) {
+            bindBatch(registry, batch.getName());
+        }
+    }
+
+    private void bindBatch(MeterRegistry registry, String name) {
+        bindCounter(registry, name, "runs", "The number of completed executions, including failed ones",
+                BatchMetrics::getRuns);
+        bindCounter(registry, name, "failures", "The number of executions that threw an exception or timed out",
+                BatchMetrics::getFailures);
+        bindCounter(registry, name, "timeouts", "The number of executions cancelled by the timeout",
+                BatchMetrics::getTimeouts);
+        bindCounter(registry, name, "skipped.overlaps", "The number of executions skipped while the task was running",
+                BatchMetrics::getSkippedOverlaps);
+        bindCounter(registry, name, "misfires", "The number of missed executions", BatchMetrics::getMisfires);
+        bindHistogram(registry, name, "duration", "The duration of the task", BatchMetrics::getDurations);
+        bindHistogram(registry, name, "lag", "The delay between the intended fire time and the start of an execution",
+                BatchMetrics::getSchedulingLags);
+    }
+
+    private void bindCounter(MeterRegistry registry, String name, String meter, String description,
+                             ToDoubleFunction<BatchMetrics> value) {
+        FunctionCounter.builder(PREFIX + ".batch." + meter, batchManager, manager -> read(manager, name, value))
+                       .tag(BATCH_TAG, name)
+                       .description(description)
+                       .register(registry);
+    }
+
+    private void bindHistogram(MeterRegistry registry, String name, String meter, String description,
+                               Function<BatchMetrics, LatencyHistogram> histogram) {
+        Tags tags = Tags.of(BATCH_TAG, name);
+        FunctionTimer.builder(PREFIX + ".batch." + meter, batchManager,
+                             // A removed batch reports no execution
+                             manager -> (long) read(manager, name, metrics -> histogram.apply(metrics).getCount()),
+                             manager -> read(manager, name, metrics -> histogram.apply(metrics).getTotalNanos()),
+                             TimeUnit.NANOSECONDS)
+                     .tags(tags)
+                     .description(description)
+                     .register(registry);
+        TimeGauge.builder(PREFIX + ".batch." + meter + ".max", batchManager, TimeUnit.NANOSECONDS,
+                         manager -> read(manager, name, metrics -> histogram.apply(metrics).getMaxValue()))
+                 .tags(tags)
+                 .description(description + ", highest value")
+                 .register(registry);
+        for (double percentile : PERCENTILES) {
+            TimeGauge.builder(PREFIX + ".batch." + meter + ".percentile", batchManager, TimeUnit.NANOSECONDS,
+                             manager -> read(manager, name,
+                                     metrics -> histogram.apply(metrics).getValueAtPercentile(percentile * 100.0)))
+                     .tags(tags)
+                     .tag("phi", String.valueOf(percentile))
+                     .description(description + ", percentile")
+                     .register(registry);
+        }
+    }
+
+    private static double read(BatchManager manager, String name, ToDoubleFunction<BatchMetrics> value) {
+        try {
+            return value.applyAsDouble(manager.findBatchByName(name).getMetrics());
+        }
+        catch (IllegalArgumentException exception) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ranushan.metrics;
+
+/**
+ * An immutable copy of the {@link BatchMetrics} of a batch.
+ *
+ * @param batchName       the batch name
+ * @param runs            the number of completed executions, including failed ones
+ * @param failures        the number of executions in which the task threw an exception or
+ *                        timed out
+ * @param timeouts        the number of executions cancelled because they exceeded the
+ *                        timeout of the batch
+ * @param skippedOverlaps the number of scheduled executions skipped because the task was
+ *                        still running
+ * @param misfires        the number of missed executions, including skipped overlaps
+ * @param duration        the histogram of the task duration, in nanoseconds
+ * @param schedulingLag   the histogram of the scheduling lag, in nanoseconds
+ */
+public record BatchMetricsSnapshot(String batchName, long runs, long failures, long timeouts, long skippedOverlaps,
+                                   long misfires, HistogramSnapshot duration, HistogramSnapshot schedulingLag) {
+}
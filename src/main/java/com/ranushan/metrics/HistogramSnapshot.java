@@ -0,0 +1,32 @@
+package com.ranushan.metrics;
+
+import java.time.Duration;
+
+/**
+ * An immutable summary of a {@link LatencyHistogram}, with values in nanoseconds.
+ * Percentiles are reported as the highest value of the bucket they fall into.
+ *
+ * @param count  the number of recorded values
+ * @param sum    the sum of the recorded values
+ * @param max    the highest recorded value
+ * @param p50    the median
+ * @param p90    the 90th percentile
+ * @param p99    the 99th percentile
+ * @param p999   the 99.9th percentile
+ */
+public record HistogramSnapshot(long count, long sum, long max, long p50, long p90, long p99, long p999) {
+
+    /**
+     * @return the mean of the recorded values, in nanoseconds, or 0 if empty
+     */
+    public long mean() {
+        return count == 0 ? 0L : sum / count;
+    }
+
+    /**
+     * @return the median, as a {@link Duration}
+     */
+    public Duration median() {
+        return Duration.ofNanos(p50);
+    }
+}
@@ -0,0 +1,147 @@
+package com.ranushan.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in nanoseconds, with fixed log-linear buckets.
+ * <p>
+ * Values below {@code 64} ns have their own bucket; above, every power of two is split into
+ * {@value #SUB_BUCKET_COUNT} linear sub-buckets, which bounds the relative error of the
+ * reported percentiles to about 3%. Values above {@link #MAX_VALUE} (about 4.9 hours) are
+ * clamped. Recording a value is wait-free, does not allocate, and only updates a few atomic
+ * counters.
+ *
+ */
+public class LatencyHistogram {
+
+    /**
+     * The highest trackable value, in nanoseconds.
+     */
+    public static final long MAX_VALUE = (1L << 44) - 1;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKET_COUNT;
+    private static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records a value.
+     *
+     * @param nanos the value, in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0L), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    /*
+     * Buckets [0, 64) hold a single value each; then, for a value whose highest set bit is e,
+     * the bucket is chosen among 32 by the 5 bits following it.
+     */
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /*
+     * Returns the highest value held by the given bucket.
+     */
+    static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Takes a snapshot of this histogram. Values recorded concurrently may or may not be
+     * included.
+     *
+     * @return a new {@link HistogramSnapshot}
+     */
+    public HistogramSnapshot snapshot() {
+        long[] snapshotCounts = new long[BUCKET_COUNT];
+        long count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshotCounts[i] = counts.get(i);
+            count += snapshotCounts[i];
+        }
+        return new HistogramSnapshot(count, totalNanos.sum(), maxValue.get(),
+                percentile(snapshotCounts, count, 50.0),
+                percentile(snapshotCounts, count, 90.0),
+                percentile(snapshotCounts, count, 99.0),
+                percentile(snapshotCounts, count, 99.9));
+    }
+
+    private static long percentile(long[] snapshotCounts, long count, double percentile) {
+        if (count == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+        long cumulated = 0L;
+        for (int i = 0; i < snapshotCounts.length; i++) {
+            cumulated += snapshotCounts[i];
+            if (cumulated >= rank) {
+                return highestValueOf(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * @return the sum of the recorded values, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return the highest recorded value, in nanoseconds
+     */
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * Computes a single percentile, without taking a whole {@link #snapshot()}. Values
+     * recorded concurrently may or may not be included.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the highest value of the bucket the percentile falls into, in nanoseconds, or
+     *         0 if no value was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshotCounts = new long[BUCKET_COUNT];
+        long count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshotCounts[i] = counts.get(i);
+            count += snapshotCounts[i];
+        }
+        return percentile(snapshotCounts, count, percentile);
+    }
+}
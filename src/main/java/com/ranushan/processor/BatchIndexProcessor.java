@@ -0,0 +1,135 @@
+package com.ranushan.processor;
+
+import com.ranushan.annotation.Batch;
+import com.ranushan.annotation.Run;
+import com.ranushan.scanner.BatchIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An annotation processor that writes the {@link BatchIndex} of the compiled classes
+ * annotated with {@link Batch}, so that batches can be discovered at runtime without
+ * scanning the class path.
+ * <p>
+ * The processor is registered as a service, so it is picked up automatically by the
+ * compiler when this library is in the class path.
+ *
+ */
+@SupportedAnnotationTypes("com.ranushan.annotation.Batch")
+public class BatchIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> classNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Batch.class)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                TypeElement typeElement = (TypeElement) element;
+                String className = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+                checkRunMethod(typeElement);
+                classNames.add(className);
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void checkRunMethod(TypeElement typeElement) {
+        long runMethodCount = typeElement.getEnclosedElements().stream()
+                .filter(enclosed -> enclosed.getKind() == ElementKind.METHOD)
+                .filter(enclosed -> enclosed.getAnnotation(Run.class) != null)
+                .count();
+
+        if (runMethodCount != 1) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    String.format("Expected exactly one @Run method in the batch class, found %d", runMethodCount),
+                    typeElement);
+        }
+    }
+
+    /*
+     * The index is rewritten even if no batch was compiled, so that the classes that lost
+     * their annotation, or were deleted, are dropped from the index of a previous compilation.
+     * A module without any batch, and without a previous index, does not get an index.
+     */
+    private void writeIndex() {
+        Optional<Set<String>> previousClassNames = readPreviousIndex();
+        if (classNames.isEmpty() && previousClassNames.isEmpty()) {
+            return;
+        }
+        Set<String> indexedClassNames = new TreeSet<>(classNames);
+        previousClassNames.ifPresent(indexedClassNames::addAll);
+        try {
+            FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", BatchIndex.LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(BatchIndex.COMMENT + " Generated by " + getClass().getName() + '\n');
+                for (String className : indexedClassNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        }
+        catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write the batch index: " + exception.getMessage());
+        }
+    }
+
+    /*
+     * On an incremental compilation, only the recompiled classes are processed: the batches
+     * indexed by a previous compilation are kept, as long as they still exist and are still
+     * annotated. Returns empty if there is no previous index.
+     */
+    private Optional<Set<String>> readPreviousIndex() {
+        Set<String> previousClassNames = new TreeSet<>();
+        try {
+            FileObject resource = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", BatchIndex.LOCATION);
+            try (InputStream inputStream = resource.openInputStream()) {
+                previousClassNames.addAll(BatchIndex.read(inputStream));
+            }
+        }
+        catch (FileNotFoundException | NoSuchFileException exception) {
+            return Optional.empty();
+        }
+        catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to read the previous batch index: " + exception.getMessage());
+            return Optional.empty();
+        }
+        Elements elements = processingEnv.getElementUtils();
+        previousClassNames.removeIf(className -> {
+            TypeElement typeElement = elements.getTypeElement(className.replace('$', '.'));
+            return typeElement == null || typeElement.getAnnotation(Batch.class) == null;
+        });
+        return Optional.of(previousClassNames);
+    }
+}
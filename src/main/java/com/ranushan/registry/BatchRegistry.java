@@ -0,0 +1,224 @@
+package com.ranushan.registry;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.domain.BatchType;
+import com.ranushan.runner.AbstractBatch;
+import com.ranushan.runner.BatchStateListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A thread-safe registry of managed batches.
+ * <p>
+ * Batches are stored in a {@link ConcurrentHashMap} for O(1) lookup by name, along with a
+ * sorted view for listing, and secondary indexes by {@link BatchType}, by
+ * {@link AbstractBatch.State} and by tag. All read operations are lock-free and return
+ * weakly consistent views, which can be safely iterated while batches are being added,
+ * removed or transitioning between states.
+ *
+ */
+public class BatchRegistry {
+
+    private final ConcurrentMap<String, IndexedBatch> batchesByName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, AbstractBatch> sortedBatches = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, BatchConfiguration> configurationsByClass = new ConcurrentSkipListMap<>();
+
+    private final Map<BatchType, Set<AbstractBatch>> batchesByType = new EnumMap<>(BatchType.class);
+    private final Map<AbstractBatch.State, Set<AbstractBatch>> batchesByState = new EnumMap<>(AbstractBatch.State.class);
+    private final ConcurrentMap<String, Set<AbstractBatch>> batchesByTag = new ConcurrentHashMap<>();
+
+    private final BatchStateListener stateIndexer = (batch, previous, current) -> reindexState(batch);
+
+    /**
+     * Creates an empty registry.
+     */
+    public BatchRegistry() {
+        for (BatchType type : BatchType.values()) {
+            batchesByType.put(type, ConcurrentHashMap.newKeySet());
+        }
+        for (AbstractBatch.State state : AbstractBatch.State.values()) {
+            batchesByState.put(state, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /*
+     * A registered batch along with the state under which it is currently indexed.
+     */
+    private static final class IndexedBatch {
+        private final AbstractBatch batch;
+        private AbstractBatch.State indexedState;
+
+        private IndexedBatch(AbstractBatch batch) {
+            this.batch = batch;
+        }
+    }
+
+    /**
+     * Registers the given batch, replacing any batch previously registered with the same
+     * name.
+     *
+     * @param batch the batch to be registered; not null
+     * @return the batch previously registered with the same name, or {@link Optional#empty()}
+     */
+    public Optional<AbstractBatch> register(AbstractBatch batch) {
+        Objects.requireNonNull(batch, "The batch must not be null");
+        BatchConfiguration configuration = batch.getConfiguration();
+        IndexedBatch indexedBatch = new IndexedBatch(batch);
+
+        IndexedBatch replaced = batchesByName.put(batch.getName(), indexedBatch);
+        if (replaced != null) {
+            removeFromIndexes(replaced);
+        }
+        sortedBatches.put(batch.getName(), batch);
+        configurationsByClass.put(configuration.getClassName(), configuration);
+
+        batchesByType.get(batch.getType()).add(batch);
+        for (String tag : configuration.getTags()) {
+            batchesByTag.computeIfAbsent(tag, key -> ConcurrentHashMap.newKeySet()).add(batch);
+        }
+        batch.addStateListener(stateIndexer);
+        reindexState(batch, indexedBatch);
+
+        return Optional.ofNullable(replaced).map(previous -> previous.batch);
+    }
+
+    /**
+     * Unregisters the batch with the given name. Its configuration remains available through
+     * {@link #findConfigurationByClassName(String)}.
+     *
+     * @param name the batch name
+     * @return the batch that was removed, or {@link Optional#empty()} if not found
+     */
+    public Optional<AbstractBatch> unregister(String name) {
+        IndexedBatch removed = batchesByName.remove(name);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        sortedBatches.remove(name, removed.batch);
+        removeFromIndexes(removed);
+        return Optional.of(removed.batch);
+    }
+
+    private void removeFromIndexes(IndexedBatch indexedBatch) {
+        AbstractBatch batch = indexedBatch.batch;
+        batch.removeStateListener(stateIndexer);
+        batchesByType.get(batch.getType()).remove(batch);
+        for (String tag : batch.getConfiguration().getTags()) {
+            Set<AbstractBatch> tagged = batchesByTag.get(tag);
+            if (tagged != null) {
+                tagged.remove(batch);
+            }
+        }
+        synchronized (indexedBatch) {
+            if (indexedBatch.indexedState != null) {
+                batchesByState.get(indexedBatch.indexedState).remove(batch);
+                indexedBatch.indexedState = null;
+            }
+        }
+    }
+
+    private void reindexState(AbstractBatch batch) {
+        IndexedBatch indexedBatch = batchesByName.get(batch.getName());
+        if (indexedBatch != null && indexedBatch.batch == batch) {
+            reindexState(batch, indexedBatch);
+        }
+    }
+
+    /*
+     * Transitions may be notified concurrently and out of order, so the current state is
+     * re-read under the lock of the entry: the last notification always wins.
+     */
+    private void reindexState(AbstractBatch batch, IndexedBatch indexedBatch) {
+        synchronized (indexedBatch) {
+            AbstractBatch.State state = batch.getState();
+            if (state != indexedBatch.indexedState && batchesByName.get(batch.getName()) == indexedBatch) {
+                if (indexedBatch.indexedState != null) {
+                    batchesByState.get(indexedBatch.indexedState).remove(batch);
+                }
+                batchesByState.get(state).add(batch);
+                indexedBatch.indexedState = state;
+            }
+        }
+    }
+
+    /**
+     * @param name the batch name
+     * @return the batch registered with the given name, or {@link Optional#empty()}
+     */
+    public Optional<AbstractBatch> findByName(String name) {
+        IndexedBatch indexedBatch = batchesByName.get(name);
+        return indexedBatch == null ? Optional.empty() : Optional.of(indexedBatch.batch);
+    }
+
+    /**
+     * @param className the batch class name
+     * @return the configuration of the batch class, or {@link Optional#empty()}
+     */
+    public Optional<BatchConfiguration> findConfigurationByClassName(String className) {
+        return Optional.ofNullable(configurationsByClass.get(className));
+    }
+
+    /**
+     * @param className the batch class name
+     * @return {@code true} if a batch of the given class was ever registered
+     */
+    public boolean containsClassName(String className) {
+        return configurationsByClass.containsKey(className);
+    }
+
+    /**
+     * @return an unmodifiable view of all registered batches, sorted by name
+     */
+    public Collection<AbstractBatch> getBatches() {
+        return Collections.unmodifiableCollection(sortedBatches.values());
+    }
+
+    /**
+     * @return an unmodifiable view of the configurations of all registered batch classes,
+     *         sorted by class name
+     */
+    public Collection<BatchConfiguration> getConfigurations() {
+        return Collections.unmodifiableCollection(configurationsByClass.values());
+    }
+
+    /**
+     * @param type the batch type
+     * @return an unmodifiable view of the registered batches of the given type
+     */
+    public Collection<AbstractBatch> getBatchesByType(BatchType type) {
+        return Collections.unmodifiableSet(batchesByType.get(type));
+    }
+
+    /**
+     * @param state the batch state
+     * @return an unmodifiable view of the registered batches currently in the given state
+     */
+    public Collection<AbstractBatch> getBatchesByState(AbstractBatch.State state) {
+        return Collections.unmodifiableSet(batchesByState.get(state));
+    }
+
+    /**
+     * @param tag the tag
+     * @return an unmodifiable view of the registered batches with the given tag
+     */
+    public Collection<AbstractBatch> getBatchesByTag(String tag) {
+        Set<AbstractBatch> tagged = batchesByTag.get(tag);
+        return tagged == null ? Collections.emptySet() : Collections.unmodifiableSet(tagged);
+    }
+
+    /**
+     * @return the number of registered batches
+     */
+    public int size() {
+        return batchesByName.size();
+    }
+}
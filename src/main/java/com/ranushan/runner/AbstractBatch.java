@@ -1,15 +1,35 @@
 package com.ranushan.runner;
 
+import com.ranushan.cluster.ClusterLock;
+import com.ranushan.cluster.ClusterLockProvider;
 import com.ranushan.configuration.BatchConfiguration;
 import com.ranushan.configuration.ConfigurationHolder;
 import com.ranushan.domain.BatchType;
+import com.ranushan.domain.ExecutionMode;
+import com.ranushan.domain.SchedulingPolicy;
+import com.ranushan.journal.ExecutionJournal;
+import com.ranushan.journal.RunOutcome;
+import com.ranushan.metrics.BatchMetrics;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.scheduler.ScheduledTrigger;
 import com.ranushan.util.DateUtils;
+import com.ranushan.util.JsonWriter;
+import com.ranushan.util.StringUtils;
+import com.ranushan.util.TimeInterval;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A common interface for all managed batches
@@ -19,40 +39,126 @@ import java.util.Date;
 public abstract class AbstractBatch implements Runnable {
     public enum State {
         SET, STARTED, RUNNING, STOPPED, ERROR;
+
+        private static final State[] VALUES = values();
     }
 
     protected static final String MSG_BATCH_ALREADY_STARTED = "Batch already started";
     protected static final String MSG_BATCH_ALREADY_STOPPED = "Batch already stopped";
     protected static final String MSG_BATCH_ALREADY_RUNNING = "Batch task already in execution";
 
+    /**
+     * The value returned by {@link #computeNextFireTime(long)} when there is no future
+     * execution.
+     */
+    protected static final long NO_FIRE_TIME = -1L;
+
+    /**
+     * The maximum number of missed executions counted at once, which bounds the time spent
+     * computing fire times after a long downtime.
+     */
+    protected static final long MAX_COUNTED_MISFIRES = 100_000L;
+
     @Getter final BatchConfiguration configuration;
     @Getter final ConfigurationHolder configurationHolder;
+    @Getter(AccessLevel.PROTECTED) private final BatchScheduler scheduler;
+    @Getter private final ExecutionMode executionMode;
+    @Getter private final SchedulingPolicy schedulingPolicy;
+
+    /*
+     * The maximum duration of an execution, or 0 if executions are not limited in time
+     */
+    private final long timeoutMillis;
+
+    /*
+     * The identifier of this batch in the execution journal
+     */
+    private final long journalId;
+
+    /*
+     * The trigger currently registered for this batch in the shared scheduler, if any
+     */
+    private volatile ScheduledTrigger trigger;
+
+    /*
+     * The intended time of the execution planned by the current trigger, in milliseconds
+     * since the epoch, which may differ from the actual time the trigger fires
+     */
+    private volatile long scheduledFireTime = NO_FIRE_TIME;
 
-    private State previousState;
-    private State currentState;
+    /*
+     * The number of missed executions still to be replayed after the current one, or -1 if
+     * this batch is not catching up on missed executions
+     */
+    private volatile int replayBudget = -1;
+
+    /*
+     * Whether the executions missed before a start may be replayed, cleared by
+     * startOnSchedule() for the duration of the start, guarded by the change lock
+     */
+    private boolean replayOnStart = true;
+
+    private final BatchMetrics metrics = new BatchMetrics();
+    private volatile long lastRunDurationNanos;
+    private volatile RunOutcome lastRunOutcome;
+
+    /*
+     * The serialized status of this batch, valid as long as its version matches the current
+     * status version, which is incremented whenever any field of the status changes
+     */
+    private record CachedStatus(int version, String json) {
+    }
+
+    private final AtomicInteger statusVersion = new AtomicInteger();
+    private volatile CachedStatus cachedStatus;
+
+    /*
+     * A single word holding both the previous and the current states, so that they are
+     * always read and updated together. While the task is running, the current state is
+     * RUNNING and the previous state is the one to be resumed when the task finishes.
+     */
+    private final AtomicInteger stateWord = new AtomicInteger(pack(State.SET, State.SET));
 
     /*
      * Stores the date & time this batch was started (schedule)
      */
-    protected Date startDate;
+    protected volatile Date startDate;
 
     /*
      * The date & time when this batch task was last executed
      */
-    protected Date lastRun;
+    protected volatile Date lastRun;
 
     /*
-     * This object is used to control access to the task execution independently of other
-     * operations.
+     * This object serializes the start and stop operations, which have side effects on the
+     * scheduler. The task execution itself is guarded by the state word only.
      */
-    private final Object runLock = new Object();
     private final Object changeLock = new Object();
 
-    private boolean stopRequested = false;
+    private volatile boolean stopRequested = false;
 
-    protected AbstractBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder) {
+    /*
+     * The thread executing the task and the context of the execution, if running, guarded
+     * by the lock so that an interruption never outlives the execution it was aimed at
+     */
+    private final Object taskThreadLock = new Object();
+    private Thread taskThread;
+    private RunContext runContext;
+
+    private final List<BatchStateListener> stateListeners = new CopyOnWriteArrayList<>();
+
+    protected AbstractBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder,
+                            BatchScheduler scheduler) {
         this.configuration = configuration;
         this.configurationHolder = configurationHolder;
+        this.scheduler = scheduler;
+        this.executionMode = configurationHolder.getEffectiveExecutionMode(configuration);
+        SchedulingPolicy policy = configuration.getSchedulingPolicy();
+        this.schedulingPolicy = policy == null || policy == SchedulingPolicy.DEFAULT
+                ? configuration.getType().getDefaultSchedulingPolicy() : policy;
+        this.journalId = ExecutionJournal.batchId(configuration.getName());
+        this.timeoutMillis = StringUtils.isEmpty(configuration.getTimeout()) ? 0L
+                : TimeInterval.of(configuration.getTimeout()).toMillis();
     }
 
     /**
@@ -69,16 +175,133 @@ public abstract class AbstractBatch implements Runnable {
         return configuration.getType();
     }
 
+    /**
+     * Registers a listener to be notified of the state transitions of this batch.
+     *
+     * @param listener the {@link BatchStateListener} to be added; not null
+     */
+    public void addStateListener(BatchStateListener listener) {
+        stateListeners.add(Objects.requireNonNull(listener, "The listener must not be null"));
+    }
+
+    /**
+     * Unregisters a listener previously added to this batch.
+     *
+     * @param listener the {@link BatchStateListener} to be removed
+     */
+    public void removeStateListener(BatchStateListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    private void fireStateChanged(int oldWord, int newWord) {
+        State previous = current(oldWord);
+        State current = current(newWord);
+        if (previous == current) {
+            // While the task is running, starting or stopping only changes the timer state
+            previous = lifecycle(oldWord);
+            current = lifecycle(newWord);
+        }
+        if (previous != current) {
+            invalidateStatus();
+            for (BatchStateListener listener : stateListeners) {
+                listener.stateChanged(this, previous, current);
+            }
+        }
+    }
+
+    private static int pack(State previous, State current) {
+        return previous.ordinal() << 8 | current.ordinal();
+    }
+
+    private static State previous(int word) {
+        return State.VALUES[word >>> 8];
+    }
+
+    private static State current(int word) {
+        return State.VALUES[word & 0xFF];
+    }
+
+    /*
+     * Returns the state of the batch timer, regardless of whether its task is running.
+     */
+    private static State lifecycle(int word) {
+        State current = current(word);
+        return current == State.RUNNING ? previous(word) : current;
+    }
+
+    /**
+     * Unconditionally sets the current state of this batch, keeping the former current state
+     * as the previous one.
+     *
+     * @param currentState the new state
+     */
     protected void setState(State currentState) {
-        previousState = this.currentState;
-        this.currentState = currentState;
+        int word;
+        int newWord;
+        do {
+            word = stateWord.get();
+            newWord = pack(current(word), currentState);
+        }
+        while (!stateWord.compareAndSet(word, newWord));
+        fireStateChanged(word, newWord);
+    }
+
+    /*
+     * Atomically moves the batch timer to the given state. If the task is running, the new
+     * state is recorded as the one to be resumed when the task finishes.
+     */
+    private void setLifecycleState(State lifecycleState) {
+        int word;
+        int newWord;
+        do {
+            word = stateWord.get();
+            newWord = current(word) == State.RUNNING ? pack(lifecycleState, State.RUNNING)
+                    : pack(current(word), lifecycleState);
+        }
+        while (!stateWord.compareAndSet(word, newWord));
+        fireStateChanged(word, newWord);
+    }
+
+    /*
+     * Atomically moves this batch to RUNNING, unless it is already running.
+     */
+    private boolean tryEnterRunning() {
+        int word;
+        int newWord;
+        do {
+            word = stateWord.get();
+            if (current(word) == State.RUNNING) {
+                return false;
+            }
+            newWord = pack(current(word), State.RUNNING);
+        }
+        while (!stateWord.compareAndSet(word, newWord));
+        fireStateChanged(word, newWord);
+        return true;
+    }
+
+    /*
+     * Atomically resumes the state this batch had before running its task.
+     */
+    private void exitRunning() {
+        int word;
+        int newWord;
+        do {
+            word = stateWord.get();
+            if (current(word) != State.RUNNING) {
+                return;
+            }
+            newWord = pack(State.RUNNING, previous(word));
+        }
+        while (!stateWord.compareAndSet(word, newWord));
+        fireStateChanged(word, newWord);
     }
 
     /**
      * @return This batch's current state
      */
     public State getState() {
-        return currentState;
+        return current(stateWord.get());
     }
 
     /**
@@ -86,7 +309,7 @@ public abstract class AbstractBatch implements Runnable {
      *         otherwise {@code false}.
      */
     public boolean isStarted() {
-        return currentState == State.STARTED || (currentState == State.RUNNING && previousState == State.STARTED);
+        return lifecycle(stateWord.get()) == State.STARTED;
     }
 
     /**
@@ -94,7 +317,7 @@ public abstract class AbstractBatch implements Runnable {
      *         {@code false}.
      */
     public boolean isRunning() {
-        return currentState == State.RUNNING;
+        return getState() == State.RUNNING;
     }
 
     /**
@@ -102,7 +325,7 @@ public abstract class AbstractBatch implements Runnable {
      *         {@code false}.
      */
     public boolean isStopped() {
-        return currentState == State.STOPPED;
+        return lifecycle(stateWord.get()) == State.STOPPED;
     }
 
     /**
@@ -123,7 +346,44 @@ public abstract class AbstractBatch implements Runnable {
      * Starts this batch timer considering the interval settled in this object for execution.
      */
     public final void start() {
-        switch (getState()) {
+        checkStartable();
+        synchronized (changeLock) {
+            checkStartable();
+            initialize();
+            onStart();
+            setLifecycleState(State.STARTED);
+            startDate = new Date();
+            invalidateStatus();
+        }
+    }
+
+    /**
+     * Starts this batch like {@link #start()}, but on its regular schedule only: the
+     * executions missed before now are not replayed, whatever the misfire policy. This is
+     * meant for a batch taken over from another node, which performed (or missed) those
+     * executions, and whose last fire time may not be known to this node.
+     */
+    public final void startOnSchedule() {
+        synchronized (changeLock) {
+            replayOnStart = false;
+            try {
+                start();
+            } finally {
+                replayOnStart = true;
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if this batch is being started by {@link #startOnSchedule()},
+     *         in which case {@link #onStart()} must not replay the missed executions
+     */
+    protected boolean isReplayOnStart() {
+        return replayOnStart;
+    }
+
+    private void checkStartable() {
+        switch (lifecycle(stateWord.get())) {
             case STARTED:
                 throw new IllegalStateException(MSG_BATCH_ALREADY_STARTED);
             case STOPPED:
@@ -131,18 +391,19 @@ public abstract class AbstractBatch implements Runnable {
             default:
                 break;
         }
-        synchronized (changeLock) {
-            if (isStarted()) {
-                throw new IllegalStateException(MSG_BATCH_ALREADY_STARTED);
-            }
-            onStart();
-            setState(State.STARTED);
-            startDate = new Date();
-        }
     }
 
     public abstract void onStart();
 
+    /**
+     * Prepares the resources that were deferred at construction, if any. This method is
+     * called before this batch is started or run manually, and must be idempotent.
+     *
+     * @see ConfigurationHolder#isLazyInstantiation()
+     */
+    protected void initialize() {
+    }
+
     /**
      * Suspends this batch.
      */
@@ -156,15 +417,208 @@ public abstract class AbstractBatch implements Runnable {
                 throw new IllegalStateException(MSG_BATCH_ALREADY_STOPPED);
             }
             log.info("Stopping batch: {}...", getName());
+            cancelTrigger();
+            setScheduledFireTime(NO_FIRE_TIME);
+            replayBudget = -1;
             onStop();
-            setState(State.STOPPED);
+            setLifecycleState(State.STOPPED);
             startDate = null;
+            invalidateStatus();
             log.info("Batch {} stopped successfully.", getName());
         }
     }
 
     public abstract void onStop();
 
+    /**
+     * Registers this batch in the shared scheduler to run once after the given delay,
+     * replacing the trigger previously registered by this batch, if any.
+     *
+     * @param delayMillis the time from now to delay execution, in milliseconds
+     */
+    protected void scheduleOnce(long delayMillis) {
+        trigger = scheduler.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Plans the first execution of this batch at the given time. Subsequent executions are
+     * planned after each execution according to the {@link SchedulingPolicy} of this batch,
+     * using {@link #computeNextFireTime(long)}.
+     *
+     * @param fireTime the time of the first execution, in milliseconds since the epoch
+     */
+    protected void scheduleFirstExecution(long fireTime) {
+        setScheduledFireTime(fireTime);
+        scheduleOnce(Math.max(0L, fireTime - System.currentTimeMillis()));
+    }
+
+    /**
+     * Plans the replay of executions missed in the past, starting immediately with the one
+     * intended at the given time. Once the given number of replays is reached, the remaining
+     * missed executions are skipped and counted as misfires, and this batch resumes its
+     * regular schedule.
+     *
+     * @param firstMissedFireTime the intended time of the first missed execution, in
+     *                            milliseconds since the epoch
+     * @param replays             the maximum number of executions to be replayed; must be
+     *                            positive
+     */
+    protected void scheduleReplay(long firstMissedFireTime, int replays) {
+        replayBudget = replays - 1;
+        setScheduledFireTime(firstMissedFireTime);
+        scheduleOnce(0L);
+    }
+
+    /**
+     * Counts the executions planned in the given time interval.
+     *
+     * @param from  the start of the interval (exclusive), in milliseconds since the epoch
+     * @param to    the end of the interval (inclusive), in milliseconds since the epoch
+     * @param limit the maximum count
+     * @return the number of executions in the interval, up to the given limit
+     */
+    protected long countFireTimes(long from, long to, long limit) {
+        long count = 0L;
+        long next = computeNextFireTime(from);
+        while (next != NO_FIRE_TIME && next <= to && count < limit) {
+            count++;
+            next = computeNextFireTime(next);
+        }
+        return count;
+    }
+
+    /**
+     * Registers the given number of executions as misfires.
+     *
+     * @param count the number of missed executions
+     */
+    protected void recordMisfires(long count) {
+        if (count > 0) {
+            metrics.recordMisfires(count);
+            invalidateStatus();
+            log.warn("{} execution(s) of batch {} misfired", count, getName());
+        }
+    }
+
+    /**
+     * Computes the time of the first execution planned strictly after the given time.
+     *
+     * @param after a time, in milliseconds since the epoch
+     * @return the time of the next execution, in milliseconds since the epoch, or
+     *         {@link #NO_FIRE_TIME} if there is no future execution
+     */
+    protected abstract long computeNextFireTime(long after);
+
+    /*
+     * Plans the execution that follows the one that has just completed (or been skipped,
+     * if the task was still running when the trigger fired).
+     */
+    private void scheduleNextExecution(boolean skipped) {
+        if (stopRequested) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long previous = scheduledFireTime;
+        int replays = replayBudget;
+        SchedulingPolicy policy = skipped && schedulingPolicy == SchedulingPolicy.FIXED_RATE
+                ? SchedulingPolicy.FIXED_RATE_COALESCE : schedulingPolicy;
+
+        boolean fromNow = previous == NO_FIRE_TIME || (policy == SchedulingPolicy.FIXED_DELAY && replays < 0);
+        long next = computeNextFireTime(fromNow ? now : previous);
+        if (next != NO_FIRE_TIME && next <= now && replays >= 0) {
+            if (replays > 0) {
+                replayBudget = replays - 1;
+            }
+            else {
+                next = skipMissedExecutions(next, now);
+            }
+        }
+        else if (policy == SchedulingPolicy.FIXED_RATE_COALESCE && next != NO_FIRE_TIME && next <= now) {
+            long missed = 0L;
+            long following;
+            while ((following = computeNextFireTime(next)) != NO_FIRE_TIME && following <= now) {
+                next = following;
+                missed++;
+            }
+            recordMisfires(missed);
+        }
+        if (next == NO_FIRE_TIME || next > now) {
+            replayBudget = -1;
+        }
+        if (next == NO_FIRE_TIME) {
+            log.warn("No future execution for batch: {}", getName());
+            setScheduledFireTime(NO_FIRE_TIME);
+            return;
+        }
+        setScheduledFireTime(next);
+        scheduleOnce(Math.max(0L, next - now));
+        if (log.isDebugEnabled()) {
+            log.debug("Next execution of {} will be at: {}", getName(), DateUtils.formatDate(new Date(next)));
+        }
+    }
+
+    /*
+     * Skips the executions planned up to now, counting them as misfires, and returns the
+     * first execution planned after now.
+     */
+    private long skipMissedExecutions(long next, long now) {
+        recordMisfires(1L + countFireTimes(next, now, MAX_COUNTED_MISFIRES));
+        return computeNextFireTime(now);
+    }
+
+    /**
+     * @return the intended time of the next planned execution, in milliseconds since the
+     *         epoch, or {@link #NO_FIRE_TIME} if no execution is planned
+     */
+    protected long getScheduledFireTime() {
+        return scheduledFireTime;
+    }
+
+    private void setScheduledFireTime(long fireTime) {
+        scheduledFireTime = fireTime;
+        invalidateStatus();
+    }
+
+    /**
+     * @return the number of scheduled executions of this batch that were skipped, either
+     *         because the task was still running, or because they were coalesced after
+     *         firing late
+     */
+    public long getMisfireCount() {
+        return metrics.getMisfires();
+    }
+
+    /**
+     * @return the duration of the last completed execution of the task, in nanoseconds, or 0
+     *         if the task never ran
+     */
+    public long getLastRunDurationNanos() {
+        return lastRunDurationNanos;
+    }
+
+    /**
+     * @return the outcome of the last completed execution of the task, or {@code null} if
+     *         the task never ran
+     */
+    public RunOutcome getLastRunOutcome() {
+        return lastRunOutcome;
+    }
+
+    /**
+     * @return the runtime statistics of this batch
+     */
+    public BatchMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void cancelTrigger() {
+        ScheduledTrigger currentTrigger = trigger;
+        if (currentTrigger != null) {
+            currentTrigger.cancel();
+            trigger = null;
+        }
+    }
+
     /**
      * The method called by the system to execute the batch task automatically.
      */
@@ -173,29 +627,286 @@ public abstract class AbstractBatch implements Runnable {
         run(false);
     }
 
+    /**
+     * Executes the batch task, either on the calling thread or on a virtual thread, depending
+     * on the {@link ExecutionMode} of this batch.
+     *
+     * @param manualFlag {@code true} if the execution was requested manually, in which case an
+     *                   {@link IllegalStateException} is thrown if the task is already running
+     */
     public void run(boolean manualFlag) {
         if (stopRequested && !manualFlag) return;
-        if (isRunning()) {
-            if (manualFlag) {
-                throw new IllegalStateException(MSG_BATCH_ALREADY_RUNNING);
-            }
-            log.info(MSG_BATCH_ALREADY_RUNNING);
+        if (manualFlag) {
+            initialize();
+        }
+        ClusterLockProvider lockProvider = configurationHolder.getClusterLockProvider();
+        if (!manualFlag && lockProvider != null) {
+            acquireClusterLock(lockProvider);
+            return;
+        }
+        if (!tryEnterRunning()) {
+            rejectOverlappingRun(manualFlag);
+            return;
+        }
+        lastRun = new Date();
+        invalidateStatus();
+        if (executionMode == ExecutionMode.VIRTUAL_THREAD) {
+            dispatchTask(!manualFlag);
         } else {
-            synchronized (runLock) {
-                setState(State.RUNNING);
-                lastRun = new Date();
-                log.debug("Running batch...");
-                try {
-                    var start = Instant.now();
-                    runTask();
-                    log.debug("Batch finished in {}", Duration.between(start, Instant.now()));
-                    afterRun();
-                } catch (Exception exception) {
-                    log.error("Batch finished with an exception", exception);
-                } finally {
-                    setState(previousState);
+            executeTask(!manualFlag, null);
+        }
+    }
+
+    /*
+     * A scheduled execution of a clustered batch only proceeds once the lock of its fire
+     * time is granted. The scheduler thread returns right after sending the request, and the
+     * task then runs on a task thread of the scheduler.
+     */
+    private void acquireClusterLock(ClusterLockProvider lockProvider) {
+        long fireTime = scheduledFireTime;
+        CompletableFuture<Optional<ClusterLock>> acquisition = lockProvider.tryAcquire(getName(), fireTime,
+                configurationHolder.getClusterLockLeaseDuration());
+        acquisition.copy()
+                   .orTimeout(configurationHolder.getClusterLockTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                   .whenComplete((clusterLock, error) -> {
+                       if (error != null) {
+                           // A lock granted after the timeout is given back right away
+                           acquisition.thenAccept(lateLock -> lateLock.ifPresent(ClusterLock::release));
+                           skipClusterExecution(fireTime, error);
+                       } else if (clusterLock.isEmpty()) {
+                           skipClusterExecution(fireTime, null);
+                       } else {
+                           dispatchClusterExecution(clusterLock.get());
+                       }
+                   });
+    }
+
+    private void dispatchClusterExecution(ClusterLock clusterLock) {
+        try {
+            scheduler.dispatch(() -> {
+                if (stopRequested) {
+                    clusterLock.release();
+                } else if (!tryEnterRunning()) {
+                    clusterLock.release();
+                    rejectOverlappingRun(false);
+                } else {
+                    lastRun = new Date();
+                    invalidateStatus();
+                    executeTask(true, clusterLock);
                 }
+            });
+        } catch (RejectedExecutionException exception) {
+            log.error("Batch task rejected by the scheduler", exception);
+            clusterLock.release();
+        }
+    }
+
+    /*
+     * The execution is either taken by another node, in which case it counts as done, or
+     * lost because the lock could not be checked in time, in which case it is a misfire.
+     */
+    private void skipClusterExecution(long fireTime, Throwable error) {
+        if (error == null) {
+            log.debug("Execution of batch {} taken by another node", getName());
+            afterScheduledExecution(fireTime);
+        } else {
+            log.warn("Cluster lock of batch {} unavailable, execution skipped", getName(), error);
+            recordMisfires(1L);
+        }
+        long now = System.currentTimeMillis();
+        journal(fireTime, now, now, 0L, RunOutcome.SKIPPED, null);
+        scheduleNextExecution(false);
+    }
+
+    private void rejectOverlappingRun(boolean manualFlag) {
+        if (manualFlag) {
+            throw new IllegalStateException(MSG_BATCH_ALREADY_RUNNING);
+        }
+        log.info(MSG_BATCH_ALREADY_RUNNING);
+        long now = System.currentTimeMillis();
+        journal(scheduledFireTime, now, now, 0L, RunOutcome.SKIPPED, null);
+        metrics.recordSkippedOverlap();
+        recordMisfires(1L);
+        scheduleNextExecution(true);
+    }
+
+    private void dispatchTask(boolean scheduled) {
+        try {
+            scheduler.dispatch(() -> executeTask(scheduled, null));
+        } catch (RejectedExecutionException exception) {
+            log.error("Batch task rejected by the scheduler", exception);
+            exitRunning();
+        }
+    }
+
+    private void executeTask(boolean scheduled, ClusterLock clusterLock) {
+        log.debug("Running batch...");
+        long fireTime = scheduledFireTime;
+        long startTime = System.currentTimeMillis();
+        long start = System.nanoTime();
+        if (scheduled && fireTime != NO_FIRE_TIME) {
+            metrics.recordSchedulingLag(TimeUnit.MILLISECONDS.toNanos(startTime - fireTime));
+        }
+        Throwable failure = null;
+        RunContext context = new RunContext(getName(), timeoutMillis == 0L ? null
+                : Instant.ofEpochMilli(startTime + timeoutMillis));
+        attachTaskThread(context);
+        CompletableFuture<Void> completion = watchTimeout(context);
+        try {
+            runTask();
+            log.debug("Batch finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+            afterRun();
+        } catch (Throwable throwable) {
+            failure = throwable;
+            if (!context.timedOut) {
+                log.error("Batch finished with an exception", throwable);
+            }
+        } finally {
+            long duration = System.nanoTime() - start;
+            lastRunDurationNanos = duration;
+            if (completion != null) {
+                completion.complete(null);
             }
+            RunOutcome outcome = failure == null ? RunOutcome.SUCCESS : RunOutcome.FAILURE;
+            if (context.timedOut) {
+                log.error("Batch {} timed out after {} ms", getName(), timeoutMillis);
+                metrics.recordTimeout();
+                outcome = RunOutcome.TIMED_OUT;
+            }
+            lastRunOutcome = outcome;
+            detachTaskThread();
+            exitRunning();
+            if (clusterLock != null) {
+                clusterLock.release();
+            }
+            metrics.recordRun(duration, outcome != RunOutcome.SUCCESS);
+            journal(scheduled ? fireTime : ExecutionJournal.MANUAL_RUN, startTime, System.currentTimeMillis(),
+                    duration, outcome, failure);
+            if (scheduled) {
+                afterScheduledExecution(fireTime);
+                scheduleNextExecution(false);
+            }
+        }
+        // An Error is recorded as a failure like any other, but not swallowed
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    private void attachTaskThread(RunContext context) {
+        synchronized (taskThreadLock) {
+            taskThread = Thread.currentThread();
+            runContext = context;
+        }
+    }
+
+    /*
+     * The thread may be pooled, so a pending interruption must not leak into its next task.
+     */
+    private void detachTaskThread() {
+        synchronized (taskThreadLock) {
+            taskThread = null;
+            runContext = null;
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Interrupts the thread executing the task of this batch, if the task is running. The
+     * task is expected to react to the interruption (e.g. blocking calls throwing
+     * {@link InterruptedException}, or loops checking {@link Thread#isInterrupted()}).
+     *
+     * @return {@code true} if a running task was interrupted
+     */
+    public boolean interruptTask() {
+        synchronized (taskThreadLock) {
+            if (taskThread == null) {
+                return false;
+            }
+            log.warn("Interrupting the task of batch {}", getName());
+            runContext.cancelled = true;
+            taskThread.interrupt();
+            return true;
+        }
+    }
+
+    /*
+     * The timeout must fire even if every scheduler thread is blocked by a task, so it is
+     * timed by the delay thread of CompletableFuture rather than by the scheduler. Completing
+     * the returned future once the task returns cancels the timeout.
+     */
+    private CompletableFuture<Void> watchTimeout(RunContext context) {
+        if (timeoutMillis == 0L) {
+            return null;
+        }
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        completion.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                  .whenComplete((ignored, error) -> {
+                      if (error != null) {
+                          timeOut(context);
+                      }
+                  });
+        return completion;
+    }
+
+    private void timeOut(RunContext context) {
+        synchronized (taskThreadLock) {
+            if (runContext != context) {
+                return;
+            }
+            log.warn("Batch {} exceeded its timeout of {} ms, interrupting its task", getName(), timeoutMillis);
+            context.timedOut = true;
+            context.cancelled = true;
+            taskThread.interrupt();
+        }
+    }
+
+    /**
+     * Returns the context of the running execution, to be passed to the task. This method
+     * is only meaningful when called from {@link #runTask()}.
+     *
+     * @return the context of the running execution, or {@code null} if the task is not
+     *         running
+     */
+    protected BatchContext getRunContext() {
+        synchronized (taskThreadLock) {
+            return runContext;
+        }
+    }
+
+    private static final class RunContext implements BatchContext {
+        private final String batchName;
+        private final Instant deadline;
+        private volatile boolean cancelled;
+        private volatile boolean timedOut;
+
+        private RunContext(String batchName, Instant deadline) {
+            this.batchName = batchName;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public String getBatchName() {
+            return batchName;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public Optional<Instant> getDeadline() {
+            return Optional.ofNullable(deadline);
+        }
+    }
+
+    private void journal(long fireTime, long startTime, long endTime, long durationNanos, RunOutcome outcome,
+                         Throwable failure) {
+        ExecutionJournal journal = configurationHolder.getExecutionJournal();
+        if (journal != null) {
+            journal.append(journalId, fireTime, startTime, endTime, durationNanos, outcome,
+                    ExecutionJournal.exceptionHash(failure));
         }
     }
 
@@ -210,6 +921,17 @@ public abstract class AbstractBatch implements Runnable {
      */
     protected abstract void afterRun();
 
+    /**
+     * An event fired after each scheduled (i.e. not manual) execution of the batch task,
+     * whether it succeeded or not, and before the next execution is planned. With a
+     * {@link ClusterLockProvider}, it is also fired for the executions taken by another node.
+     *
+     * @param fireTime the intended time of the completed execution, in milliseconds since the
+     *                 epoch
+     */
+    protected void afterScheduledExecution(long fireTime) {
+    }
+
     /**
      * @return {@code true} if a stop request has been sent for this batch
      */
@@ -217,19 +939,51 @@ public abstract class AbstractBatch implements Runnable {
         return stopRequested;
     }
 
-    public abstract String getStatusJson();
+    /**
+     * Returns the status of this batch in JSON format. The serialized form is cached, and only
+     * rebuilt after a state change, a new execution plan or a new misfire.
+     *
+     * @return a string with the current batch status in JSON format
+     */
+    public String getStatusJson() {
+        CachedStatus cached = cachedStatus;
+        int version = statusVersion.get();
+        if (cached != null && cached.version() == version) {
+            return cached.json();
+        }
+        StringBuilder builder = new StringBuilder(512);
+        writeStatus(new JsonWriter(builder));
+        String json = builder.toString();
+        cachedStatus = new CachedStatus(version, json);
+        return json;
+    }
+
+    /**
+     * Discards the cached status of this batch. Subclasses must call this method whenever a
+     * field written by {@link #writeStatusFields(JsonWriter)} changes.
+     */
+    protected void invalidateStatus() {
+        statusVersion.incrementAndGet();
+    }
 
-    protected String getPresetStatusJsonBuilder() {
-        return """
-                {
-                    "name": %s,
-                    "type": %s,
-                    "status": %s,
-                    "startDate": %s,
-                    "lastExecutionStartDate": %s
-                }
-                """.formatted(getName(), getType(), getState(),
-                DateUtils.formatDate(startDate), DateUtils.formatDate(lastRun)
-        );
+    private void writeStatus(JsonWriter writer) {
+        writer.beginObject()
+              .member("name", getName())
+              .member("type", getType())
+              .member("status", getState())
+              .member("schedulingPolicy", schedulingPolicy)
+              .member("misfires", getMisfireCount())
+              .member("startDate", startDate == null ? null : DateUtils.formatDate(startDate))
+              .member("lastExecutionStartDate", lastRun == null ? null : DateUtils.formatDate(lastRun));
+        writeStatusFields(writer);
+        writer.endObject();
     }
+
+    /**
+     * Writes the members of the status specific to this type of batch, inside the JSON
+     * object opened by {@link #getStatusJson()}.
+     *
+     * @param writer the writer of the status
+     */
+    protected abstract void writeStatusFields(JsonWriter writer);
 }
@@ -0,0 +1,36 @@
+package com.ranushan.runner;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * The context of an execution of a batch task, which a method annotated with
+ * {@link com.ranushan.annotation.Run} may accept as its single parameter.
+ * <p>
+ * Long-running tasks should check {@link #isCancelled()} regularly (e.g. between two
+ * items of a loop) and return as soon as it is set, since the execution is then reported
+ * as timed out or interrupted whatever the task does next.
+ *
+ */
+public interface BatchContext {
+
+    /**
+     * @return the name of the running batch
+     */
+    String getBatchName();
+
+    /**
+     * Returns whether this execution was cancelled, either because it exceeded the timeout
+     * of the batch or because the batch is being shut down. The thread running the task is
+     * also interrupted at that time.
+     *
+     * @return {@code true} if the task should stop as soon as possible
+     */
+    boolean isCancelled();
+
+    /**
+     * @return the instant after which this execution is cancelled, or
+     *         {@link Optional#empty()} if the batch has no timeout
+     */
+    Optional<Instant> getDeadline();
+}
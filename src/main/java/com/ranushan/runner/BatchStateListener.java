@@ -0,0 +1,26 @@
+package com.ranushan.runner;
+
+/**
+ * A listener that is notified whenever the state of a batch changes.
+ * <p>
+ * Listeners are invoked synchronously by the thread that performed the transition, which
+ * may be a scheduler thread, so implementations must be fast and must never block.
+ * <p>
+ * A batch started or stopped while its task is running is notified with its former and new
+ * timer states (e.g. {@code STARTED} to {@code STOPPED}), although its current state remains
+ * {@code RUNNING} until the task finishes. The end of the task is then notified as a
+ * transition from {@code RUNNING} to the new timer state.
+ *
+ */
+@FunctionalInterface
+public interface BatchStateListener {
+
+    /**
+     * Invoked after the state of the given batch has changed.
+     *
+     * @param batch    the batch whose state changed
+     * @param previous the former state
+     * @param current  the new state
+     */
+    void stateChanged(AbstractBatch batch, AbstractBatch.State previous, AbstractBatch.State current);
+}
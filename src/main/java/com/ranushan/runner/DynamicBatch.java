@@ -3,12 +3,17 @@ package com.ranushan.runner;
 import com.ranushan.annotation.Run;
 import com.ranushan.configuration.BatchConfiguration;
 import com.ranushan.exception.InvalidClassException;
+import com.ranushan.factory.BatchTargetResolver;
 import com.ranushan.util.AnnotationUtils;
 import com.ranushan.util.ConstructorUtils;
+import com.ranushan.util.MethodHandleUtils;
 import com.ranushan.util.ReflectionUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * An object that prepares and holds the required metadata and infrastructure for the
@@ -22,6 +27,13 @@ public class DynamicBatch {
     private final Method batchTaskMethod;
     private final Object batchInstance;
 
+    /*
+     * A direct invoker of the batch task method, built once at construction, which ignores
+     * the context if the method has no parameter
+     */
+    @Getter(AccessLevel.NONE)
+    private final Consumer<BatchContext> batchTaskInvoker;
+
     /**
      * Validates annotations and prepares all objects for execution.
      *
@@ -30,22 +42,81 @@ public class DynamicBatch {
      *                               class or method not found) occurs
      */
     public DynamicBatch(BatchConfiguration configuration) {
+        this(configuration, null);
+    }
+
+    /**
+     * Validates annotations and prepares all objects for execution, running the instance
+     * provided by the given resolver if any.
+     *
+     * @param configuration  the {@link BatchConfiguration} to be parsed
+     * @param targetResolver the source of the instance to be run, or {@code null} to
+     *                       instantiate the batch class through its default constructor
+     * @throws InvalidClassException if any exception regarding a reflective operation (e.g.:
+     *                               class or method not found) occurs
+     */
+    public DynamicBatch(BatchConfiguration configuration, BatchTargetResolver targetResolver) {
         try {
             String batchClassName = configuration.getClassName();
-            batchClass = Class.forName(batchClassName);
+            batchClass = ReflectionUtils.loadClass(batchClassName);
             batchTaskMethod = AnnotationUtils.getSinglePublicMethodWithAnnotation(Run.class, batchClass,
-                    AnnotationUtils.MethodFilter.NO_PARAMETER);
-            batchInstance = ConstructorUtils.invokeConstructor(batchClass);
+                    AnnotationUtils.MethodFilter.NO_PARAMETER_OR_CONTEXT);
+            batchInstance = resolveInstance(batchClass, targetResolver);
+            batchTaskInvoker = createInvoker(findInvocableMethod(batchClass, batchInstance, batchTaskMethod),
+                    batchInstance);
         }
         catch (ReflectiveOperationException cause) {
             throw new InvalidClassException(cause);
         }
     }
 
+    /**
+     * Finds the instance of a batch class to be run.
+     *
+     * @param batchClass     the batch class
+     * @param targetResolver the source of the instance to be run, or {@code null}
+     * @return the instance provided by the resolver, if any, which may be a proxy of the
+     *         batch class, or a new instance created through the default constructor
+     * @throws ReflectiveOperationException if the batch class cannot be instantiated
+     */
+    public static Object resolveInstance(Class<?> batchClass, BatchTargetResolver targetResolver)
+            throws ReflectiveOperationException {
+        Optional<Object> target = targetResolver == null ? Optional.empty()
+                : targetResolver.resolveTarget(batchClass);
+        return target.isPresent() ? target.get() : ConstructorUtils.invokeConstructor(batchClass);
+    }
+
+    /**
+     * Finds the method to be invoked on an instance resolved by
+     * {@link #resolveInstance(Class, BatchTargetResolver)}. An interface-based proxy is not an
+     * instance of the batch class: the method is then looked up on the proxy class.
+     *
+     * @param batchClass the batch class
+     * @param instance   the instance to be run
+     * @param method     a public method of the batch class
+     * @return the given method, or the same method of the proxy class
+     * @throws NoSuchMethodException if the proxy does not expose the method
+     */
+    public static Method findInvocableMethod(Class<?> batchClass, Object instance, Method method)
+            throws NoSuchMethodException {
+        return batchClass.isInstance(instance) ? method
+                : instance.getClass().getMethod(method.getName(), method.getParameterTypes());
+    }
+
+    private static Consumer<BatchContext> createInvoker(Method method, Object instance) {
+        if (method.getParameterCount() == 0) {
+            Runnable runnable = MethodHandleUtils.toRunnable(method, instance);
+            return context -> runnable.run();
+        }
+        return MethodHandleUtils.toConsumer(method, instance);
+    }
+
     /**
      * Invokes the method annotated as {@code @Run} for the batch.
+     *
+     * @param context the context of the execution, passed to the method if it accepts it
      */
-    public void runBatchTask() {
-        ReflectionUtils.invokeMethod(batchTaskMethod, batchInstance);
+    public void runBatchTask(BatchContext context) {
+        batchTaskInvoker.accept(context);
     }
 }
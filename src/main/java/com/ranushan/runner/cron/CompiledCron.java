@@ -0,0 +1,301 @@
+package com.ranushan.runner.cron;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A Unix Cron expression compiled into one bitset per field (minute, hour, day of month,
+ * month and day of week), which computes the next execution time directly from epoch
+ * milliseconds, without allocating any date object.
+ * <p>
+ * Only numeric fields made of values, ranges, steps and lists are compiled. Expressions
+ * using names (e.g. {@code MON}), special characters other than {@code *}, {@code -},
+ * {@code /} and {@code ,}, or restricting both the day of month and the day of week, are
+ * rejected by {@link #compile(String)} and must be evaluated by cron-utils instead.
+ * Likewise, {@link #nextExecution(long, ZoneId)} returns {@link #UNSUPPORTED} when the next
+ * execution falls after an offset transition of the time zone (e.g. daylight saving time).
+ *
+ */
+public final class CompiledCron {
+
+    /**
+     * The value returned by {@link #nextExecution(long, ZoneId)} when the next execution
+     * cannot be computed by the compiled expression.
+     */
+    public static final long UNSUPPORTED = -1L;
+
+    private static final int FIELD_COUNT = 5;
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int DAYS_0000_TO_1970 = 719_468;
+
+    /*
+     * Searching beyond a full leap-year cycle means the expression never matches (e.g.
+     * "0 0 30 2 *"), which is left to cron-utils.
+     */
+    private static final int MAX_YEARS_AHEAD = 8;
+
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+
+    private volatile OffsetWindow offsetWindow;
+
+    private CompiledCron(long minutes, long hours, long daysOfMonth, long months, long daysOfWeek) {
+        this.minutes = minutes;
+        this.hours = hours;
+        this.daysOfMonth = daysOfMonth;
+        this.months = months;
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    /*
+     * The offset of a time zone, valid for the epoch seconds in [from, until).
+     */
+    private record OffsetWindow(ZoneId zone, long offsetSeconds, long from, long until) {
+        boolean contains(ZoneId otherZone, long epochSecond) {
+            return zone.equals(otherZone) && epochSecond >= from && epochSecond < until;
+        }
+    }
+
+    /**
+     * Compiles the given Unix Cron expression.
+     *
+     * @param expression a valid, 5-field Unix Cron expression; not null
+     * @return the compiled expression, or {@link Optional#empty()} if the expression uses
+     *         features that are not supported by this engine
+     */
+    public static Optional<CompiledCron> compile(String expression) {
+        Objects.requireNonNull(expression, "The Cron expression must not be null");
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != FIELD_COUNT) {
+            return Optional.empty();
+        }
+        if (!"*".equals(fields[2]) && !"*".equals(fields[4])) {
+            // Unix Cron matches either of both day fields in that case
+            return Optional.empty();
+        }
+        long minutes = parseField(fields[0], 0, 59);
+        long hours = parseField(fields[1], 0, 23);
+        long daysOfMonth = parseField(fields[2], 1, 31);
+        long months = parseField(fields[3], 1, 12);
+        long daysOfWeek = parseField(fields[4], 0, 7);
+        if (minutes == 0 || hours == 0 || daysOfMonth == 0 || months == 0 || daysOfWeek == 0) {
+            return Optional.empty();
+        }
+        if ((daysOfWeek & 1L << 7) != 0) {
+            // 7 is an alias for Sunday
+            daysOfWeek = (daysOfWeek | 1L) & ~(1L << 7);
+        }
+        return Optional.of(new CompiledCron(minutes, hours, daysOfMonth, months, daysOfWeek));
+    }
+
+    /*
+     * Returns the bitset of the values of the given field, or 0 if the field is not supported.
+     */
+    private static long parseField(String field, int min, int max) {
+        long bits = 0L;
+        for (String part : field.split(",", -1)) {
+            int step = 1;
+            String range = part;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseNumber(part.substring(slash + 1));
+                range = part.substring(0, slash);
+                if (step < 1) {
+                    return 0L;
+                }
+            }
+            int from;
+            int to;
+            if ("*".equals(range)) {
+                from = min;
+                to = max;
+            }
+            else {
+                int dash = range.indexOf('-');
+                from = parseNumber(dash >= 0 ? range.substring(0, dash) : range);
+                to = dash >= 0 ? parseNumber(range.substring(dash + 1)) : (slash >= 0 ? max : from);
+            }
+            if (from < min || to > max || from > to) {
+                return 0L;
+            }
+            for (int value = from; value <= to; value += step) {
+                bits |= 1L << value;
+            }
+        }
+        return bits;
+    }
+
+    private static int parseNumber(String value) {
+        if (value.isEmpty() || value.length() > 2) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * Computes the next execution time strictly after the given instant.
+     *
+     * @param epochMillis the reference instant, in milliseconds since the epoch
+     * @param zone        the time zone in which the expression is evaluated; not null
+     * @return the next execution time in milliseconds since the epoch, or {@link #UNSUPPORTED}
+     *         if it cannot be computed by this engine
+     */
+    public long nextExecution(long epochMillis, ZoneId zone) {
+        long epochSecond = Math.floorDiv(epochMillis, MILLIS_PER_SECOND);
+        OffsetWindow window = offsetWindow;
+        if (window == null || !window.contains(zone, epochSecond)) {
+            window = computeOffsetWindow(zone, epochSecond);
+            offsetWindow = window;
+        }
+        long offsetMillis = window.offsetSeconds() * MILLIS_PER_SECOND;
+        long localMinute = Math.floorDiv(epochMillis + offsetMillis, MILLIS_PER_MINUTE) + 1;
+        long next = nextLocalMinute(localMinute);
+        if (next == UNSUPPORTED) {
+            return UNSUPPORTED;
+        }
+        // Local times repeated or skipped around a transition are left to cron-utils
+        long nextMillis = next * MILLIS_PER_MINUTE - offsetMillis;
+        return nextMillis / MILLIS_PER_SECOND < window.until() - SECONDS_PER_DAY ? nextMillis : UNSUPPORTED;
+    }
+
+    private static OffsetWindow computeOffsetWindow(ZoneId zone, long epochSecond) {
+        ZoneRules rules = zone.getRules();
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        ZoneOffset offset = rules.getOffset(instant);
+        if (rules.isFixedOffset()) {
+            return new OffsetWindow(zone, offset.getTotalSeconds(), Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        long from = previous == null ? Long.MIN_VALUE : previous.toEpochSecond();
+        long until = next == null ? Long.MAX_VALUE : next.toEpochSecond();
+        return new OffsetWindow(zone, offset.getTotalSeconds(), from, until);
+    }
+
+    /*
+     * Finds the first matching local minute (counted from the epoch) at or after the given
+     * one. The date arithmetic follows the proleptic Gregorian calendar, based on H. Hinnant's
+     * civil-from-days algorithm.
+     */
+    private long nextLocalMinute(long localMinute) {
+        long epochDay = Math.floorDiv(localMinute, MINUTES_PER_DAY);
+        int minuteOfDay = (int) Math.floorMod(localMinute, MINUTES_PER_DAY);
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+
+        long shifted = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shifted, 146_097);
+        int dayOfEra = (int) (shifted - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+        long lastYear = year + MAX_YEARS_AHEAD;
+
+        while (year <= lastYear) {
+            if ((months & 1L << month) == 0) {
+                int nextMonth = nextBit(months, month + 1, 12);
+                epochDay += lengthOfMonth(year, month) - day + 1;
+                if (nextMonth < 0) {
+                    // Skip to January of next year
+                    for (int m = month + 1; m <= 12; m++) {
+                        epochDay += lengthOfMonth(year, m);
+                    }
+                    year++;
+                    month = 1;
+                }
+                else {
+                    month++;
+                }
+                day = 1;
+                hour = 0;
+                minute = 0;
+                continue;
+            }
+            int dayOfWeek = (int) Math.floorMod(epochDay + 4, 7);
+            if ((daysOfMonth & 1L << day) == 0 || (daysOfWeek & 1L << dayOfWeek) == 0) {
+                epochDay++;
+                if (++day > lengthOfMonth(year, month)) {
+                    day = 1;
+                    if (++month > 12) {
+                        month = 1;
+                        year++;
+                    }
+                }
+                hour = 0;
+                minute = 0;
+                continue;
+            }
+            int nextHour = nextBit(hours, hour, 23);
+            if (nextHour > hour) {
+                minute = 0;
+            }
+            int nextMinute = nextHour < 0 ? -1 : nextBit(minutes, minute, 59);
+            if (nextMinute < 0) {
+                int laterHour = nextHour < 0 ? -1 : nextBit(hours, nextHour + 1, 23);
+                if (laterHour >= 0) {
+                    return (epochDay * MINUTES_PER_DAY) + laterHour * 60L + nextBit(minutes, 0, 59);
+                }
+                // Nothing left today: retry from the start of the next day
+                epochDay++;
+                if (++day > lengthOfMonth(year, month)) {
+                    day = 1;
+                    if (++month > 12) {
+                        month = 1;
+                        year++;
+                    }
+                }
+                hour = 0;
+                minute = 0;
+                continue;
+            }
+            return (epochDay * MINUTES_PER_DAY) + nextHour * 60L + nextMinute;
+        }
+        return UNSUPPORTED;
+    }
+
+    /*
+     * Returns the lowest set bit in [from, max], or -1.
+     */
+    private static int nextBit(long bits, int from, int max) {
+        if (from > max) {
+            return -1;
+        }
+        long candidates = bits & (-1L << from);
+        int bit = Long.numberOfTrailingZeros(candidates);
+        return bit <= max ? bit : -1;
+    }
+
+    private static int lengthOfMonth(long year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
@@ -1,28 +1,26 @@
 package com.ranushan.runner.cron;
 
-import com.cronutils.descriptor.CronDescriptor;
 import com.cronutils.model.Cron;
-import com.cronutils.model.CronType;
-import com.cronutils.model.definition.CronDefinition;
-import com.cronutils.model.definition.CronDefinitionBuilder;
-import com.cronutils.model.time.ExecutionTime;
-import com.cronutils.parser.CronParser;
 import com.ranushan.configuration.BatchConfiguration;
 import com.ranushan.configuration.ConfigurationHolder;
 import com.ranushan.domain.BatchType;
-import com.ranushan.factory.BatchThreadFactory;
+import com.ranushan.domain.MisfirePolicy;
 import com.ranushan.runner.AbstractBatch;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.store.FireTimeStore;
 import com.ranushan.util.DateUtils;
+import com.ranushan.util.JsonWriter;
+import com.ranushan.util.Lazy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Date;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.OptionalLong;
 
 /**
  * A batch that runs a particular task at specified times and dates, similar to the Cron
@@ -34,120 +32,162 @@ import java.util.concurrent.TimeUnit;
 public abstract class CronBatch extends AbstractBatch {
 
     private final String cronExpression;
-    private final String cronDescription;
+    @Getter(AccessLevel.NONE)
+    private final Lazy<String> cronDescription;
 
-    private final BatchThreadFactory threadFactory;
-    private final ScheduledExecutorService schedule;
     private final Cron cron;
+    @Getter(AccessLevel.NONE)
+    private final CronCache.Entry cronEntry;
 
-    private ZonedDateTime nextExecutionDate;
+    /*
+     * The time zone in which the Cron expression is evaluated, resolved once
+     */
+    @Getter(AccessLevel.NONE)
+    private final ZoneId zone = ZoneId.systemDefault();
 
     /**
      * Builds a {@link CronBatch} from the given configuration.
      *
      * @param configuration the {@link BatchConfiguration} to be set
+     * @param scheduler     the shared {@link BatchScheduler} where this batch will be registered
      */
-    protected CronBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder) {
-        super(configuration, configurationHolder);
+    protected CronBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder,
+                        BatchScheduler scheduler) {
+        super(configuration, configurationHolder, scheduler);
 
         if (configuration.getType() != BatchType.CRON) {
             throw new IllegalArgumentException("Not a cron batch");
         }
 
-        String originalExpression = configuration.getInterval();
-        cron = parseCron(originalExpression);
+        CronCache.Entry cached = CronCache.shared().get(configuration.getCronDialect(), configuration.getInterval());
+        cronEntry = cached;
+        cron = cached.getCron();
         cronExpression = cron.asString();
-        cronDescription = CronDescriptor.instance().describe(cron);
-
-        threadFactory = new BatchThreadFactory(getName());
-        schedule = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        cronDescription = cached.getDescription();
+        if (!configurationHolder.isLazyInstantiation()) {
+            cronDescription.get();
+        }
 
         setState(State.SET);
     }
 
-    protected static Cron parseCron(String expression) {
-        CronDefinition cronDefinition = CronDefinitionBuilder.instanceDefinitionFor(CronType.UNIX);
-        CronParser cronParser = new CronParser(cronDefinition);
-        return cronParser.parse(expression);
+    /**
+     * Computes the next time matching the Cron expression, strictly after the given time.
+     */
+    @Override
+    protected long computeNextFireTime(long after) {
+        return cronEntry.nextExecution(after, zone);
     }
 
-    protected void scheduleFirstExecution() {
-        scheduleNextExecution(true);
+    /**
+     * Computes the Cron description, if deferred at construction.
+     */
+    @Override
+    protected void initialize() {
+        super.initialize();
+        cronDescription.get();
     }
 
-    protected void scheduleNextExecution() {
-        scheduleNextExecution(false);
+    /**
+     * @return A human-readable description of the Cron expression
+     */
+    public String getCronDescription() {
+        return cronDescription.get();
     }
 
-    private synchronized void scheduleNextExecution(boolean firstExecution) {
-        nextExecutionDate = null;
-        if (firstExecution || (isStarted() && !isStopRequested())) {
-            ExecutionTime executionTime = ExecutionTime.forCron(cron);
-            Optional<Duration> optional = executionTime.timeToNextExecution(DateUtils.now());
-
-            if (optional.isPresent()) {
-                Duration timeToNextExecution = optional.get();
-                schedule.schedule(this, timeToNextExecution.toMillis(), TimeUnit.MILLISECONDS);
-                nextExecutionDate = DateUtils.now().plus(timeToNextExecution);
-
-                if (log.isInfoEnabled()) {
-                    log.info("{} execution of {} will be at: {}", firstExecution ? "First" : "Next", getName(),
-                            DateUtils.formatDate(nextExecutionDate));
-                }
-            }
-            else {
-                log.warn("No future execution for the Cron expression: \"{}\"", cronExpression);
+    /**
+     * Starts this batch schedule considering the Cron expression, after replaying the
+     * executions missed since the last recorded fire time, unless started on schedule only.
+     */
+    @Override
+    public final void onStart() {
+        log.info("Starting batch: {}", getName());
+        log.info("Batch {} scheduled to run {}.", getName(), getCronDescription());
+
+        long now = System.currentTimeMillis();
+        if (isReplayOnStart() && replayMissedExecutions(now)) {
+            return;
+        }
+        long firstExecution = computeNextFireTime(now);
+        if (firstExecution == NO_FIRE_TIME) {
+            log.warn("No future execution for the Cron expression: \"{}\"", cronExpression);
+            return;
+        }
+        scheduleFirstExecution(firstExecution);
+        if (log.isInfoEnabled()) {
+            log.info("First execution of {} will be at: {}", getName(),
+                    DateUtils.formatDate(getNextExecutionDate().orElse(null)));
+        }
+    }
+
+    /*
+     * Applies the misfire policy to the executions missed since the last recorded fire time,
+     * and returns whether a replay was scheduled.
+     */
+    private boolean replayMissedExecutions(long now) {
+        FireTimeStore store = getConfigurationHolder().getFireTimeStore();
+        OptionalLong lastFireTime = store == null ? OptionalLong.empty() : store.findLastFireTime(getName());
+        if (lastFireTime.isEmpty()) {
+            return false;
+        }
+        long firstMissed = computeNextFireTime(lastFireTime.getAsLong());
+        if (firstMissed == NO_FIRE_TIME || firstMissed > now) {
+            return false;
+        }
+        MisfirePolicy misfirePolicy = getConfiguration().getMisfirePolicy();
+        log.info("Batch {} missed its executions since {} (misfire policy: {})", getName(),
+                DateUtils.formatDate(new Date(firstMissed)), misfirePolicy);
+
+        switch (misfirePolicy) {
+            case FIRE_ONCE -> scheduleReplay(firstMissed, 1);
+            case FIRE_ALL -> scheduleReplay(firstMissed, getConfigurationHolder().getMisfireReplayLimit());
+            default -> {
+                recordMisfires(countFireTimes(lastFireTime.getAsLong(), now, MAX_COUNTED_MISFIRES));
+                return false;
             }
         }
+        return true;
     }
 
     /**
-     * Starts this batch schedule considering the Cron expression.
+     * Records the fire time of the completed execution in the {@link FireTimeStore}, if any.
      */
     @Override
-    public final void onStart() {
-        log.info("Starting batch: {}", getName());
-        log.info("Batch {} scheduled to run {}.", getName(), cronDescription);
-        scheduleFirstExecution();
+    protected void afterScheduledExecution(long fireTime) {
+        getConfigurationHolder().findFireTimeStore().ifPresent(store -> {
+            try {
+                store.recordFireTime(getName(), fireTime);
+            }
+            catch (RuntimeException exception) {
+                log.warn("Unable to record the fire time of batch {}", getName(), exception);
+            }
+        });
     }
 
     @Override
     public final void onStop() {
-        schedule.shutdown();
-        nextExecutionDate = null;
     }
 
+    /**
+     * The next execution is planned by the scheduling policy of this batch, even if the task
+     * fails.
+     */
     @Override
     public final void afterRun() {
-        scheduleNextExecution();
     }
 
-    /**
-     * @return A string with current batch status in JSON format
-     */
     @Override
-    public String getStatusJson() {
-        return getPresetStatusJsonBuilder() +
-                """
-                {
-                    "cronExpression": %s,
-                    "cronDescription": %s,
-                    "nextExecutionDate": %s
-                }
-                """.formatted(cronExpression, cronDescription, DateUtils.formatDate(nextExecutionDate));
+    protected void writeStatusFields(JsonWriter writer) {
+        long next = getScheduledFireTime();
+        writer.member("cronExpression", cronExpression)
+              .member("cronDialect", getConfiguration().getCronDialect())
+              .member("cronDescription", getCronDescription())
+              .member("nextExecutionDate", next == NO_FIRE_TIME ? null : DateUtils.formatDate(next));
     }
 
     public Optional<ZonedDateTime> getNextExecutionDate() {
-        return Optional.ofNullable(nextExecutionDate);
-    }
-
-    /**
-     * Returns the {@link ExecutorService} associated with this batch instance, for testing
-     * purposes.
-     *
-     * @return the {@link ExecutorService}
-     */
-    protected ScheduledExecutorService getExecutorService() {
-        return schedule;
+        long next = getScheduledFireTime();
+        return next == NO_FIRE_TIME ? Optional.empty()
+                : Optional.of(ZonedDateTime.ofInstant(Instant.ofEpochMilli(next), zone));
     }
 }
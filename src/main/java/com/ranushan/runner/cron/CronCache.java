@@ -0,0 +1,207 @@
+package com.ranushan.runner.cron;
+
+import com.cronutils.descriptor.CronDescriptor;
+import com.cronutils.model.Cron;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+import com.ranushan.domain.CronDialect;
+import com.ranushan.util.ExceptionUtils;
+import com.ranushan.util.Lazy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * A bounded cache of parsed Cron expressions.
+ * <p>
+ * Batches sharing the same expression and dialect (after whitespace normalization) share the same
+ * {@link Cron}, {@link ExecutionTime} and description, so that rescheduling a batch after
+ * each run does not allocate any parsing structures. Lookups are lock-free; when the cache
+ * exceeds its maximum size, the least recently used expression is evicted.
+ *
+ */
+@Slf4j
+public final class CronCache {
+
+    /**
+     * The default maximum number of distinct expressions held by the shared cache.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 512;
+
+    private static final CronCache SHARED = new CronCache(DEFAULT_MAXIMUM_SIZE);
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private final Map<CronDialect, CronParser> parsers = new EnumMap<>(CronDialect.class);
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final int maximumSize;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maximumSize the maximum number of distinct expressions to be held; must be positive
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public CronCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw ExceptionUtils.illegalArgument("The maximum size must be positive: %d", maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        for (CronDialect dialect : CronDialect.values()) {
+            parsers.put(dialect, new CronParser(dialect.getCronDefinition()));
+        }
+    }
+
+    private record Key(CronDialect dialect, String expression) {
+    }
+
+    /**
+     * @return the cache shared by all Cron batches
+     */
+    public static CronCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * A parsed Cron expression, along with its execution time calculator and its (lazily
+     * computed) human-readable description.
+     */
+    public static final class Entry {
+        private final Cron cron;
+        private final ExecutionTime executionTime;
+        private final CompiledCron compiledCron;
+        private final Lazy<String> description;
+        private volatile long lastAccess;
+
+        private Entry(CronDialect dialect, Cron cron) {
+            this.cron = cron;
+            this.executionTime = ExecutionTime.forCron(cron);
+            this.compiledCron = dialect == CronDialect.UNIX ? CompiledCron.compile(cron.asString()).orElse(null) : null;
+            this.description = Lazy.of(() -> CronDescriptor.instance().describe(cron));
+        }
+
+        /**
+         * Computes the next execution time strictly after the given instant, using the
+         * compiled expression when possible, and cron-utils otherwise.
+         *
+         * @param epochMillis the reference instant, in milliseconds since the epoch
+         * @param zone        the time zone in which the expression is evaluated; not null
+         * @return the next execution time in milliseconds since the epoch, or -1 if the
+         *         expression has no future execution
+         */
+        public long nextExecution(long epochMillis, ZoneId zone) {
+            if (compiledCron != null) {
+                long next = compiledCron.nextExecution(epochMillis, zone);
+                if (next != CompiledCron.UNSUPPORTED) {
+                    return next;
+                }
+            }
+            ZonedDateTime date = ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+            Optional<ZonedDateTime> next = executionTime.nextExecution(date);
+            return next.map(nextDate -> nextDate.toInstant().toEpochMilli()).orElse(-1L);
+        }
+
+        /**
+         * @return {@code true} if the expression is evaluated by the compiled engine
+         */
+        public boolean isCompiled() {
+            return compiledCron != null;
+        }
+
+        public Cron getCron() {
+            return cron;
+        }
+
+        public ExecutionTime getExecutionTime() {
+            return executionTime;
+        }
+
+        public Lazy<String> getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * Returns the cached entry of the given Unix expression, parsing it if necessary.
+     *
+     * @param expression the Cron expression; not null
+     * @return the cache entry for the expression
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public Entry get(String expression) {
+        return get(CronDialect.UNIX, expression);
+    }
+
+    /**
+     * Returns the cached entry of the given expression, parsing it if necessary.
+     *
+     * @param dialect    the Cron dialect; not null
+     * @param expression the Cron expression; not null
+     * @return the cache entry for the expression
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public Entry get(CronDialect dialect, String expression) {
+        Objects.requireNonNull(dialect, "The Cron dialect must not be null");
+        Objects.requireNonNull(expression, "The Cron expression must not be null");
+        Key key = new Key(dialect, normalize(expression));
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.lastAccess = clock.incrementAndGet();
+            return entry;
+        }
+        entry = entries.computeIfAbsent(key, k -> new Entry(dialect, parsers.get(dialect).parse(k.expression())));
+        entry.lastAccess = clock.incrementAndGet();
+        evictIfNecessary();
+        return entry;
+    }
+
+    /**
+     * @return the number of cached expressions
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all cached expressions.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    static String normalize(String expression) {
+        return WHITESPACES.matcher(expression.trim()).replaceAll(" ");
+    }
+
+    /*
+     * Eviction only happens when a new expression is added, which is rare compared to
+     * lookups, so a linear scan for the least recently used entry is acceptable.
+     */
+    private synchronized void evictIfNecessary() {
+        while (entries.size() > maximumSize) {
+            Key eldestKey = null;
+            long eldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+                long access = candidate.getValue().lastAccess;
+                if (access < eldestAccess) {
+                    eldestAccess = access;
+                    eldestKey = candidate.getKey();
+                }
+            }
+            if (eldestKey == null) {
+                return;
+            }
+            entries.remove(eldestKey);
+            log.debug("Cron expression evicted from cache: \"{}\" ({})", eldestKey.expression(), eldestKey.dialect());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ranushan.runner.partitioned;
+
+import com.ranushan.annotation.Aggregate;
+import com.ranushan.annotation.Partitioner;
+import com.ranushan.annotation.Run;
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.exception.InvalidClassException;
+import com.ranushan.factory.BatchTargetResolver;
+import com.ranushan.runner.BatchContext;
+import com.ranushan.runner.DynamicBatch;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.util.AnnotationUtils;
+import com.ranushan.util.ExceptionUtils;
+import com.ranushan.util.Lazy;
+import com.ranushan.util.MethodUtils;
+import com.ranushan.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link PartitionedBatch} that runs a dynamic batch object, whose partitions are created
+ * by its method annotated with {@link Partitioner}, processed by its method annotated with
+ * {@link Run}, and optionally aggregated by its method annotated with {@link Aggregate}.
+ *
+ */
+public class DynamicPartitionedBatch extends PartitionedBatch {
+
+    private final Lazy<Target> target;
+
+    /**
+     * Creates a new DynamicPartitionedBatch for the given {@link BatchConfiguration}.
+     *
+     * @param configuration       the {@link BatchConfiguration} to be parsed
+     * @param configurationHolder the {@link ConfigurationHolder} of the managing instance
+     * @param scheduler           the shared {@link BatchScheduler}
+     * @throws InvalidClassException if any exception regarding a reflective operation (e.g.:
+     *                               class or method not found) occurs
+     */
+    public DynamicPartitionedBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder,
+                                   BatchScheduler scheduler) {
+        super(configuration, configurationHolder, scheduler);
+        // The class loader that was scanned, as the deferred instantiation may run on a scheduler thread
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        target = Lazy.of(() -> new Target(configuration, configurationHolder.getBatchTargetResolver(), classLoader));
+        if (!configurationHolder.isLazyInstantiation()) {
+            target.get();
+        }
+    }
+
+    /**
+     * Instantiates the annotated batch object, if deferred at construction.
+     *
+     * @throws InvalidClassException if any exception regarding a reflective operation (e.g.:
+     *                               class or method not found) occurs
+     */
+    @Override
+    protected void initialize() {
+        super.initialize();
+        target.get();
+    }
+
+    @Override
+    protected Collection<?> createPartitions() {
+        Target batch = target.get();
+        Object partitions = ReflectionUtils.invokeMethod(batch.partitionerMethod, batch.instance);
+        return (Collection<?>) Objects.requireNonNull(partitions, "The partitioner must not return null");
+    }
+
+    @Override
+    protected Object runPartition(Object partition, BatchContext context) {
+        Target batch = target.get();
+        return batch.runMethod.getParameterCount() == 1
+                ? ReflectionUtils.invokeMethod(batch.runMethod, batch.instance, partition)
+                : ReflectionUtils.invokeMethod(batch.runMethod, batch.instance, partition, context);
+    }
+
+    @Override
+    protected void aggregate(List<Object> results) {
+        Target batch = target.get();
+        if (batch.aggregateMethod != null) {
+            ReflectionUtils.invokeMethod(batch.aggregateMethod, batch.instance, results);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DynamicPartitionedBatch$" + getConfiguration().getClassName();
+    }
+
+    /*
+     * The batch object and its annotated methods, looked up on the class of the object,
+     * which may be a proxy of the batch class.
+     */
+    private static final class Target {
+        private final Object instance;
+        private final Method partitionerMethod;
+        private final Method runMethod;
+        private final Method aggregateMethod;
+
+        private Target(BatchConfiguration configuration, BatchTargetResolver targetResolver, ClassLoader classLoader) {
+            try {
+                Class<?> batchClass = ReflectionUtils.loadClass(configuration.getClassName(), classLoader);
+                Method partitioner = AnnotationUtils.getSinglePublicMethodWithAnnotation(Partitioner.class, batchClass,
+                        AnnotationUtils.MethodFilter.NO_PARAMETER);
+                if (!Collection.class.isAssignableFrom(partitioner.getReturnType())) {
+                    throw ExceptionUtils.invalidClass("The @%s method of the class %s must return a Collection",
+                            Partitioner.class.getSimpleName(), batchClass.getName());
+                }
+                Method run = AnnotationUtils.getSinglePublicMethodWithAnnotation(Run.class, batchClass);
+                Class<?>[] parameterTypes = run.getParameterTypes();
+                if (parameterTypes.length == 0 || parameterTypes.length > 2
+                        || parameterTypes.length == 2 && parameterTypes[1] != BatchContext.class) {
+                    throw ExceptionUtils.invalidClass(
+                            "The @%s method of the partitioned class %s must take a partition and an optional %s",
+                            Run.class.getSimpleName(), batchClass.getName(), BatchContext.class.getSimpleName());
+                }
+                checkPartitionType(batchClass, partitioner, run);
+                Method aggregate = findAggregateMethod(batchClass);
+
+                instance = DynamicBatch.resolveInstance(batchClass, targetResolver);
+                partitionerMethod = DynamicBatch.findInvocableMethod(batchClass, instance, partitioner);
+                runMethod = DynamicBatch.findInvocableMethod(batchClass, instance, run);
+                aggregateMethod = aggregate == null ? null
+                        : DynamicBatch.findInvocableMethod(batchClass, instance, aggregate);
+            }
+            catch (ReflectiveOperationException cause) {
+                throw new InvalidClassException(cause);
+            }
+        }
+
+        private static Method findAggregateMethod(Class<?> batchClass) {
+            List<Method> methods = MethodUtils.getMethodsListWithAnnotation(batchClass, Aggregate.class);
+            if (methods.isEmpty()) {
+                return null;
+            }
+            Method method = methods.get(0);
+            if (methods.size() > 1 || method.getParameterCount() != 1
+                    || !method.getParameterTypes()[0].isAssignableFrom(List.class)) {
+                throw ExceptionUtils.invalidClass(
+                        "The class %s must have at most one @%s method, taking a List of results",
+                        batchClass.getName(), Aggregate.class.getSimpleName());
+            }
+            return method;
+        }
+
+        /*
+         * The partitions must be accepted by the @Run method, as far as the generic return
+         * type of the @Partitioner method tells.
+         */
+        private static void checkPartitionType(Class<?> batchClass, Method partitioner, Method run) {
+            Class<?> partitionType = run.getParameterTypes()[0];
+            ReflectionUtils.findCollectionElementType(partitioner.getGenericReturnType())
+                           .filter(elementType -> !ReflectionUtils.wrap(partitionType).isAssignableFrom(elementType))
+                           .ifPresent(elementType -> {
+                               throw ExceptionUtils.invalidClass(
+                                       "The @%s method of the class %s takes a %s, but the @%s method returns %s",
+                                       Run.class.getSimpleName(), batchClass.getName(), partitionType.getName(),
+                                       Partitioner.class.getSimpleName(), partitioner.getGenericReturnType());
+                           });
+        }
+    }
+}
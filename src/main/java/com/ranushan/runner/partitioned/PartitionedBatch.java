@@ -0,0 +1,258 @@
+package com.ranushan.runner.partitioned;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.runner.BatchContext;
+import com.ranushan.runner.timer.TimerBatch;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.util.ExceptionUtils;
+import com.ranushan.util.JsonWriter;
+import com.ranushan.util.Lazy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link TimerBatch} whose task is split into partitions at each execution, processed
+ * concurrently on a work-stealing pool dedicated to the batch.
+ * <p>
+ * An execution completes once all its partitions are finished, and fails if any of them
+ * failed. When the execution is cancelled (e.g. on timeout), the partitions not started yet
+ * are skipped, and the threads of the running ones are interrupted.
+ *
+ */
+@Slf4j
+public abstract class PartitionedBatch extends TimerBatch {
+
+    /**
+     * The state of a partition within the current (or last) execution.
+     */
+    public enum PartitionState {
+        PENDING, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    @Getter private final int parallelism;
+
+    /*
+     * The pool threads are daemon threads, which terminate when idle
+     */
+    private final Lazy<ForkJoinPool> pool;
+
+    private volatile Partition[] partitions = new Partition[0];
+
+    /**
+     * Builds a {@link PartitionedBatch} from the given configuration.
+     *
+     * @param configuration the {@link BatchConfiguration} to be set
+     * @param scheduler     the shared {@link BatchScheduler} where this batch will be registered
+     */
+    protected PartitionedBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder,
+                               BatchScheduler scheduler) {
+        super(configuration, configurationHolder, scheduler);
+        this.parallelism = configuration.getParallelism() > 0 ? configuration.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = Lazy.of(this::createPool);
+    }
+
+    private ForkJoinPool createPool() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("Batch-" + getName() + "-partition" + threadNumber.getAndIncrement());
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, null, true);
+    }
+
+    /**
+     * Splits the work of an execution into partitions.
+     *
+     * @return the keys of the partitions; not null
+     */
+    protected abstract Collection<?> createPartitions();
+
+    /**
+     * Processes a single partition. This method is called concurrently, from the threads of
+     * the pool of this batch.
+     *
+     * @param partition the key of the partition
+     * @param context   the context of the execution, shared by all partitions
+     * @return the result of the partition, or {@code null}
+     */
+    protected abstract Object runPartition(Object partition, BatchContext context);
+
+    /**
+     * Aggregates the results of all partitions, once they all completed successfully. The
+     * default implementation does nothing.
+     *
+     * @param results the results of the partitions, in the order of the partitions
+     */
+    protected void aggregate(List<Object> results) {
+    }
+
+    /**
+     * Runs all partitions, and waits for them to finish.
+     */
+    @Override
+    protected final void runTask() {
+        List<Partition> current = new ArrayList<>();
+        for (Object key : createPartitions()) {
+            current.add(new Partition(key));
+        }
+        partitions = current.toArray(new Partition[0]);
+        invalidateStatus();
+        log.debug("Batch {} split into {} partitions", getName(), current.size());
+
+        BatchContext context = getRunContext();
+        ForkJoinPool forkJoinPool = pool.get();
+        List<ForkJoinTask<Object>> shards = new ArrayList<>(current.size());
+        for (Partition partition : current) {
+            shards.add(forkJoinPool.submit(() -> runShard(partition, context)));
+        }
+        List<Object> results = new ArrayList<>(shards.size());
+        Throwable failure = null;
+        int failedCount = 0;
+        try {
+            for (ForkJoinTask<Object> shard : shards) {
+                try {
+                    results.add(shard.get());
+                }
+                catch (ExecutionException exception) {
+                    results.add(null);
+                    failedCount++;
+                    if (failure == null) {
+                        failure = exception.getCause();
+                    } else {
+                        failure.addSuppressed(exception.getCause());
+                    }
+                }
+            }
+        }
+        catch (InterruptedException exception) {
+            cancel(current, shards);
+            Thread.currentThread().interrupt();
+            throw ExceptionUtils.batchRuntime(exception, "Batch %s interrupted while running its partitions",
+                    getName());
+        }
+        if (failure != null) {
+            throw ExceptionUtils.batchRuntime(failure, "%d of %d partitions of batch %s failed", failedCount,
+                    current.size(), getName());
+        }
+        aggregate(results);
+    }
+
+    private Object runShard(Partition partition, BatchContext context) {
+        if (context != null && context.isCancelled() || !partition.begin()) {
+            partition.finish(PartitionState.CANCELLED);
+            invalidateStatus();
+            return null;
+        }
+        invalidateStatus();
+        try {
+            Object result = runPartition(partition.key, context);
+            partition.finish(PartitionState.COMPLETED);
+            return result;
+        }
+        catch (RuntimeException | Error exception) {
+            partition.finish(PartitionState.FAILED);
+            throw exception;
+        }
+        finally {
+            invalidateStatus();
+        }
+    }
+
+    /*
+     * The shards still running are interrupted; the execution then completes without
+     * waiting for them, as they may not react to the interruption.
+     */
+    private void cancel(List<Partition> current, List<ForkJoinTask<Object>> shards) {
+        shards.forEach(shard -> shard.cancel(false));
+        int running = 0;
+        for (Partition partition : current) {
+            if (partition.interrupt()) {
+                running++;
+            }
+        }
+        invalidateStatus();
+        if (running > 0) {
+            log.warn("{} partitions of batch {} were still running when cancelled", running, getName());
+        }
+    }
+
+    @Override
+    protected void writeStatusFields(JsonWriter writer) {
+        super.writeStatusFields(writer);
+        writer.member("parallelism", parallelism)
+              .name("partitions").beginArray();
+        for (Partition partition : partitions) {
+            PartitionState state = partition.state;
+            writer.beginObject()
+                  .member("partition", partition.key)
+                  .member("state", state);
+            if (state == PartitionState.COMPLETED || state == PartitionState.FAILED) {
+                // The status is cached, so the elapsed time of running partitions is not shown
+                writer.member("durationMillis", (partition.endNanos - partition.startNanos) / 1_000_000L);
+            }
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    /*
+     * The progress of a partition. The worker thread is guarded by the partition itself, so
+     * that an interruption never reaches the next task of a pooled thread.
+     */
+    private static final class Partition {
+        private final Object key;
+        private volatile PartitionState state = PartitionState.PENDING;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private Thread worker;
+        private boolean cancelled;
+
+        private Partition(Object key) {
+            this.key = key;
+        }
+
+        synchronized boolean begin() {
+            if (cancelled) {
+                return false;
+            }
+            worker = Thread.currentThread();
+            startNanos = System.nanoTime();
+            state = PartitionState.RUNNING;
+            return true;
+        }
+
+        synchronized void finish(PartitionState finalState) {
+            if (worker != null) {
+                endNanos = System.nanoTime();
+                worker = null;
+                Thread.interrupted();
+            }
+            // A partition failing once interrupted was cut off by the cancellation
+            state = cancelled && finalState == PartitionState.FAILED ? PartitionState.CANCELLED : finalState;
+        }
+
+        synchronized boolean interrupt() {
+            cancelled = true;
+            if (worker == null) {
+                if (state == PartitionState.PENDING) {
+                    state = PartitionState.CANCELLED;
+                }
+                return false;
+            }
+            worker.interrupt();
+            return true;
+        }
+    }
+}
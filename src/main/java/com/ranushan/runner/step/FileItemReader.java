@@ -0,0 +1,193 @@
+package com.ranushan.runner.step;
+
+import com.ranushan.util.ExceptionUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An {@link ItemReader} that reads a text file line by line, and maps each line to an item.
+ * <p>
+ * The file is read through a {@link FileChannel} into a fixed-size direct buffer, and
+ * decoded into a fixed-size character buffer, so that the memory used does not depend on
+ * the size of the file. Lines are terminated by {@code \n} or {@code \r\n}.
+ *
+ * @param <T> the type of the items
+ */
+public class FileItemReader<T> implements ItemReader<T> {
+
+    /**
+     * The default size of the read buffer, in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private final Function<String, ? extends T> mapper;
+    private final StringBuilder line = new StringBuilder(128);
+    private boolean endOfFile;
+    private boolean flushed;
+    private long lineNumber;
+
+    /**
+     * Opens a reader of the lines of the given UTF-8 file, as strings.
+     *
+     * @param file the file to be read; not null
+     * @return a new reader
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public static FileItemReader<String> lines(Path file) {
+        return new FileItemReader<>(file, StandardCharsets.UTF_8, Function.identity(), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a reader of the given file.
+     *
+     * @param file       the file to be read; not null
+     * @param charset    the encoding of the file; not null
+     * @param mapper     the function mapping each line (without terminator) to an item; not
+     *                   null
+     * @param bufferSize the size of the read buffer, in bytes; must hold at least two
+     *                   characters of the charset (a surrogate pair)
+     * @throws IllegalArgumentException if the buffer is too small for the charset
+     * @throws UncheckedIOException     if the file cannot be opened
+     */
+    public FileItemReader(Path file, Charset charset, Function<String, ? extends T> mapper, int bufferSize) {
+        Objects.requireNonNull(file, "The file must not be null");
+        Objects.requireNonNull(charset, "The charset must not be null");
+        int minBufferSize = minBufferSize(charset);
+        if (bufferSize < minBufferSize) {
+            throw ExceptionUtils.illegalArgument("The buffer size must be at least %d bytes for %s: %d",
+                    minBufferSize, charset, bufferSize);
+        }
+        this.file = file;
+        this.mapper = Objects.requireNonNull(mapper, "The mapper must not be null");
+        this.decoder = charset.newDecoder()
+                              .onMalformedInput(CodingErrorAction.REPORT)
+                              .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.bytes = ByteBuffer.allocateDirect(bufferSize).flip();
+        this.chars = CharBuffer.allocate(bufferSize).flip();
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("Unable to open " + file, exception);
+        }
+    }
+
+    /*
+     * A character decoded from a full buffer must fit in it, or no progress is ever made.
+     * Decode-only charsets have no known maximum, and are checked while reading instead.
+     */
+    private static int minBufferSize(Charset charset) {
+        if (!charset.canEncode()) {
+            return 2;
+        }
+        return 2 * (int) Math.ceil(charset.newEncoder().maxBytesPerChar());
+    }
+
+    @Override
+    public T read() {
+        while (true) {
+            char[] array = chars.array();
+            int start = chars.position();
+            int limit = chars.limit();
+            for (int i = start; i < limit; i++) {
+                if (array[i] == '\n') {
+                    line.append(array, start, i - start);
+                    chars.position(i + 1);
+                    return nextItem();
+                }
+            }
+            line.append(array, start, limit - start);
+            chars.position(limit);
+            if (!fill()) {
+                // The last line may have no terminator
+                return line.isEmpty() ? null : nextItem();
+            }
+        }
+    }
+
+    private T nextItem() {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        String text = line.toString();
+        line.setLength(0);
+        lineNumber++;
+        return mapper.apply(text);
+    }
+
+    /*
+     * Decodes the next characters, reading the file as needed. Returns false at the end of
+     * the file.
+     */
+    private boolean fill() {
+        chars.clear();
+        try {
+            while (!flushed) {
+                CoderResult result = decoder.decode(bytes, chars, endOfFile);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (chars.position() > 0) {
+                    break;
+                }
+                if (endOfFile) {
+                    decoder.flush(chars);
+                    flushed = true;
+                } else {
+                    if (bytes.remaining() == bytes.capacity()) {
+                        throw ExceptionUtils.illegalState("Read buffer of %d bytes too small for a character of %s",
+                                bytes.capacity(), file);
+                    }
+                    bytes.compact();
+                    endOfFile = channel.read(bytes) < 0;
+                    bytes.flip();
+                }
+            }
+        }
+        catch (CharacterCodingException exception) {
+            throw new UncheckedIOException("Invalid character in " + file + " after line " + lineNumber, exception);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("Unable to read " + file, exception);
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    /**
+     * @return the number of lines read so far
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("Unable to close " + file, exception);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.ranushan.runner.step;
+
+import com.ranushan.util.ExceptionUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An {@link ItemWriter} that formats each item as a line of a text file.
+ * <p>
+ * Lines are encoded into a fixed-size direct buffer, which is written to a
+ * {@link FileChannel} whenever it is full and on each commit. Optionally, each commit also
+ * forces the content of the file to the storage device, so that committed chunks survive
+ * a crash of the operating system.
+ *
+ * @param <T> the type of the items
+ */
+public class FileItemWriter<T> implements ItemWriter<T> {
+
+    /**
+     * The default size of the write buffer, in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer bytes;
+    private final Function<? super T, String> formatter;
+    private final boolean forceOnCommit;
+
+    /**
+     * Opens a writer of lines to the given UTF-8 file, which is created or truncated.
+     *
+     * @param file the file to be written; not null
+     * @return a new writer, which formats items with {@link String#valueOf(Object)}
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public static FileItemWriter<Object> lines(Path file) {
+        return new FileItemWriter<>(file, StandardCharsets.UTF_8, String::valueOf, DEFAULT_BUFFER_SIZE, false);
+    }
+
+    /**
+     * Opens a writer to the given file, which is created or truncated.
+     *
+     * @param file          the file to be written; not null
+     * @param charset       the encoding of the file; not null
+     * @param formatter     the function formatting each item as a line (without terminator);
+     *                      not null
+     * @param bufferSize    the size of the write buffer, in bytes; must hold at least two
+     *                      characters of the charset (a surrogate pair)
+     * @param forceOnCommit {@code true} to force the content of the file to the storage
+     *                      device on each commit
+     * @throws IllegalArgumentException if the buffer is too small for the charset
+     * @throws UncheckedIOException     if the file cannot be opened
+     */
+    public FileItemWriter(Path file, Charset charset, Function<? super T, String> formatter, int bufferSize,
+                          boolean forceOnCommit) {
+        Objects.requireNonNull(file, "The file must not be null");
+        Objects.requireNonNull(charset, "The charset must not be null");
+        this.encoder = charset.newEncoder()
+                              .onMalformedInput(CodingErrorAction.REPORT)
+                              .onUnmappableCharacter(CodingErrorAction.REPORT);
+        // An encoded character must fit in an empty buffer, or no progress is ever made
+        int minBufferSize = 2 * (int) Math.ceil(encoder.maxBytesPerChar());
+        if (bufferSize < minBufferSize) {
+            throw ExceptionUtils.illegalArgument("The buffer size must be at least %d bytes for %s: %d",
+                    minBufferSize, charset, bufferSize);
+        }
+        this.file = file;
+        this.formatter = Objects.requireNonNull(formatter, "The formatter must not be null");
+        this.forceOnCommit = forceOnCommit;
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("Unable to open " + file, exception);
+        }
+    }
+
+    @Override
+    public void write(List<? extends T> items) {
+        try {
+            for (T item : items) {
+                encode(CharBuffer.wrap(formatter.apply(item)));
+                encode(CharBuffer.wrap(LINE_SEPARATOR));
+            }
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("Unable to write " + file, exception);
+        }
+    }
+
+    private void encode(CharBuffer text) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(text, bytes, false);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (!result.isOverflow()) {
+                return;
+            }
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Writes the buffered lines to the file, and forces them to the storage device if so
+     * configured.
+     */
+    @Override
+    public void commit() {
+        try {
+            drain();
+            if (forceOnCommit) {
+                channel.force(false);
+            }
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("Unable to write " + file, exception);
+        }
+    }
+
+    @Override
+    public void close() {
+        try (channel) {
+            encoder.encode(CharBuffer.allocate(0), bytes, true);
+            encoder.flush(bytes);
+            drain();
+        }
+        catch (CharacterCodingException exception) {
+            throw new UncheckedIOException("Invalid character in " + file, exception);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("Unable to close " + file, exception);
+        }
+    }
+}
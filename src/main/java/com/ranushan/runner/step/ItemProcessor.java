@@ -0,0 +1,27 @@
+package com.ranushan.runner.step;
+
+/**
+ * A transformation applied by a {@link Step} to each item read, before it is written.
+ *
+ * @param <I> the type of the items read
+ * @param <O> the type of the items written
+ */
+@FunctionalInterface
+public interface ItemProcessor<I, O> {
+
+    /**
+     * Processes an item.
+     *
+     * @param item the item read; not null
+     * @return the item to be written, or {@code null} to filter the item out
+     */
+    O process(I item);
+
+    /**
+     * @param <T> the type of the items
+     * @return a processor that returns the items unchanged
+     */
+    static <T> ItemProcessor<T, T> identity() {
+        return item -> item;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ranushan.runner.step;
+
+/**
+ * A source of items for a {@link Step}, read one at a time.
+ * <p>
+ * Readers are only called from the thread executing the step, and are closed by the step
+ * once it completes.
+ *
+ * @param <T> the type of the items
+ */
+public interface ItemReader<T> extends AutoCloseable {
+
+    /**
+     * Reads the next item.
+     *
+     * @return the next item, or {@code null} if the input is exhausted
+     */
+    T read();
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,33 @@
+package com.ranushan.runner.step;
+
+import java.util.List;
+
+/**
+ * A destination of the items of a {@link Step}, written one chunk at a time.
+ * <p>
+ * Writers are called from a single thread at a time, which may differ from the thread
+ * executing the step, and are closed by the step once it completes.
+ *
+ * @param <T> the type of the items
+ */
+public interface ItemWriter<T> extends AutoCloseable {
+
+    /**
+     * Writes a chunk of items.
+     *
+     * @param items the items of the chunk, in the order they were read; not empty
+     */
+    void write(List<? extends T> items);
+
+    /**
+     * Commits the chunks written so far, e.g. by flushing buffers or committing a
+     * transaction. The step calls this method after writing each chunk. The default
+     * implementation does nothing.
+     */
+    default void commit() {
+    }
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,333 @@
+package com.ranushan.runner.step;
+
+import com.ranushan.runner.BatchContext;
+import com.ranushan.util.ExceptionUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A chunk-oriented step, which streams items from an {@link ItemReader} through an
+ * {@link ItemProcessor} to an {@link ItemWriter}, one chunk of items at a time.
+ * <p>
+ * Items are read lazily, and each chunk is written then committed as soon as it is full.
+ * With more than one chunk in flight, chunks are written by a separate thread, so that
+ * reading the next chunk overlaps with writing the previous ones. The items held in memory
+ * are bounded by the chunk size times the number of chunks in flight, plus the chunk being
+ * read.
+ * <p>
+ * A step is executed once: the reader and the writer are closed when the execution
+ * completes.
+ *
+ * @param <I> the type of the items read
+ * @param <O> the type of the items written
+ */
+@Slf4j
+public final class Step<I, O> {
+
+    /**
+     * The default number of items per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * The default number of chunks in flight, i.e. one chunk written while the next one is
+     * read.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT_CHUNKS = 2;
+
+    private static final long HAND_OFF_POLL_MILLIS = 100L;
+    private static final List<Object> END_OF_INPUT = List.of();
+
+    @Getter private final String name;
+    @Getter private final int chunkSize;
+    @Getter private final int maxInFlightChunks;
+
+    private final ItemReader<? extends I> reader;
+    private final ItemProcessor<? super I, ? extends O> processor;
+    private final ItemWriter<? super O> writer;
+    private final AtomicBoolean executed = new AtomicBoolean();
+
+    private Step(Builder<I, O> builder) {
+        this.name = builder.name;
+        this.chunkSize = builder.chunkSize;
+        this.maxInFlightChunks = builder.maxInFlightChunks;
+        this.reader = builder.reader;
+        this.processor = builder.processor;
+        this.writer = builder.writer;
+    }
+
+    /**
+     * Creates a builder of a step that writes the items as they are read.
+     *
+     * @param <T>    the type of the items
+     * @param reader the source of the items; not null
+     * @param writer the destination of the items; not null
+     * @return a new {@link Builder}
+     */
+    public static <T> Builder<T, T> builder(ItemReader<? extends T> reader, ItemWriter<? super T> writer) {
+        return new Builder<>(reader, ItemProcessor.identity(), writer);
+    }
+
+    /**
+     * Creates a builder of a step that processes the items between reading and writing them.
+     *
+     * @param <I>       the type of the items read
+     * @param <O>       the type of the items written
+     * @param reader    the source of the items; not null
+     * @param processor the transformation of the items; not null
+     * @param writer    the destination of the items; not null
+     * @return a new {@link Builder}
+     */
+    public static <I, O> Builder<I, O> builder(ItemReader<? extends I> reader,
+                                               ItemProcessor<? super I, ? extends O> processor,
+                                               ItemWriter<? super O> writer) {
+        return new Builder<>(reader, processor, writer);
+    }
+
+    /**
+     * A {@link Step} builder.
+     *
+     * @param <I> the type of the items read
+     * @param <O> the type of the items written
+     */
+    public static final class Builder<I, O> {
+        private final ItemReader<? extends I> reader;
+        private final ItemProcessor<? super I, ? extends O> processor;
+        private final ItemWriter<? super O> writer;
+        private String name = "step";
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private int maxInFlightChunks = DEFAULT_MAX_IN_FLIGHT_CHUNKS;
+
+        private Builder(ItemReader<? extends I> reader, ItemProcessor<? super I, ? extends O> processor,
+                        ItemWriter<? super O> writer) {
+            this.reader = Objects.requireNonNull(reader, "The reader must not be null");
+            this.processor = Objects.requireNonNull(processor, "The processor must not be null");
+            this.writer = Objects.requireNonNull(writer, "The writer must not be null");
+        }
+
+        /**
+         * Sets the name of the step, used in logs and thread names (default is "step").
+         */
+        public Builder<I, O> name(String name) {
+            this.name = Objects.requireNonNull(name, "The name must not be null");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of items per chunk (default is {@link #DEFAULT_CHUNK_SIZE}).
+         */
+        public Builder<I, O> chunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of chunks waiting for, or being written while the next one
+         * is read (default is {@link #DEFAULT_MAX_IN_FLIGHT_CHUNKS}). With 1, chunks are read
+         * and written sequentially, by the thread executing the step.
+         */
+        public Builder<I, O> maxInFlightChunks(int maxInFlightChunks) {
+            this.maxInFlightChunks = maxInFlightChunks;
+            return this;
+        }
+
+        public Step<I, O> build() {
+            if (chunkSize < 1) {
+                throw ExceptionUtils.illegalArgument("The chunk size must be positive: %d", chunkSize);
+            }
+            if (maxInFlightChunks < 1) {
+                throw ExceptionUtils.illegalArgument("The number of chunks in flight must be positive: %d",
+                        maxInFlightChunks);
+            }
+            return new Step<>(this);
+        }
+    }
+
+    /*
+     * The counters of the reading side are only updated by the thread executing the step,
+     * and those of the writing side by the thread writing the chunks.
+     */
+    private static final class Counters {
+        private long readCount;
+        private long filterCount;
+        private long writeCount;
+        private long commitCount;
+        private boolean exhausted;
+    }
+
+    /**
+     * Executes this step until its input is exhausted.
+     *
+     * @return the outcome of the execution
+     * @throws IllegalStateException if this step was already executed
+     * @see #execute(BatchContext)
+     */
+    public StepResult execute() {
+        return execute(null);
+    }
+
+    /**
+     * Executes this step until its input is exhausted, or until the given context is
+     * cancelled. Cancellation is checked between chunks.
+     *
+     * @param context the context of the batch execution running this step, or {@code null}
+     * @return the outcome of the execution
+     * @throws IllegalStateException                        if this step was already executed
+     * @throws com.ranushan.exception.BatchRuntimeException if the execution was cancelled
+     *                                                      or interrupted
+     */
+    public StepResult execute(BatchContext context) {
+        if (!executed.compareAndSet(false, true)) {
+            throw ExceptionUtils.illegalState("Step %s already executed", name);
+        }
+        long start = System.nanoTime();
+        Counters counters = new Counters();
+        try (reader; writer) {
+            if (maxInFlightChunks == 1) {
+                executeSequentially(context, counters);
+            } else {
+                executePipelined(context, counters);
+            }
+        }
+        StepResult result = new StepResult(counters.readCount, counters.filterCount, counters.writeCount,
+                counters.commitCount, Duration.ofNanos(System.nanoTime() - start));
+        log.debug("Step {} completed: {}", name, result);
+        return result;
+    }
+
+    private void executeSequentially(BatchContext context, Counters counters) {
+        while (!counters.exhausted) {
+            checkCancelled(context, counters);
+            List<O> chunk = readChunk(counters);
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, counters);
+            }
+        }
+    }
+
+    private void executePipelined(BatchContext context, Counters counters) {
+        BlockingQueue<List<O>> queue = new ArrayBlockingQueue<>(maxInFlightChunks - 1);
+        // A plain thread, since each execution has its own writer and needs no pool
+        FutureTask<Void> writing = new FutureTask<>(() -> {
+            writeChunks(queue, counters);
+            return null;
+        });
+        Thread writerThread = new Thread(writing, "Step-" + name + "-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        try {
+            while (!counters.exhausted) {
+                checkCancelled(context, counters);
+                List<O> chunk = readChunk(counters);
+                if (!chunk.isEmpty()) {
+                    handOff(queue, chunk, writing);
+                }
+            }
+            handOff(queue, endOfInput(), writing);
+            writing.get();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw ExceptionUtils.batchRuntime(exception, "Step %s interrupted", name);
+        }
+        catch (ExecutionException exception) {
+            throw propagate(exception.getCause());
+        }
+        finally {
+            stopWriting(writerThread);
+        }
+    }
+
+    private List<O> readChunk(Counters counters) {
+        List<O> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize) {
+            I item = reader.read();
+            if (item == null) {
+                counters.exhausted = true;
+                break;
+            }
+            counters.readCount++;
+            O output = processor.process(item);
+            if (output == null) {
+                counters.filterCount++;
+            } else {
+                chunk.add(output);
+            }
+        }
+        return chunk;
+    }
+
+    private void writeChunk(List<O> chunk, Counters counters) {
+        writer.write(chunk);
+        writer.commit();
+        counters.writeCount += chunk.size();
+        counters.commitCount++;
+    }
+
+    private void writeChunks(BlockingQueue<List<O>> queue, Counters counters) throws InterruptedException {
+        List<O> chunk;
+        while ((chunk = queue.take()) != END_OF_INPUT) {
+            writeChunk(chunk, counters);
+        }
+    }
+
+    /*
+     * Waits for room in the queue, unless the writing thread failed in the meantime.
+     */
+    private void handOff(BlockingQueue<List<O>> queue, List<O> chunk, Future<?> writing)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(chunk, HAND_OFF_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (writing.isDone()) {
+                writing.get();
+                throw ExceptionUtils.illegalState("Writer of step %s stopped before the end of input", name);
+            }
+        }
+    }
+
+    /*
+     * The writer is closed once this method returns, so the writing thread must be over.
+     */
+    private void stopWriting(Thread writerThread) {
+        writerThread.interrupt();
+        try {
+            writerThread.join();
+        }
+        catch (InterruptedException exception) {
+            log.warn("Step {} interrupted while waiting for its writer to stop", name);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkCancelled(BatchContext context, Counters counters) {
+        if (context != null && context.isCancelled() || Thread.currentThread().isInterrupted()) {
+            throw ExceptionUtils.batchRuntime("Step %s cancelled after %d items read", name, counters.readCount);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<O> endOfInput() {
+        return (List<O>) END_OF_INPUT;
+    }
+
+    private RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return ExceptionUtils.batchRuntime(cause, "Step %s failed", name);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ranushan.runner.step;
+
+import java.time.Duration;
+
+/**
+ * The outcome of the execution of a {@link Step}.
+ *
+ * @param readCount   the number of items read
+ * @param filterCount the number of items filtered out by the processor
+ * @param writeCount  the number of items written
+ * @param commitCount the number of chunks committed
+ * @param elapsed     the duration of the execution
+ */
+public record StepResult(long readCount, long filterCount, long writeCount, long commitCount, Duration elapsed) {
+
+    /**
+     * @return the number of items read per second
+     */
+    public double itemsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0L ? 0.0 : readCount * 1e9 / nanos;
+    }
+}
@@ -4,6 +4,8 @@ import com.ranushan.configuration.BatchConfiguration;
 import com.ranushan.configuration.ConfigurationHolder;
 import com.ranushan.exception.InvalidClassException;
 import com.ranushan.runner.DynamicBatch;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.util.Lazy;
 
 /**
  * A {@link TimerBatch} that runs a dynamic batch object.
@@ -11,18 +13,36 @@ import com.ranushan.runner.DynamicBatch;
  */
 public class DynamicTimerBatch extends TimerBatch {
 
-    private final DynamicBatch annotatedBatch;
+    private final Lazy<DynamicBatch> annotatedBatch;
 
     /**
      * Creates a new DynamicTimerBatch for the given {@link BatchConfiguration}.
      *
-     * @param configuration the {@link BatchConfiguration} to be parsed
+     * @param configuration       the {@link BatchConfiguration} to be parsed
+     * @param configurationHolder the {@link ConfigurationHolder} of the managing instance
+     * @param scheduler           the shared {@link BatchScheduler}
      * @throws InvalidClassException if any exception regarding a reflective operation (e.g.:
      *                               class or method not found) occurs
      */
-    public DynamicTimerBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder) {
-        super(configuration, configurationHolder);
-        annotatedBatch = new DynamicBatch(configuration);
+    public DynamicTimerBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder,
+                             BatchScheduler scheduler) {
+        super(configuration, configurationHolder, scheduler);
+        annotatedBatch = Lazy.of(() -> new DynamicBatch(configuration, configurationHolder.getBatchTargetResolver()));
+        if (!configurationHolder.isLazyInstantiation()) {
+            annotatedBatch.get();
+        }
+    }
+
+    /**
+     * Instantiates the annotated batch object, if deferred at construction.
+     *
+     * @throws InvalidClassException if any exception regarding a reflective operation (e.g.:
+     *                               class or method not found) occurs
+     */
+    @Override
+    protected void initialize() {
+        super.initialize();
+        annotatedBatch.get();
     }
 
     /**
@@ -30,18 +50,18 @@ public class DynamicTimerBatch extends TimerBatch {
      */
     @Override
     protected void runTask() {
-        annotatedBatch.runBatchTask();
+        annotatedBatch.get().runBatchTask(getRunContext());
     }
 
     /**
      * @return the metadata associated with this AnnotatedTimerBatch
      */
     protected DynamicBatch getMetadata() {
-        return annotatedBatch;
+        return annotatedBatch.get();
     }
 
     @Override
     public String toString() {
-        return "AnnotatedTimerBatch$" + annotatedBatch.getBatchClass().getName();
+        return "AnnotatedTimerBatch$" + getConfiguration().getClassName();
     }
 }
\ No newline at end of file
@@ -3,17 +3,16 @@ package com.ranushan.runner.timer;
 import com.ranushan.configuration.BatchConfiguration;
 import com.ranushan.configuration.ConfigurationHolder;
 import com.ranushan.domain.BatchType;
-import com.ranushan.factory.BatchThreadFactory;
 import com.ranushan.runner.AbstractBatch;
+import com.ranushan.scheduler.BatchScheduler;
 import com.ranushan.util.DateUtils;
+import com.ranushan.util.ExceptionUtils;
+import com.ranushan.util.JsonWriter;
 import com.ranushan.util.TimeInterval;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Date;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * A thread-safe extensible Batch for tasks that are scheduled in the system to run
@@ -26,25 +25,24 @@ import java.util.concurrent.ScheduledExecutorService;
 public abstract class TimerBatch extends AbstractBatch {
     private final TimeInterval interval;
 
-    private final BatchThreadFactory threadFactory;
-    private final ScheduledExecutorService schedule;
-
     /**
      * Builds a {@link TimerBatch} from the given configuration.
      *
      * @param configuration the {@link BatchConfiguration} to be set
+     * @param scheduler     the shared {@link BatchScheduler} where this batch will be registered
      */
-    protected TimerBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder) {
-        super(configuration, configurationHolder);
+    protected TimerBatch(BatchConfiguration configuration, ConfigurationHolder configurationHolder,
+                         BatchScheduler scheduler) {
+        super(configuration, configurationHolder, scheduler);
 
-        if (configuration.getType() != BatchType.TIMER) {
+        if (configuration.getType() != BatchType.TIMER && configuration.getType() != BatchType.PARTITIONED) {
             throw new IllegalArgumentException("Not a timer batch");
         }
 
         this.interval = TimeInterval.of(configuration.getInterval());
-
-        threadFactory = new BatchThreadFactory(getName());
-        schedule = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        if (interval.toMillis() < 1) {
+            throw ExceptionUtils.illegalArgument("The timer interval must be at least 1 ms: %s", interval);
+        }
 
         setState(State.SET);
     }
@@ -55,10 +53,17 @@ public abstract class TimerBatch extends AbstractBatch {
     @Override
     public final void onStart() {
         log.info("Starting batch: {}", getName());
-        log.info("Batch {} scheduled to run every {}.", getName(), interval);
+        log.info("Batch {} scheduled to run every {} ({}).", getName(), interval, getSchedulingPolicy());
+
+        scheduleFirstExecution(System.currentTimeMillis() + getInitialDelay());
+    }
 
-        schedule.scheduleAtFixedRate(this, getInitialDelay(), interval.toMillis(),
-                java.util.concurrent.TimeUnit.MILLISECONDS);
+    /**
+     * Adds the timer interval to the given time.
+     */
+    @Override
+    protected long computeNextFireTime(long after) {
+        return after + interval.toMillis();
     }
 
     protected long getInitialDelay() {
@@ -75,39 +80,24 @@ public abstract class TimerBatch extends AbstractBatch {
     }
 
     /**
-     * Terminates this batch timer gracefully. Does not interfere with a currently executing
-     * task, if it exists.
+     * Terminates this batch timer gracefully. The pending trigger is cancelled in the shared
+     * scheduler, which does not interfere with a currently executing task, if it exists.
      */
     @Override
     public final void onStop() {
-        schedule.shutdown();
+        log.debug("Timer of batch {} cancelled", getName());
     }
 
     @Override
     public void afterRun() {
     }
 
-    /**
-     * @return A string with current batch status in JSON format
-     */
     @Override
-    public String getStatusJson() {
-        return getPresetStatusJsonBuilder() +
-                """
-                {
-                    "interval": %s,
-                    "modulate": %s
-                }
-                """.formatted(interval, getConfiguration().isModulate());
-    }
-
-    /**
-     * Returns the {@link ExecutorService} associated with this batch instance, for testing
-     * purposes.
-     *
-     * @return the {@link ExecutorService}
-     */
-    protected ScheduledExecutorService getExecutorService() {
-        return schedule;
+    protected void writeStatusFields(JsonWriter writer) {
+        writer.name("interval").beginObject()
+              .member("duration", interval.getDuration())
+              .member("timeUnit", interval.getTimeUnit())
+              .endObject()
+              .member("modulate", getConfiguration().isModulate());
     }
 }
\ No newline at end of file
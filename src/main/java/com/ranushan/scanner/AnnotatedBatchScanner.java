@@ -3,10 +3,12 @@ package com.ranushan.scanner;
 import com.ranushan.annotation.Batch;
 import com.ranushan.configuration.BatchConfiguration;
 import com.ranushan.exception.BatchConfigurationException;
-import com.ranushan.util.AnnotationUtils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -14,12 +16,16 @@ import java.util.stream.Collectors;
  * Contains methods for scanning package(s) to find annotated batches.
  *
  */
+@Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class AnnotatedBatchScanner {
 
     /**
      * Scans the specified base package for batches.
      * <p>
+     * The batch classes of each class-path root that comes with a {@link BatchIndex}
+     * generated at compile time are read from the index; the other roots are scanned.
+     * <p>
      * <strong>NOTE: </strong> an empty {@code basePackage} string as a parameter may result
      * in a full class-path scan.
      *
@@ -28,11 +34,18 @@ public class AnnotatedBatchScanner {
      *         the specified package, or an empty set; not null
      */
     public static Set<BatchConfiguration> scanPackage(String basePackage) {
-        Set<String> classNames = findAnnotatedBatchClasses(basePackage);
-        return classNames.stream()
-                         .map(AnnotatedBatchScanner::toClass)
-                         .map(BatchConfiguration::fromAnnotatedClass)
-                         .collect(Collectors.toSet());
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        BatchIndex index = BatchIndex.load(classLoader);
+        Set<Class<?>> batchClasses = new HashSet<>();
+        for (String className : index.findClassNames(basePackage)) {
+            toIndexedClass(className, classLoader).ifPresent(batchClasses::add);
+        }
+        for (String className : findScannedBatchClasses(basePackage, classLoader, index, batchClasses.isEmpty())) {
+            batchClasses.add(toClass(className, classLoader));
+        }
+        return batchClasses.stream()
+                           .map(BatchConfiguration::fromAnnotatedClass)
+                           .collect(Collectors.toSet());
     }
 
     /**
@@ -46,12 +59,62 @@ public class AnnotatedBatchScanner {
      *          annotation, or an empty set; not null
      */
     protected static Set<String> findAnnotatedBatchClasses(String basePackage) {
-        return AnnotationUtils.findClassesWithAnnotation(Batch.class, basePackage);
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        BatchIndex index = BatchIndex.load(classLoader);
+        Set<String> classNames = index.findClassNames(basePackage);
+        Set<String> result = new HashSet<>(classNames);
+        result.addAll(findScannedBatchClasses(basePackage, classLoader, index, classNames.isEmpty()));
+        return result;
     }
 
-    protected static Class<?> toClass(String className) {
+    /*
+     * The roots compiled without the annotation processor (e.g. some dependencies) are still
+     * scanned, and the whole class path is scanned if no batch is indexed.
+     */
+    private static Set<String> findScannedBatchClasses(String basePackage, ClassLoader classLoader,
+            BatchIndex index, boolean noIndexedBatch) {
+        if (noIndexedBatch) {
+            log.debug("No indexed batch found in package \"{}\". Scanning the class path...", basePackage);
+            return ClassPathScanner.findClassesWithAnnotation(Batch.class, basePackage, classLoader);
+        }
+        return ClassPathScanner.findClassesWithAnnotation(Batch.class, basePackage, classLoader,
+                root -> !index.isIndexed(root));
+    }
+
+    /*
+     * An index left by a previous compilation may still list a class that was deleted, or
+     * whose @Batch annotation was removed: such classes are skipped rather than failing the
+     * whole scan.
+     */
+    private static Optional<Class<?>> toIndexedClass(String className, ClassLoader classLoader) {
+        Class<?> batchClass;
+        try {
+            batchClass = Class.forName(className, false, classLoader);
+        }
+        catch (ClassNotFoundException | LinkageError exception) {
+            log.warn("Skipping the indexed batch class {}, which cannot be loaded: {}", className,
+                    exception.toString());
+            return Optional.empty();
+        }
+        if (!batchClass.isAnnotationPresent(Batch.class)) {
+            log.warn("Skipping the indexed class {}, which is not annotated with @Batch anymore. "
+                    + "Rebuild the project to refresh the batch index", className);
+            return Optional.empty();
+        }
+        return Optional.of(batchClass);
+    }
+
+    /**
+     * Loads a batch class without initializing it, with the class loader that was scanned.
+     *
+     * @param className the binary name of the class
+     * @param classLoader the class loader that found the class
+     * @return the class; not null
+     * @throws BatchConfigurationException if the class cannot be found
+     */
+    protected static Class<?> toClass(String className, ClassLoader classLoader) {
         try {
-            return Class.forName(className);
+            return Class.forName(className, false, classLoader);
         }
         catch (ClassNotFoundException exception) {
             throw new BatchConfigurationException(exception);
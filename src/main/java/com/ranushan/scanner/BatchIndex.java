@@ -0,0 +1,127 @@
+package com.ranushan.scanner;
+
+import com.ranushan.exception.BatchConfigurationException;
+import com.ranushan.util.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * An index of batch classes, generated at compile time by the
+ * {@link com.ranushan.processor.BatchIndexProcessor}.
+ * <p>
+ * Each line of an index file contains the binary name of a class annotated with
+ * {@code @Batch}. Blank lines and lines starting with {@value #COMMENT} are ignored.
+ * <p>
+ * An index file only covers the class-path root (directory or JAR file) it comes from, so
+ * the class names are kept per root.
+ *
+ */
+@Slf4j
+public class BatchIndex {
+
+    /**
+     * The location of the index files in the class path.
+     */
+    public static final String LOCATION = "META-INF/shared-scheduler/batches.idx";
+
+    public static final String COMMENT = "//";
+
+    private final Map<String, Set<String>> classNamesByRoot;
+
+    private BatchIndex(Map<String, Set<String>> classNamesByRoot) {
+        this.classNamesByRoot = Collections.unmodifiableMap(classNamesByRoot);
+    }
+
+    /**
+     * Loads all the index files available to the given class loader.
+     *
+     * @param classLoader the class loader to search for index files; not null
+     * @return the {@link BatchIndex}, which is empty if no index file is present in the
+     *         class path; not null
+     * @throws BatchConfigurationException if an index file cannot be read
+     */
+    public static BatchIndex load(ClassLoader classLoader) {
+        try {
+            Map<String, Set<String>> classNamesByRoot = new LinkedHashMap<>();
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                log.debug("Reading batch index: {}", resource);
+                try (InputStream inputStream = resource.openStream()) {
+                    classNamesByRoot.computeIfAbsent(ClassPathScanner.toRoot(resource, LOCATION),
+                            root -> new TreeSet<>()).addAll(read(inputStream));
+                }
+            }
+            return new BatchIndex(classNamesByRoot);
+        }
+        catch (IOException exception) {
+            throw new BatchConfigurationException("Unable to read the batch index", exception);
+        }
+    }
+
+    /**
+     * Reads the class names of an index file.
+     *
+     * @param inputStream the content of the index file; not null
+     * @return the class names, in order; not null
+     * @throws IOException if the index file cannot be read
+     */
+    public static Set<String> read(InputStream inputStream) throws IOException {
+        Set<String> classNames = new TreeSet<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith(COMMENT)) {
+                classNames.add(line);
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * @return {@code true} if no index file is present in the class path
+     */
+    public boolean isEmpty() {
+        return classNamesByRoot.isEmpty();
+    }
+
+    /**
+     * Checks whether the given class-path root comes with an index file.
+     *
+     * @param root the class-path root, as returned by {@link ClassPathScanner#toRoot(URL, String)}
+     * @return {@code true} if the batches of the given root are indexed
+     */
+    public boolean isIndexed(String root) {
+        return classNamesByRoot.containsKey(root);
+    }
+
+    /**
+     * Returns the names of the indexed classes that belong to the given package or any of
+     * its subpackages.
+     *
+     * @param basePackage the base package; an empty string matches all classes
+     * @return a {@link Set} of class names, or an empty set; not null
+     */
+    public Set<String> findClassNames(String basePackage) {
+        String prefix = StringUtils.isEmpty(basePackage) ? "" : basePackage + '.';
+        return classNamesByRoot.values().stream()
+                               .flatMap(Collection::stream)
+                               .filter(className -> className.startsWith(prefix))
+                               .collect(Collectors.toSet());
+    }
+}
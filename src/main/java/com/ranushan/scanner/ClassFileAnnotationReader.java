@@ -0,0 +1,197 @@
+package com.ranushan.scanner;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Reads the class-level annotations of a class directly from its class-file bytes, without
+ * loading the class.
+ * <p>
+ * Only the constant pool and the {@code RuntimeVisibleAnnotations} attribute of the class
+ * are parsed; fields and methods are skipped.
+ *
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ClassFileAnnotationReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    /**
+     * Converts an annotation class into the type descriptor stored in class files (e.g.:
+     * {@code Lcom/ranushan/annotation/Batch;}).
+     *
+     * @param annotationClass the annotation class; not null
+     * @return the type descriptor of the annotation class
+     */
+    public static String toDescriptor(Class<?> annotationClass) {
+        return 'L' + annotationClass.getName().replace('.', '/') + ';';
+    }
+
+    /**
+     * Checks whether the class represented by the given class-file bytes is annotated with the
+     * annotation identified by the given type descriptor.
+     *
+     * @param classBytes           the class-file bytes; not null
+     * @param annotationDescriptor the type descriptor of the annotation to look for
+     * @return the binary name of the class if it carries the annotation; otherwise
+     *         {@link Optional#empty()}, which is also returned for malformed class files
+     */
+    public static Optional<String> findAnnotatedClassName(byte[] classBytes, String annotationDescriptor) {
+        try {
+            return parse(ByteBuffer.wrap(classBytes), annotationDescriptor);
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> parse(ByteBuffer buffer, String annotationDescriptor) {
+        if (buffer.getInt() != MAGIC) {
+            return Optional.empty();
+        }
+        buffer.position(buffer.position() + 4); // minor and major versions
+
+        int constantPoolCount = buffer.getShort() & 0xFFFF;
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        boolean descriptorFound = false;
+
+        for (int index = 1; index < constantPoolCount; index++) {
+            int tag = buffer.get() & 0xFF;
+            switch (tag) {
+                case CONSTANT_UTF8 -> {
+                    utf8[index] = readUtf8(buffer);
+                    descriptorFound |= annotationDescriptor.equals(utf8[index]);
+                }
+                case CONSTANT_CLASS -> classNameIndexes[index] = buffer.getShort() & 0xFFFF;
+                case CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> skip(buffer, 2);
+                case CONSTANT_METHOD_HANDLE -> skip(buffer, 3);
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF,
+                     CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC,
+                     CONSTANT_INVOKE_DYNAMIC -> skip(buffer, 4);
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    skip(buffer, 8);
+                    index++; // 8-byte constants take up two entries
+                }
+                default -> throw new IllegalArgumentException("Unknown constant pool tag: " + tag);
+            }
+        }
+        if (!descriptorFound) {
+            // The annotation type is not referenced anywhere in this class
+            return Optional.empty();
+        }
+
+        skip(buffer, 2); // access flags
+        int thisClass = buffer.getShort() & 0xFFFF;
+        skip(buffer, 2); // super class
+        skip(buffer, 2 * (buffer.getShort() & 0xFFFF)); // interfaces
+        skipMembers(buffer); // fields
+        skipMembers(buffer); // methods
+
+        int attributesCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < attributesCount; i++) {
+            String attributeName = utf8[buffer.getShort() & 0xFFFF];
+            int length = buffer.getInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                if (containsAnnotation(buffer, utf8, annotationDescriptor)) {
+                    return Optional.of(utf8[classNameIndexes[thisClass]].replace('/', '.'));
+                }
+                return Optional.empty();
+            }
+            skip(buffer, length);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean containsAnnotation(ByteBuffer buffer, String[] utf8, String annotationDescriptor) {
+        int annotationsCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < annotationsCount; i++) {
+            String type = utf8[buffer.getShort() & 0xFFFF];
+            if (annotationDescriptor.equals(type)) {
+                return true;
+            }
+            skipElementValuePairs(buffer);
+        }
+        return false;
+    }
+
+    private static void skipElementValuePairs(ByteBuffer buffer) {
+        int pairsCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < pairsCount; i++) {
+            skip(buffer, 2); // element name
+            skipElementValue(buffer);
+        }
+    }
+
+    private static void skipElementValue(ByteBuffer buffer) {
+        char tag = (char) (buffer.get() & 0xFF);
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> skip(buffer, 2);
+            case 'e' -> skip(buffer, 4);
+            case '@' -> {
+                skip(buffer, 2);
+                skipElementValuePairs(buffer);
+            }
+            case '[' -> {
+                int valuesCount = buffer.getShort() & 0xFFFF;
+                for (int i = 0; i < valuesCount; i++) {
+                    skipElementValue(buffer);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown element value tag: " + tag);
+        }
+    }
+
+    private static void skipMembers(ByteBuffer buffer) {
+        int membersCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < membersCount; i++) {
+            skip(buffer, 6); // access flags, name and descriptor
+            int attributesCount = buffer.getShort() & 0xFFFF;
+            for (int j = 0; j < attributesCount; j++) {
+                skip(buffer, 2);
+                skip(buffer, buffer.getInt());
+            }
+        }
+    }
+
+    /*
+     * Class files use a modified UTF-8 encoding, which only differs from standard UTF-8 for
+     * the null character and supplementary characters; neither of them is relevant for type
+     * descriptors.
+     */
+    private static String readUtf8(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        skip(buffer, length);
+        return value;
+    }
+
+    private static void skip(ByteBuffer buffer, int length) {
+        buffer.position(buffer.position() + length);
+    }
+}
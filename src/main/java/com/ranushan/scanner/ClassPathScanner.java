@@ -0,0 +1,200 @@
+package com.ranushan.scanner;
+
+import com.ranushan.exception.BatchConfigurationException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Scans the class path for classes carrying a given annotation by reading their class-file
+ * bytes, so that only the matching classes need to be loaded afterwards.
+ * <p>
+ * Both exploded directories and JAR files (including nested JARs, as long as the class
+ * loader provides a {@link JarURLConnection} for them, e.g. Spring Boot executable JARs)
+ * are supported. The class-path roots of the base package are scanned in parallel.
+ *
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ClassPathScanner {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    private static final String FILE_PROTOCOL = "file";
+
+    /**
+     * Finds the classes annotated with the given annotation in the given base package and
+     * its subpackages, using the context class loader.
+     *
+     * @param annotationClass the annotation to look for; not null
+     * @param basePackage     the base package; an empty string may result in a full class-path
+     *                        scan
+     * @return the binary names of the annotated classes, or an empty set; not null
+     * @throws BatchConfigurationException if a class-path root cannot be read
+     */
+    public static Set<String> findClassesWithAnnotation(Class<? extends Annotation> annotationClass,
+                                                        String basePackage) {
+        return findClassesWithAnnotation(annotationClass, basePackage, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Finds the classes annotated with the given annotation in the given base package and
+     * its subpackages.
+     *
+     * @param annotationClass the annotation to look for; not null
+     * @param basePackage     the base package; an empty string may result in a full class-path
+     *                        scan
+     * @param classLoader     the class loader whose resources will be scanned; not null
+     * @return the binary names of the annotated classes, or an empty set; not null
+     * @throws BatchConfigurationException if a class-path root cannot be read
+     */
+    public static Set<String> findClassesWithAnnotation(Class<? extends Annotation> annotationClass,
+                                                        String basePackage, ClassLoader classLoader) {
+        return findClassesWithAnnotation(annotationClass, basePackage, classLoader, root -> true);
+    }
+
+    /**
+     * Finds the classes annotated with the given annotation in the given base package and
+     * its subpackages, within the class-path roots accepted by the given filter.
+     *
+     * @param annotationClass the annotation to look for; not null
+     * @param basePackage     the base package; an empty string may result in a full class-path
+     *                        scan
+     * @param classLoader     the class loader whose resources will be scanned; not null
+     * @param rootFilter      the filter of the class-path roots to be scanned, as returned by
+     *                        {@link #toRoot(URL, String)}; not null
+     * @return the binary names of the annotated classes, or an empty set; not null
+     * @throws BatchConfigurationException if a class-path root cannot be read
+     */
+    public static Set<String> findClassesWithAnnotation(Class<? extends Annotation> annotationClass,
+                                                        String basePackage, ClassLoader classLoader,
+                                                        Predicate<String> rootFilter) {
+        Objects.requireNonNull(annotationClass, "The annotation class must not be null");
+        Objects.requireNonNull(classLoader, "The class loader must not be null");
+        Objects.requireNonNull(rootFilter, "The root filter must not be null");
+
+        String descriptor = ClassFileAnnotationReader.toDescriptor(annotationClass);
+        String path = basePackage == null ? "" : basePackage.replace('.', '/');
+        try {
+            return findRoots(classLoader, path).parallelStream()
+                    .filter(root -> rootFilter.test(toRoot(root, path)))
+                    .flatMap(root -> scanRoot(root, path, descriptor).stream())
+                    .collect(Collectors.toSet());
+        }
+        catch (IOException | UncheckedIOException exception) {
+            throw new BatchConfigurationException(exception);
+        }
+    }
+
+    /**
+     * Returns the class-path root (directory or JAR file) a resource comes from.
+     *
+     * @param resource the URL of the resource; not null
+     * @param path     the path of the resource, relative to the class-path root
+     * @return the URL of the class-path root, without trailing separator
+     */
+    public static String toRoot(URL resource, String path) {
+        String location = stripTrailingSlash(resource.toExternalForm());
+        String relativePath = stripTrailingSlash(path);
+        if (!relativePath.isEmpty() && location.endsWith(relativePath)) {
+            location = location.substring(0, location.length() - relativePath.length());
+        }
+        return stripTrailingSlash(location);
+    }
+
+    private static String stripTrailingSlash(String location) {
+        return location.endsWith("/") ? location.substring(0, location.length() - 1) : location;
+    }
+
+    private static List<URL> findRoots(ClassLoader classLoader, String path) throws IOException {
+        return Collections.list(classLoader.getResources(path));
+    }
+
+    private static List<String> scanRoot(URL root, String path, String descriptor) {
+        log.debug("Scanning class-path root: {}", root);
+        try {
+            if (FILE_PROTOCOL.equals(root.getProtocol())) {
+                return scanDirectory(Paths.get(root.toURI()), descriptor);
+            }
+            URLConnection connection = root.openConnection();
+            if (connection instanceof JarURLConnection jarConnection) {
+                return scanJar(jarConnection, path, descriptor);
+            }
+            log.warn("Unsupported class-path root protocol \"{}\": {}", root.getProtocol(), root);
+            return Collections.emptyList();
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        catch (URISyntaxException exception) {
+            throw new BatchConfigurationException(exception);
+        }
+    }
+
+    private static List<String> scanDirectory(Path directory, String descriptor) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(file -> file.getFileName().toString().endsWith(CLASS_FILE_SUFFIX))
+                        .filter(Files::isRegularFile)
+                        .map(file -> ClassFileAnnotationReader.findAnnotatedClassName(readAllBytes(file), descriptor))
+                        .flatMap(Optional::stream)
+                        .toList();
+        }
+    }
+
+    private static List<String> scanJar(JarURLConnection connection, String path, String descriptor)
+            throws IOException {
+        // Use a dedicated JarFile instance, which can be safely closed afterwards
+        connection.setUseCaches(false);
+        String prefix = path.isEmpty() ? "" : path + '/';
+        List<String> classNames = new ArrayList<>();
+        try (JarFile jarFile = connection.getJarFile()) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (!entry.isDirectory() && name.startsWith(prefix) && name.endsWith(CLASS_FILE_SUFFIX)) {
+                    try (InputStream inputStream = jarFile.getInputStream(entry)) {
+                        ClassFileAnnotationReader.findAnnotatedClassName(inputStream.readAllBytes(), descriptor)
+                                .ifPresent(classNames::add);
+                    }
+                }
+            }
+        }
+        return classNames;
+    }
+
+    private static byte[] readAllBytes(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ranushan.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A scheduling engine that dispatches the triggers of all batches managed by a
+ * {@link com.ranushan.BatchManager}.
+ * <p>
+ * Implementations are expected to be thread-safe and to serve any number of batches with a
+ * bounded number of threads.
+ *
+ */
+public interface BatchScheduler {
+
+    /**
+     * Registers a one-shot trigger that fires after the given delay.
+     *
+     * @param task  the task to execute; not null
+     * @param delay the time from now to delay execution
+     * @param unit  the time unit of the delay parameter; not null
+     * @return a {@link ScheduledTrigger} that can be used to cancel the registration
+     */
+    ScheduledTrigger schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * Executes the given task asynchronously on a virtual thread, so that the calling
+     * scheduler thread is released right after firing a trigger.
+     *
+     * @param task the task to execute; not null
+     * @throws java.util.concurrent.RejectedExecutionException if this scheduler has been
+     *                                                         shut down
+     */
+    void dispatch(Runnable task);
+
+    /**
+     * Initiates an orderly shutdown in which previously registered triggers are discarded.
+     */
+    void shutdown();
+
+    /**
+     * @return {@code true} if this scheduler has been shut down; otherwise {@code false}
+     */
+    boolean isShutdown();
+}
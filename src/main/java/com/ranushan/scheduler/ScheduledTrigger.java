@@ -0,0 +1,21 @@
+package com.ranushan.scheduler;
+
+/**
+ * A handle to a trigger registered in a {@link BatchScheduler}.
+ *
+ */
+public interface ScheduledTrigger {
+
+    /**
+     * Cancels this trigger. Does not interfere with a currently executing task, if it exists.
+     *
+     * @return {@code false} if the trigger could not be cancelled, typically because it was
+     *         already cancelled or has already fired; otherwise {@code true}
+     */
+    boolean cancel();
+
+    /**
+     * @return {@code true} if this trigger was cancelled; otherwise {@code false}
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,34 @@
+package com.ranushan.scheduler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+
+/**
+ * Enumerates the available {@link BatchScheduler} implementations.
+ *
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SchedulerType {
+    /**
+     * A scheduler backed by a {@link java.util.concurrent.ScheduledThreadPoolExecutor}, whose
+     * trigger queue is a binary heap with O(log n) insertion and cancellation.
+     */
+    THREAD_POOL((poolSize, tickDuration) -> new ThreadPoolBatchScheduler(poolSize)),
+
+    /**
+     * A scheduler backed by a hierarchical hashed timing wheel, with O(1) insertion and
+     * cancellation and an accuracy bounded by the configured tick duration.
+     */
+    TIMING_WHEEL(TimingWheelBatchScheduler::new);
+
+    /**
+     * Returns the factory {@link BiFunction} that creates a new scheduler of this type, given
+     * the pool size and the tick duration.
+     *
+     */
+    private final BiFunction<Integer, Duration, BatchScheduler> factoryFunction;
+}
@@ -0,0 +1,99 @@
+package com.ranushan.scheduler;
+
+import com.ranushan.factory.BatchThreadFactory;
+import com.ranushan.factory.TaskExecutorFactory;
+import com.ranushan.util.ExceptionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link BatchScheduler} backed by a single {@link ScheduledThreadPoolExecutor} with a
+ * small, fixed number of timer threads shared by all batches.
+ *
+ */
+@Slf4j
+public class ThreadPoolBatchScheduler implements BatchScheduler {
+
+    /**
+     * The default number of timer threads, which is equal to the number of available
+     * processors.
+     */
+    public static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private static final String THREAD_NAME_PREFIX = "scheduler";
+    private static final String TASK_THREAD_NAME_PREFIX = "task";
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final ExecutorService taskExecutor;
+
+    /**
+     * Creates a new scheduler with {@link #DEFAULT_POOL_SIZE} timer threads.
+     */
+    public ThreadPoolBatchScheduler() {
+        this(DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Creates a new scheduler with the given number of timer threads.
+     *
+     * @param poolSize the number of timer threads; must be positive
+     * @throws IllegalArgumentException if the specified pool size is not positive
+     */
+    public ThreadPoolBatchScheduler(int poolSize) {
+        if (poolSize < 1) {
+            throw ExceptionUtils.illegalArgument("The pool size must be positive: %d", poolSize);
+        }
+        executor = new ScheduledThreadPoolExecutor(poolSize, new BatchThreadFactory(THREAD_NAME_PREFIX));
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        taskExecutor = TaskExecutorFactory.newVirtualThreadExecutor(TASK_THREAD_NAME_PREFIX);
+        log.debug("Batch scheduler created with {} timer thread(s)", poolSize);
+    }
+
+    @Override
+    public ScheduledTrigger schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "The task must not be null");
+        return new FutureTrigger(executor.schedule(task, delay, unit));
+    }
+
+    @Override
+    public void dispatch(Runnable task) {
+        taskExecutor.execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+        taskExecutor.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * @return the number of triggers currently registered in this scheduler
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    private record FutureTrigger(ScheduledFuture<?> future) implements ScheduledTrigger {
+
+        @Override
+        public boolean cancel() {
+            return future.cancel(false);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.ranushan.scheduler;
+
+import com.ranushan.factory.BatchThreadFactory;
+import com.ranushan.factory.TaskExecutorFactory;
+import com.ranushan.util.ExceptionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link BatchScheduler} backed by a hierarchical hashed timing wheel.
+ * <p>
+ * Triggers are stored in {@value #LEVELS} wheels of {@value #WHEEL_SIZE} slots each, where
+ * every slot of a level spans a full revolution of the level below. Registering and
+ * cancelling a trigger are O(1) operations that never contend on a shared lock: callers
+ * only append to lock-free queues, which are drained by a single ticker thread that also
+ * cascades triggers down the hierarchy as time advances.
+ * <p>
+ * Expired triggers are handed over to a small pool of worker threads, so that a long task
+ * never delays the ticker. The accuracy of this scheduler is bounded by its tick duration:
+ * a trigger fires on the first tick at or after its deadline.
+ *
+ */
+@Slf4j
+public class TimingWheelBatchScheduler implements BatchScheduler {
+
+    /**
+     * The default tick duration (10 milliseconds).
+     */
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 6;
+
+    private static final String TICKER_THREAD_NAME_PREFIX = "timing-wheel";
+    private static final String WORKER_THREAD_NAME_PREFIX = "scheduler";
+    private static final String TASK_THREAD_NAME_PREFIX = "task";
+
+    private final long tickNanos;
+    private final long startTime;
+    private final Bucket[][] wheels = new Bucket[LEVELS][WHEEL_SIZE];
+
+    private final Queue<Entry> pendingEntries = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelledEntries = new ConcurrentLinkedQueue<>();
+
+    private final ExecutorService workers;
+    private final ExecutorService taskExecutor;
+    private final Thread ticker;
+
+    /*
+     * The next tick to be processed. Only accessed by the ticker thread.
+     */
+    private long currentTick;
+
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a new timing wheel with {@link #DEFAULT_TICK_DURATION} and
+     * {@link ThreadPoolBatchScheduler#DEFAULT_POOL_SIZE} worker threads.
+     */
+    public TimingWheelBatchScheduler() {
+        this(ThreadPoolBatchScheduler.DEFAULT_POOL_SIZE, DEFAULT_TICK_DURATION);
+    }
+
+    /**
+     * Creates a new timing wheel.
+     *
+     * @param poolSize     the number of worker threads that execute expired triggers; must be
+     *                     positive
+     * @param tickDuration the duration of a tick, which determines the accuracy of this
+     *                     scheduler (for example: 1 ms, 10 ms or 1 s); not null
+     * @throws IllegalArgumentException if the pool size or the tick duration are not positive
+     */
+    public TimingWheelBatchScheduler(int poolSize, Duration tickDuration) {
+        Objects.requireNonNull(tickDuration, "The tick duration must not be null");
+        if (poolSize < 1) {
+            throw ExceptionUtils.illegalArgument("The pool size must be positive: %d", poolSize);
+        }
+        if (tickDuration.toMillis() < 1) {
+            throw ExceptionUtils.illegalArgument("The tick duration must be at least 1 ms: %s", tickDuration);
+        }
+        for (Bucket[] wheel : wheels) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                wheel[slot] = new Bucket();
+            }
+        }
+        tickNanos = tickDuration.toNanos();
+        workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new BatchThreadFactory(WORKER_THREAD_NAME_PREFIX));
+        taskExecutor = TaskExecutorFactory.newVirtualThreadExecutor(TASK_THREAD_NAME_PREFIX);
+        startTime = System.nanoTime();
+        ticker = new BatchThreadFactory(TICKER_THREAD_NAME_PREFIX).newThread(this::tickLoop);
+        ticker.start();
+        log.debug("Timing wheel created with tick duration {} and {} worker thread(s)", tickDuration, poolSize);
+    }
+
+    @Override
+    public ScheduledTrigger schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "The task must not be null");
+        if (shutdown) {
+            throw new RejectedExecutionException("The scheduler has been shut down");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(0L, unit.toNanos(delay));
+        Entry entry = new Entry(task, deadline);
+        pendingEntries.add(entry);
+        return entry;
+    }
+
+    @Override
+    public void dispatch(Runnable task) {
+        taskExecutor.execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        ticker.interrupt();
+        workers.shutdown();
+        taskExecutor.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    private void tickLoop() {
+        while (!shutdown) {
+            long tickDeadline = (currentTick + 1) * tickNanos;
+            long sleepNanos;
+            while ((sleepNanos = tickDeadline - (System.nanoTime() - startTime)) > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                if (shutdown) {
+                    return;
+                }
+            }
+            processTick();
+        }
+    }
+
+    private void processTick() {
+        int slot = (int) (currentTick & WHEEL_MASK);
+        if (slot == 0) {
+            cascade();
+        }
+        removeCancelledEntries();
+        transferPendingEntries();
+
+        Bucket bucket = wheels[0][slot];
+        Entry entry = bucket.detachAll();
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.next = null;
+            expire(entry);
+            entry = next;
+        }
+        currentTick++;
+    }
+
+    /*
+     * Moves the triggers of the upper level slots matching the current tick down the
+     * hierarchy, stopping at the first level that did not complete a revolution.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int slot = (int) ((currentTick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+            Entry entry = wheels[level][slot].detachAll();
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.next = null;
+                place(entry);
+                entry = next;
+            }
+            if (slot != 0) {
+                break;
+            }
+        }
+    }
+
+    private void transferPendingEntries() {
+        Entry entry;
+        while ((entry = pendingEntries.poll()) != null) {
+            if (entry.state == Entry.PENDING) {
+                place(entry);
+            }
+        }
+    }
+
+    private void removeCancelledEntries() {
+        Entry entry;
+        while ((entry = cancelledEntries.poll()) != null) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        long deadlineTick = Math.max(currentTick, (entry.deadline + tickNanos - 1) / tickNanos);
+        long ticks = deadlineTick - currentTick;
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (ticks < 1L << ((level + 1) * WHEEL_BITS)) {
+                int slot = (int) ((deadlineTick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+                wheels[level][slot].add(entry);
+                return;
+            }
+        }
+        // Beyond the wheel horizon: park it in the last slot to be cascaded, then re-placed
+        int topShift = (LEVELS - 1) * WHEEL_BITS;
+        int slot = (int) (((currentTick >>> topShift) + WHEEL_MASK) & WHEEL_MASK);
+        wheels[LEVELS - 1][slot].add(entry);
+    }
+
+    private void expire(Entry entry) {
+        entry.bucket = null;
+        if (!entry.markRunning()) {
+            return;
+        }
+        try {
+            workers.execute(entry);
+        }
+        catch (RejectedExecutionException exception) {
+            log.debug("Trigger discarded after shutdown", exception);
+        }
+    }
+
+    /*
+     * A registered trigger, which is also an intrusive doubly-linked list node.
+     */
+    private final class Entry implements ScheduledTrigger, Runnable {
+        static final int PENDING = 0;
+        static final int RUNNING = 1;
+        static final int CANCELLED = 2;
+        static final int DONE = 3;
+
+        private static final AtomicIntegerFieldUpdater<Entry> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = PENDING;
+
+        private Entry prev;
+        private Entry next;
+        private Bucket bucket;
+
+        Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        boolean markRunning() {
+            return STATE.compareAndSet(this, PENDING, RUNNING);
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            }
+            catch (RuntimeException | Error exception) {
+                log.error("Scheduled task failed", exception);
+            }
+            finally {
+                STATE.compareAndSet(this, RUNNING, DONE);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            int current;
+            while ((current = state) == PENDING || current == RUNNING) {
+                if (STATE.compareAndSet(this, current, CANCELLED)) {
+                    if (current == PENDING) {
+                        cancelledEntries.add(this);
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+    }
+
+    /*
+     * A wheel slot. Only accessed by the ticker thread.
+     */
+    private final class Bucket {
+        private Entry head;
+        private Entry tail;
+
+        void add(Entry entry) {
+            entry.bucket = this;
+            entry.prev = tail;
+            entry.next = null;
+            if (tail == null) {
+                head = entry;
+            }
+            else {
+                tail.next = entry;
+            }
+            tail = entry;
+        }
+
+        void remove(Entry entry) {
+            if (entry.prev == null) {
+                head = entry.next;
+            }
+            else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                tail = entry.prev;
+            }
+            else {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        /*
+         * Empties this bucket and returns its former head. The returned entries remain
+         * chained through their next references.
+         */
+        Entry detachAll() {
+            Entry first = head;
+            for (Entry entry = first; entry != null; entry = entry.next) {
+                entry.prev = null;
+                entry.bucket = null;
+            }
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+}
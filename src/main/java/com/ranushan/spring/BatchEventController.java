@@ -0,0 +1,241 @@
+package com.ranushan.spring;
+
+import com.ranushan.BatchManager;
+import com.ranushan.event.BatchEvent;
+import com.ranushan.event.BatchEventSubscription;
+import com.ranushan.util.JsonWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams the state transitions of the managed batches as server-sent events.
+ * <p>
+ * Each subscriber reads its own subscription to the event bus of the {@link BatchManager}:
+ * a cursor over a bounded ring, so that a slow client never delays the batches nor the other
+ * clients, and only loses the events it could not receive in time, which a {@code dropped}
+ * event reports. A single dispatcher thread checks the subscriptions periodically, and hands
+ * those with pending events over to a sender thread of their own; an idle client holds no
+ * thread, and only receives a heartbeat comment from time to time, so that a disconnection
+ * is detected even if no batch changes state.
+ * <p>
+ * Writing to a client blocks, until the container times it out. A client whose send does not
+ * complete within the send timeout is disconnected by the dispatcher: it is sent nothing
+ * more, and its sender is interrupted. The number of clients is bounded as well.
+ *
+ */
+@Slf4j
+@RestController
+@RequestMapping("/batches")
+public class BatchEventController {
+
+    private static final int MAX_EVENTS_PER_POLL = 256;
+    private static final int MAX_CLIENTS = 256;
+    private static final long POLL_INTERVAL_MILLIS = 100L;
+    private static final long HEARTBEAT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(15);
+    private static final Duration DEFAULT_SEND_TIMEOUT = Duration.ofSeconds(10);
+
+    private final BatchManager batchManager;
+    private final long sendTimeoutNanos;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders;
+
+    public BatchEventController(BatchManager batchManager) {
+        this(batchManager, DEFAULT_SEND_TIMEOUT);
+    }
+
+    BatchEventController(BatchManager batchManager, Duration sendTimeout) {
+        this.batchManager = batchManager;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("BatchEvents-dispatcher"));
+        // Not bounded: a stalled send must never keep another client from being served
+        this.senders = Executors.newCachedThreadPool(daemonThreadFactory("BatchEvents-sender"));
+        dispatcher.scheduleWithFixedDelay(this::dispatch, POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return subscribe(new SseEmitter(0L));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (clients.size() >= MAX_CLIENTS) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many batch event streams");
+        }
+        Client client = new Client(batchManager.subscribeToEvents(), emitter);
+        emitter.onCompletion(client::close);
+        emitter.onTimeout(client::close);
+        emitter.onError(error -> client.close());
+        clients.add(client);
+        return emitter;
+    }
+
+    /*
+     * Runs on the dispatcher thread. A client is sent to by at most one sender at a time.
+     */
+    private void dispatch() {
+        long now = System.nanoTime();
+        for (Client client : clients) {
+            if (client.sending.compareAndSet(false, true)) {
+                if (client.subscription.getBacklog() == 0L
+                        && now - client.lastSendNanos < HEARTBEAT_INTERVAL_NANOS) {
+                    client.sending.set(false);
+                    continue;
+                }
+                client.sendStartNanos = now;
+                try {
+                    senders.execute(client::send);
+                }
+                catch (RejectedExecutionException exception) {
+                    client.sending.set(false);
+                    return;
+                }
+            } else if (now - client.sendStartNanos > sendTimeoutNanos) {
+                client.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Closes the event streams and stops the threads serving them.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Client client : clients) {
+            client.close();
+            client.emitter.complete();
+        }
+    }
+
+    /*
+     * An event stream, whose subscription is only read by the sender holding its flag.
+     */
+    private final class Client {
+        private final BatchEventSubscription subscription;
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final List<BatchEvent> events = new ArrayList<>(MAX_EVENTS_PER_POLL);
+        private long reportedDropCount;
+        private volatile long lastSendNanos = System.nanoTime();
+        private volatile long sendStartNanos;
+        private volatile boolean disconnected;
+        // Guarded by this
+        private Thread sender;
+
+        private Client(BatchEventSubscription subscription, SseEmitter emitter) {
+            this.subscription = subscription;
+            this.emitter = emitter;
+        }
+
+        private void send() {
+            synchronized (this) {
+                sender = Thread.currentThread();
+            }
+            boolean closed = false;
+            try {
+                events.clear();
+                subscription.poll(events::add, MAX_EVENTS_PER_POLL);
+                long dropCount = subscription.getDroppedCount();
+                if (dropCount > reportedDropCount) {
+                    emitter.send(SseEmitter.event().name("dropped").data(dropCount - reportedDropCount));
+                    reportedDropCount = dropCount;
+                }
+                for (BatchEvent event : events) {
+                    emitter.send(SseEmitter.event()
+                                           .id(Long.toString(event.sequence()))
+                                           .name(event.type().name())
+                                           .data(toJson(event), MediaType.APPLICATION_JSON));
+                }
+                if (events.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                lastSendNanos = System.nanoTime();
+            }
+            catch (IOException | IllegalStateException exception) {
+                // The client disconnected, or the emitter completed in the meantime
+                log.debug("Batch event stream closed: {}", exception.getMessage());
+                close();
+                closed = true;
+            }
+            finally {
+                synchronized (this) {
+                    sender = null;
+                    // An interrupt of a late disconnection must not reach the next task of the thread
+                    Thread.interrupted();
+                }
+                if (closed || disconnected) {
+                    emitter.complete();
+                } else {
+                    sending.set(false);
+                }
+            }
+        }
+
+        /*
+         * Runs on the dispatcher thread, which must not wait for the emitter: it is locked by
+         * the stalled send, and completed by the sender once the write returns or fails.
+         */
+        private void disconnect() {
+            log.debug("Batch event stream closed: no send completed within {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+            disconnected = true;
+            close();
+            synchronized (this) {
+                if (sender != null) {
+                    sender.interrupt();
+                }
+            }
+        }
+
+        private void close() {
+            clients.remove(this);
+        }
+    }
+
+    private static String toJson(BatchEvent event) {
+        StringBuilder builder = new StringBuilder(128);
+        new JsonWriter(builder).beginObject()
+                               .member("sequence", event.sequence())
+                               .member("timestamp", event.timestamp())
+                               .member("batchName", event.batchName())
+                               .member("type", event.type())
+                               .member("durationNanos", event.durationNanos())
+                               .member("outcome", event.outcome())
+                               .endObject();
+        return builder.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ranushan.spring.boot;
+
+import com.ranushan.factory.BatchTargetResolver;
+import com.ranushan.util.ExceptionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@link BatchTargetResolver} that runs the Spring bean of each batch class, with its
+ * injected dependencies and proxies (e.g. transactions), instead of a second instance
+ * created by reflection.
+ * <p>
+ * The bean is looked up by type, including the interface-based proxies of the batch class,
+ * which are matched on their target class; among several beans, the one whose target class
+ * is exactly the batch class is run. Batch classes without any bean are instantiated
+ * through their default constructor, as without Spring, with a warning if the class is a
+ * component (e.g. outside the component scan). Several candidate beans are an error, since
+ * running an arbitrary one, or an unmanaged instance, would be a surprise.
+ *
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ApplicationContextBatchTargetResolver implements BatchTargetResolver {
+
+    private final ListableBeanFactory beanFactory;
+
+    /**
+     * @throws IllegalStateException if several beans match the batch class
+     */
+    @Override
+    public Optional<Object> resolveTarget(Class<?> batchClass) {
+        Map<String, Object> candidates = findCandidates(batchClass);
+        if (candidates.size() > 1) {
+            Map<String, Object> exactCandidates = new LinkedHashMap<>();
+            candidates.forEach((name, bean) -> {
+                if (targetClassOf(bean) == batchClass) {
+                    exactCandidates.put(name, bean);
+                }
+            });
+            if (exactCandidates.size() != 1) {
+                throw ExceptionUtils.illegalState("Batch class %s has several beans: %s", batchClass.getName(),
+                        candidates.keySet());
+            }
+            candidates = exactCandidates;
+        }
+        if (candidates.isEmpty()) {
+            if (AnnotatedElementUtils.hasAnnotation(batchClass, Component.class)) {
+                log.warn("No bean of component {}; instantiating it without dependency injection",
+                        batchClass.getName());
+            } else {
+                log.debug("No bean of batch class {}; instantiating it", batchClass.getName());
+            }
+            return Optional.empty();
+        }
+        return Optional.of(candidates.values().iterator().next());
+    }
+
+    /*
+     * Class-based proxies are found by type. Interface-based proxies are not instances of
+     * the batch class, and are found through its interfaces instead. Factory beans are not
+     * initialized for the lookup.
+     */
+    private Map<String, Object> findCandidates(Class<?> batchClass) {
+        Map<String, Object> candidates = new LinkedHashMap<>();
+        for (String beanName : beanFactory.getBeanNamesForType(batchClass, true, false)) {
+            candidates.put(beanName, beanFactory.getBean(beanName));
+        }
+        if (candidates.isEmpty()) {
+            for (Class<?> batchInterface : ClassUtils.getAllInterfacesForClassAsSet(batchClass)) {
+                Arrays.stream(beanFactory.getBeanNamesForType(batchInterface, true, false))
+                      .filter(beanName -> !candidates.containsKey(beanName))
+                      .forEach(beanName -> {
+                          Object bean = beanFactory.getBean(beanName);
+                          if (batchClass.isAssignableFrom(targetClassOf(bean))) {
+                              candidates.put(beanName, bean);
+                          }
+                      });
+            }
+        }
+        return candidates;
+    }
+
+    private static Class<?> targetClassOf(Object bean) {
+        return ClassUtils.getUserClass(AopUtils.getTargetClass(bean));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ranushan.spring.boot;
+
+import com.ranushan.BatchManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Starts all batches of a {@link BatchManager} once the application context has been
+ * refreshed (i.e. when all singletons, connection pools and the web server are ready),
+ * and stops them first on shutdown, waiting for their running tasks up to the configured
+ * shutdown timeout. A stopped lifecycle leaves the cluster, if the batches are partitioned,
+ * and can be started again.
+ *
+ */
+@RequiredArgsConstructor
+public class BatchManagerLifecycle implements SmartLifecycle {
+
+    private final BatchManager batchManager;
+    private final SharedSchedulerProperties properties;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        batchManager.startAllBatches();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        batchManager.stop(properties.getShutdownTimeout());
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isAutoStartup();
+    }
+
+    @Override
+    public int getPhase() {
+        return properties.getPhase();
+    }
+}
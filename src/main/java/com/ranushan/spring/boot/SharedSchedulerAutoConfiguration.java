@@ -0,0 +1,74 @@
+package com.ranushan.spring.boot;
+
+import com.ranushan.BatchManager;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.metrics.BatchMetricsBinder;
+import com.ranushan.util.StringUtils;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto-configures a {@link BatchManager} whose annotated batches run the Spring beans of
+ * their classes, and which is started by the application context lifecycle.
+ * <p>
+ * Batch objects are instantiated lazily, on start, so that resolving a batch bean never
+ * happens while the {@link BatchManager} itself is being created. The manager is shut down
+ * with the application context, rather than by a JVM shutdown hook of its own. The batch
+ * metrics are published through Micrometer when it is in the class path.
+ *
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(SharedSchedulerProperties.class)
+public class SharedSchedulerAutoConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public BatchManager batchManager(ListableBeanFactory beanFactory, SharedSchedulerProperties properties) {
+        ConfigurationHolder configurationHolder = new ConfigurationHolder();
+        configurationHolder.setLazyInstantiation(true);
+        configurationHolder.setBatchTargetResolver(new ApplicationContextBatchTargetResolver(beanFactory));
+        return new BatchManager.BatchRunner()
+                .configurationHolder(configurationHolder)
+                .scanPackage(resolveScanPackage(beanFactory, properties))
+                .shutdownTimeout(properties.getShutdownTimeout())
+                .registerShutdownHook(false)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BatchManagerLifecycle batchManagerLifecycle(BatchManager batchManager,
+                                                       SharedSchedulerProperties properties) {
+        return new BatchManagerLifecycle(batchManager, properties);
+    }
+
+    /**
+     * Publishes the batch metrics to the Micrometer registries, e.g. through Spring Boot
+     * Actuator, if Micrometer is in the class path.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterBinder.class)
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public BatchMetricsBinder batchMetricsBinder(BatchManager batchManager) {
+            return new BatchMetricsBinder(batchManager);
+        }
+    }
+
+    private static String resolveScanPackage(BeanFactory beanFactory, SharedSchedulerProperties properties) {
+        if (!StringUtils.isEmpty(properties.getScanPackage())) {
+            return properties.getScanPackage();
+        }
+        return AutoConfigurationPackages.has(beanFactory) ? AutoConfigurationPackages.get(beanFactory).get(0) : null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ranushan.spring.boot;
+
+import com.ranushan.BatchManager;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+
+/**
+ * The configuration properties of the shared scheduler, under the {@code shared-scheduler}
+ * prefix.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shared-scheduler")
+public class SharedSchedulerProperties {
+
+    /**
+     * The base package scanned for batch classes (default is the package of the
+     * {@code @SpringBootApplication} class).
+     */
+    private String scanPackage;
+
+    /**
+     * Whether all batches are started once the application context is refreshed.
+     */
+    private boolean autoStartup = true;
+
+    /**
+     * The lifecycle phase in which the batches are started (late) and stopped (early).
+     */
+    private int phase = SmartLifecycle.DEFAULT_PHASE;
+
+    /**
+     * The maximum time to wait for running tasks on shutdown, before interrupting them.
+     */
+    private Duration shutdownTimeout = BatchManager.DEFAULT_SHUTDOWN_TIMEOUT;
+}
@@ -0,0 +1,148 @@
+package com.ranushan.store;
+
+import com.ranushan.util.ExceptionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link FireTimeStore} backed by an append-only text file, with one
+ * {@code <epoch millis> <batch name>} line per completed execution.
+ * <p>
+ * Every record is forced to the storage device before returning. The file is loaded in
+ * memory and compacted (i.e. rewritten with the last fire time of each batch only) when
+ * the store is opened.
+ *
+ */
+@Slf4j
+public class FileFireTimeStore implements FireTimeStore {
+
+    /**
+     * The name of the file in the store directory.
+     */
+    public static final String FILE_NAME = "fire-times.log";
+
+    private static final char SEPARATOR = ' ';
+    private static final int COMPACTION_FACTOR = 2;
+
+    private final Path file;
+    private final Map<String, Long> lastFireTimes = new ConcurrentHashMap<>();
+    private final FileChannel channel;
+
+    /**
+     * Opens the store located in the given directory, creating it if necessary.
+     *
+     * @param directory the store directory; not null
+     * @throws com.ranushan.exception.BatchRuntimeException if the store cannot be opened
+     */
+    public FileFireTimeStore(Path directory) {
+        Objects.requireNonNull(directory, "The store directory must not be null");
+        file = directory.resolve(FILE_NAME);
+        try {
+            Files.createDirectories(directory);
+            int lines = load();
+            if (lines > COMPACTION_FACTOR * lastFireTimes.size()) {
+                compact();
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        catch (IOException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to open the fire time store: %s", file);
+        }
+        log.debug("Fire time store opened: {} ({} batches)", file, lastFireTimes.size());
+    }
+
+    private int load() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                int separator = line.indexOf(SEPARATOR);
+                if (separator <= 0) {
+                    continue;
+                }
+                try {
+                    long fireTime = Long.parseLong(line, 0, separator, 10);
+                    lastFireTimes.merge(line.substring(separator + 1), fireTime, Math::max);
+                }
+                catch (NumberFormatException exception) {
+                    // A partially written line after a crash
+                    log.warn("Ignoring malformed line {} of {}", lines, file);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private void compact() throws IOException {
+        Path temporaryFile = file.resolveSibling(FILE_NAME + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> entry : lastFireTimes.entrySet()) {
+                writer.write(toLine(entry.getKey(), entry.getValue()));
+            }
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String toLine(String batchName, long fireTime) {
+        return Long.toString(fireTime) + SEPARATOR + batchName + '\n';
+    }
+
+    @Override
+    public OptionalLong findLastFireTime(String batchName) {
+        Long fireTime = lastFireTimes.get(batchName);
+        return fireTime == null ? OptionalLong.empty() : OptionalLong.of(fireTime);
+    }
+
+    @Override
+    public void recordFireTime(String batchName, long fireTime) {
+        Objects.requireNonNull(batchName, "The batch name must not be null");
+        if (batchName.indexOf('\n') >= 0 || batchName.indexOf('\r') >= 0) {
+            throw ExceptionUtils.illegalArgument("Invalid batch name: \"%s\"", batchName);
+        }
+        Long last = lastFireTimes.merge(batchName, fireTime, Math::max);
+        if (last != fireTime) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(toLine(batchName, fireTime).getBytes(StandardCharsets.UTF_8));
+        try {
+            synchronized (channel) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        }
+        catch (IOException exception) {
+            throw ExceptionUtils.batchRuntime(exception, "Unable to record the fire time of batch %s", batchName);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        }
+        catch (IOException exception) {
+            log.warn("Unable to close the fire time store: {}", file, exception);
+        }
+    }
+}
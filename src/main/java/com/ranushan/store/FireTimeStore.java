@@ -0,0 +1,36 @@
+package com.ranushan.store;
+
+import java.util.OptionalLong;
+
+/**
+ * A durable store of the last completed fire time of each batch, used to detect the
+ * executions missed while the application was down.
+ * <p>
+ * Implementations are expected to be thread-safe.
+ *
+ */
+public interface FireTimeStore extends AutoCloseable {
+
+    /**
+     * @param batchName the batch name
+     * @return the intended time of the last completed execution of the batch, in milliseconds
+     *         since the epoch, or {@link OptionalLong#empty()} if none was recorded
+     */
+    OptionalLong findLastFireTime(String batchName);
+
+    /**
+     * Records the intended time of a completed execution. Times older than the last recorded
+     * one for the same batch are ignored.
+     *
+     * @param batchName the batch name; not null
+     * @param fireTime  the intended time of the execution, in milliseconds since the epoch
+     * @throws com.ranushan.exception.BatchRuntimeException if the fire time cannot be stored
+     */
+    void recordFireTime(String batchName, long fireTime);
+
+    /**
+     * Releases the resources held by this store.
+     */
+    @Override
+    void close();
+}
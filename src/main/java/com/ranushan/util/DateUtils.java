@@ -3,6 +3,8 @@ package com.ranushan.util;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
@@ -11,7 +13,8 @@ import java.util.Objects;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class DateUtils {
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
+                                                                      .withZone(ZoneId.systemDefault());
     protected static final String NULL_STRING = "null";
 
     public static ZonedDateTime now() {
@@ -23,13 +26,21 @@ public class DateUtils {
     }
 
     public static String formatDate(ZonedDateTime zonedDateTime) {
-        return zonedDateTime != null ? formatDate(Date.from(zonedDateTime.toInstant())) : NULL_STRING;
+        return zonedDateTime != null ? FORMATTER.format(zonedDateTime.toInstant()) : NULL_STRING;
     }
 
     public static String formatDate(Date date) {
         return date != null ? FORMATTER.format(date.toInstant()) : NULL_STRING;
     }
 
+    /**
+     * @param epochMillis an instant, in milliseconds since the epoch
+     * @return the instant formatted in the system time zone
+     */
+    public static String formatDate(long epochMillis) {
+        return FORMATTER.format(Instant.ofEpochMilli(epochMillis));
+    }
+
     public static Date getNextExactDateEveryInterval(int interval, TimeUnit timeUnit) {
         return getNextExactDateEveryInterval(interval, timeUnit, Calendar.getInstance());
     }
@@ -0,0 +1,212 @@
+package com.ranushan.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * A minimal streaming JSON writer, which appends objects, arrays and scalar values to an
+ * {@link Appendable} (e.g. a {@link StringBuilder} or a {@link java.io.Writer}) without
+ * building any intermediate strings.
+ * <p>
+ * Separators between members and elements are inserted automatically. The writer does not
+ * validate the structure of the document: callers are expected to balance
+ * {@code begin}/{@code end} calls and to name the members of objects.
+ *
+ */
+public final class JsonWriter {
+
+    private static final int MAX_DEPTH = 32;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Appendable out;
+
+    /*
+     * For each nesting level, whether a value was already written, i.e. whether the next
+     * member or element must be preceded by a comma
+     */
+    private final boolean[] nonEmpty = new boolean[MAX_DEPTH];
+    private int depth;
+    private boolean afterName;
+
+    /**
+     * Creates a writer appending to the given output.
+     *
+     * @param out the output; not null
+     */
+    public JsonWriter(Appendable out) {
+        this.out = Objects.requireNonNull(out, "The output must not be null");
+    }
+
+    public JsonWriter beginObject() {
+        return begin('{');
+    }
+
+    public JsonWriter endObject() {
+        return end('}');
+    }
+
+    public JsonWriter beginArray() {
+        return begin('[');
+    }
+
+    public JsonWriter endArray() {
+        return end(']');
+    }
+
+    /**
+     * Writes the name of the next member of the current object.
+     *
+     * @param name the member name; not null
+     * @return this writer
+     */
+    public JsonWriter name(String name) {
+        beforeValue();
+        writeString(name);
+        append(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * @param value the value to be written as a string, or {@code null}
+     * @return this writer
+     */
+    public JsonWriter value(String value) {
+        beforeValue();
+        if (value == null) {
+            append("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    /**
+     * @param value the value to be written as a string, using its {@code toString()} form, or
+     *              {@code null}
+     * @return this writer
+     */
+    public JsonWriter value(Object value) {
+        return value(value == null ? null : value.toString());
+    }
+
+    public JsonWriter value(long value) {
+        beforeValue();
+        append(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        beforeValue();
+        append(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes an already serialized JSON value, as is.
+     *
+     * @param json a valid JSON value; not null
+     * @return this writer
+     */
+    public JsonWriter rawValue(CharSequence json) {
+        beforeValue();
+        append(json);
+        return this;
+    }
+
+    public JsonWriter member(String name, String value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter member(String name, Object value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter member(String name, long value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter member(String name, boolean value) {
+        return name(name).value(value);
+    }
+
+    private JsonWriter begin(char bracket) {
+        if (depth == MAX_DEPTH) {
+            throw ExceptionUtils.illegalState("JSON documents cannot be nested deeper than %d levels", MAX_DEPTH);
+        }
+        beforeValue();
+        append(bracket);
+        nonEmpty[depth++] = false;
+        return this;
+    }
+
+    private JsonWriter end(char bracket) {
+        if (depth == 0) {
+            throw ExceptionUtils.illegalState("No JSON object or array to be closed");
+        }
+        depth--;
+        append(bracket);
+        return this;
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (nonEmpty[depth - 1]) {
+                append(',');
+            }
+            nonEmpty[depth - 1] = true;
+        }
+    }
+
+    private void writeString(String value) {
+        append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\') {
+                append(value, start, i);
+                switch (c) {
+                    case '"' -> append("\\\"");
+                    case '\\' -> append("\\\\");
+                    case '\n' -> append("\\n");
+                    case '\r' -> append("\\r");
+                    case '\t' -> append("\\t");
+                    default -> append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                }
+                start = i + 1;
+            }
+        }
+        append(value, start, length);
+        append('"');
+    }
+
+    private JsonWriter append(char c) {
+        try {
+            out.append(c);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return this;
+    }
+
+    private JsonWriter append(CharSequence text) {
+        return append(text, 0, text.length());
+    }
+
+    private JsonWriter append(CharSequence text, int start, int end) {
+        if (start < end) {
+            try {
+                out.append(text, start, end);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+        return this;
+    }
+}
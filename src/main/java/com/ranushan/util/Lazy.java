@@ -0,0 +1,58 @@
+package com.ranushan.util;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe holder for a value that is computed on first access, at most once.
+ *
+ * @param <T> the type of the value
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private final Supplier<? extends T> initializer;
+    private volatile T value;
+
+    private Lazy(Supplier<? extends T> initializer) {
+        this.initializer = initializer;
+    }
+
+    /**
+     * Creates a holder whose value will be computed by the given initializer on first access.
+     *
+     * @param initializer the function that computes the value; not null
+     * @param <T>         the type of the value
+     * @return a new {@link Lazy} holder
+     */
+    public static <T> Lazy<T> of(Supplier<? extends T> initializer) {
+        return new Lazy<>(Objects.requireNonNull(initializer, "The initializer must not be null"));
+    }
+
+    /**
+     * Returns the value, computing it if necessary. If the initializer throws an exception,
+     * the exception is propagated and the value will be computed again on the next access.
+     *
+     * @return the value
+     */
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = initializer.get();
+                    value = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return {@code true} if the value has already been computed; otherwise {@code false}
+     */
+    public boolean isInitialized() {
+        return value != null;
+    }
+}
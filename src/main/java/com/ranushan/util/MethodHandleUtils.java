@@ -0,0 +1,143 @@
+package com.ranushan.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Utility methods for building direct invokers of reflected methods.
+ *
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MethodHandleUtils {
+
+    private static final String RUNNABLE_METHOD_NAME = "run";
+    private static final MethodType RUNNABLE_METHOD_TYPE = MethodType.methodType(void.class);
+    private static final String CONSUMER_METHOD_NAME = "accept";
+    private static final MethodType CONSUMER_METHOD_TYPE = MethodType.methodType(void.class, Object.class);
+
+    /**
+     * Builds a {@link Runnable} that invokes the given no-argument method on the given target.
+     * <p>
+     * For public methods of public classes, the returned object is a lambda spun through the
+     * {@link LambdaMetafactory}, which the JIT compiler can inline as a direct call. For other
+     * methods, or if the lambda cannot be created, the returned object falls back to
+     * {@link ReflectionUtils#invokeMethod(Method, Object)}.
+     * <p>
+     * In both cases, unchecked exceptions thrown by the method are propagated as they are,
+     * whereas checked exceptions are wrapped in an {@link UndeclaredThrowableException}, whether
+     * the method declares them or not.
+     *
+     * @param method the method to be invoked; not null
+     * @param target the object the method is invoked on, or null for a static method
+     * @return a {@link Runnable} that invokes the method; not null
+     */
+    public static Runnable toRunnable(Method method, Object target) {
+        Objects.requireNonNull(method, "The method must not be null");
+        if (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            try {
+                // Even without a throws clause, as the method may throw a checked exception sneakily
+                return wrapCheckedExceptions(spinRunnable(method, target));
+            }
+            catch (Throwable throwable) {
+                log.debug("Unable to create a direct invoker for {}. Using reflection instead.", method, throwable);
+            }
+        }
+        return () -> ReflectionUtils.invokeMethod(method, target);
+    }
+
+    /**
+     * Builds a {@link Consumer} that invokes the given single-argument method on the given
+     * target, passing the consumed object as argument. Invokers are built as described in
+     * {@link #toRunnable(Method, Object)}.
+     *
+     * @param <T>    the type of the argument; must be assignable to the method parameter
+     * @param method the method to be invoked; not null
+     * @param target the object the method is invoked on, or null for a static method
+     * @return a {@link Consumer} that invokes the method; not null
+     */
+    public static <T> Consumer<T> toConsumer(Method method, Object target) {
+        Objects.requireNonNull(method, "The method must not be null");
+        if (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            try {
+                return wrapCheckedExceptions(spinConsumer(method, target));
+            }
+            catch (Throwable throwable) {
+                log.debug("Unable to create a direct invoker for {}. Using reflection instead.", method, throwable);
+            }
+        }
+        return argument -> ReflectionUtils.invokeMethod(method, target, argument);
+    }
+
+    private static Runnable spinRunnable(Method method, Object target) throws Throwable {
+        Class<?> declaringClass = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        MethodHandle handle = lookup.unreflect(method);
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+        MethodType factoryType = isStatic ? MethodType.methodType(Runnable.class)
+                : MethodType.methodType(Runnable.class, declaringClass);
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, RUNNABLE_METHOD_NAME, factoryType,
+                RUNNABLE_METHOD_TYPE, handle, RUNNABLE_METHOD_TYPE);
+
+        return isStatic ? (Runnable) callSite.getTarget().invoke()
+                : (Runnable) callSite.getTarget().invoke(Objects.requireNonNull(target, "The target must not be null"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Consumer<T> spinConsumer(Method method, Object target) throws Throwable {
+        Class<?> declaringClass = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        MethodHandle handle = lookup.unreflect(method);
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+        MethodType factoryType = isStatic ? MethodType.methodType(Consumer.class)
+                : MethodType.methodType(Consumer.class, declaringClass);
+        MethodType instantiatedType = MethodType.methodType(void.class, method.getParameterTypes()[0]);
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, CONSUMER_METHOD_NAME, factoryType,
+                CONSUMER_METHOD_TYPE, handle, instantiatedType);
+
+        return isStatic ? (Consumer<T>) callSite.getTarget().invoke()
+                : (Consumer<T>) callSite.getTarget().invoke(Objects.requireNonNull(target, "The target must not be null"));
+    }
+
+    private static Runnable wrapCheckedExceptions(Runnable runnable) {
+        return () -> {
+            try {
+                runnable.run();
+            }
+            catch (RuntimeException | Error exception) {
+                throw exception;
+            }
+            catch (Throwable throwable) {
+                throw new UndeclaredThrowableException(throwable);
+            }
+        };
+    }
+
+    private static <T> Consumer<T> wrapCheckedExceptions(Consumer<T> consumer) {
+        return argument -> {
+            try {
+                consumer.accept(argument);
+            }
+            catch (RuntimeException | Error exception) {
+                throw exception;
+            }
+            catch (Throwable throwable) {
+                throw new UndeclaredThrowableException(throwable);
+            }
+        };
+    }
+}
@@ -3,16 +3,59 @@ package com.ranushan.util;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ReflectionUtils {
 
-    public static Object invokeMethod(Method method, Object target) {
+    /**
+     * Loads a class with the context class loader of the current thread.
+     *
+     * @param className the fully qualified name of the class; not null
+     * @return the initialized class
+     * @throws ClassNotFoundException if the class cannot be found
+     * @see #loadClass(String, ClassLoader)
+     */
+    public static Class<?> loadClass(String className) throws ClassNotFoundException {
+        return loadClass(className, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Loads a class with the given class loader, typically the context class loader the batch
+     * scanner scanned, so that batch classes only visible to it (e.g. in a plugin class loader)
+     * are found; falls back to the class loader of this library.
+     *
+     * @param className   the fully qualified name of the class; not null
+     * @param classLoader the class loader to be tried first, or null
+     * @return the initialized class
+     * @throws ClassNotFoundException if neither class loader finds the class
+     */
+    public static Class<?> loadClass(String className, ClassLoader classLoader) throws ClassNotFoundException {
+        if (classLoader != null) {
+            try {
+                return Class.forName(className, true, classLoader);
+            }
+            catch (ClassNotFoundException exception) {
+                // Not visible to the given class loader
+            }
+        }
+        return Class.forName(className);
+    }
+
+    public static Object invokeMethod(Method method, Object target, Object... args) {
         try {
-            return method.invoke(target);
+            return method.invoke(target, args);
         }
         catch (Exception ex) {
             handleReflectionException(ex);
@@ -20,6 +63,89 @@ public final class ReflectionUtils {
         throw new IllegalStateException("Should never get here");
     }
 
+    /**
+     * Resolves the element type of a collection type, through the type arguments of its
+     * supertypes, e.g. {@code String} for {@code List<String>} or for a class extending
+     * {@code ArrayList<String>}. A type argument that is itself parameterized resolves to its
+     * raw class; a bounded wildcard or type variable resolves to its upper bound.
+     *
+     * @param collectionType a generic type assignable to {@link Collection}
+     * @return the element type, or {@link Optional#empty()} if the type is raw, or its
+     *         element type is an unbounded wildcard or type variable
+     */
+    public static Optional<Class<?>> findCollectionElementType(Type collectionType) {
+        return Optional.ofNullable(findCollectionTypeArgument(collectionType, Map.of()))
+                       .map(ReflectionUtils::toUpperBoundClass)
+                       .filter(elementType -> elementType != Object.class || !isUnbounded(collectionType));
+    }
+
+    /**
+     * @param type a class, possibly primitive
+     * @return the wrapper class of the given primitive class, or the given class otherwise
+     */
+    public static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    /*
+     * Walks up the supertypes of the given type, binding the type variables of each one to
+     * the type arguments of its subtype, until Collection is reached.
+     */
+    private static Type findCollectionTypeArgument(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Class<?> rawType;
+        Map<TypeVariable<?>, Type> typeBindings = new HashMap<>();
+        if (type instanceof ParameterizedType parameterizedType
+                && parameterizedType.getRawType() instanceof Class<?> rawClass) {
+            rawType = rawClass;
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            TypeVariable<?>[] variables = rawClass.getTypeParameters();
+            for (int i = 0; i < variables.length; i++) {
+                typeBindings.put(variables[i], bindings.getOrDefault(arguments[i], arguments[i]));
+            }
+        } else if (type instanceof Class<?> rawClass) {
+            rawType = rawClass;
+        } else {
+            return null;
+        }
+        if (rawType == Collection.class) {
+            return typeBindings.get(Collection.class.getTypeParameters()[0]);
+        }
+        if (!Collection.class.isAssignableFrom(rawType)) {
+            return null;
+        }
+        for (Type supertype : rawType.getGenericInterfaces()) {
+            Type argument = findCollectionTypeArgument(supertype, typeBindings);
+            if (argument != null) {
+                return argument;
+            }
+        }
+        return findCollectionTypeArgument(rawType.getGenericSuperclass(), typeBindings);
+    }
+
+    private static Class<?> toUpperBoundClass(Type type) {
+        if (type instanceof Class<?> classType) {
+            return classType;
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            return toUpperBoundClass(parameterizedType.getRawType());
+        }
+        if (type instanceof WildcardType wildcardType) {
+            return toUpperBoundClass(wildcardType.getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?> typeVariable) {
+            return toUpperBoundClass(typeVariable.getBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    /*
+     * Whether the element type resolved to Object only for want of a declared bound
+     */
+    private static boolean isUnbounded(Type collectionType) {
+        Type argument = findCollectionTypeArgument(collectionType, Map.of());
+        return argument instanceof WildcardType || argument instanceof TypeVariable<?>;
+    }
+
     private static void handleReflectionException(Exception ex) {
         if (ex instanceof NoSuchMethodException) {
             throw new IllegalStateException("Method not found: " + ex.getMessage());
@@ -8,6 +8,11 @@ import java.util.List;
 
 public enum TimeUnit {
 
+    MILLISECONDS(java.util.concurrent.TimeUnit.MILLISECONDS,
+            Calendar.MILLISECOND,
+            Arrays.asList("millisecond", "milliseconds", "millisecond(s)", "ms"),
+            "millisecond(s)"),
+
     SECONDS(java.util.concurrent.TimeUnit.SECONDS,
             Calendar.SECOND,
             Arrays.asList("second", "seconds", "second(s)", "s"),
@@ -0,0 +1,151 @@
+package com.ranushan;
+
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.ShutdownReport;
+import com.ranushan.shutdown.SlowBatch;
+import com.ranushan.startup.BrokenBatch;
+import com.ranushan.startup.HealthyBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchManagerTest {
+
+    private BatchManager batchManager;
+
+    @AfterEach
+    void tearDown() {
+        batchManager.shutdown();
+    }
+
+    @Test
+    void brokenLazyBatchDoesNotPreventTheOthersFromStarting() {
+        ConfigurationHolder configurationHolder = new ConfigurationHolder();
+        configurationHolder.setLazyInstantiation(true);
+        batchManager = new BatchManager.BatchRunner()
+                .configurationHolder(configurationHolder)
+                .scanPackage(HealthyBatch.class.getPackageName())
+                .registerShutdownHook(false)
+                .build();
+        assertTrue(batchManager.getInstantiationErrors().isEmpty());
+
+        batchManager.startAllBatches();
+
+        assertFalse(batchManager.findBatchByName("broken").isStarted());
+        assertTrue(batchManager.findBatchByName("healthy").isStarted());
+        assertEquals(1, batchManager.getInstantiationErrors().size());
+        assertTrue(batchManager.getInstantiationErrors().containsKey(BrokenBatch.class.getCanonicalName()));
+    }
+
+    @Test
+    void brokenBatchIsReportedAtScanWithoutLazyInstantiation() {
+        batchManager = new BatchManager.BatchRunner()
+                .scanPackage(HealthyBatch.class.getPackageName())
+                .registerShutdownHook(false)
+                .build();
+
+        assertTrue(batchManager.getInstantiationErrors().containsKey(BrokenBatch.class.getCanonicalName()));
+
+        batchManager.startAllBatches();
+
+        assertTrue(batchManager.findBatchByName("healthy").isStarted());
+    }
+
+    @Test
+    void stopWaitsForTheRunningTasks() throws InterruptedException {
+        SlowBatch.prepare(300);
+        batchManager = slowBatchManager();
+        batchManager.startBatch("slow");
+        Thread task = runInBackground("slow");
+        assertTrue(SlowBatch.awaitRunning());
+
+        ShutdownReport report = batchManager.stop(Duration.ofSeconds(10));
+
+        assertTrue(report.isClean());
+        assertFalse(batchManager.findBatchByName("slow").isRunning());
+        assertFalse(SlowBatch.awaitInterrupted(0));
+        task.join();
+    }
+
+    @Test
+    void stopInterruptsTheTasksStillRunningAtTheDeadline() throws InterruptedException {
+        SlowBatch.prepare(60_000);
+        batchManager = slowBatchManager();
+        batchManager.startBatch("slow");
+        Thread task = runInBackground("slow");
+        assertTrue(SlowBatch.awaitRunning());
+
+        ShutdownReport report = batchManager.stop(Duration.ofMillis(200));
+
+        assertEquals(List.of("slow"), report.interruptedBatches());
+        assertTrue(report.elapsed().compareTo(Duration.ofSeconds(5)) < 0);
+        assertTrue(SlowBatch.awaitInterrupted(5000));
+        task.join(5000);
+        assertFalse(task.isAlive());
+    }
+
+    @Test
+    void startAllBatchesRestartsTheBatchesStoppedByStop() {
+        SlowBatch.prepare(0);
+        batchManager = slowBatchManager();
+        batchManager.startAllBatches();
+
+        assertTrue(batchManager.stop(Duration.ofSeconds(1)).isClean());
+        assertTrue(batchManager.findBatchByName("slow").isStopped());
+
+        batchManager.startAllBatches();
+
+        assertTrue(batchManager.findBatchByName("slow").isStarted());
+        assertTrue(batchManager.getInstantiationErrors().isEmpty());
+    }
+
+    @Test
+    void batchStoppedByNameMustBeResetBeforeRestarting() {
+        SlowBatch.prepare(0);
+        batchManager = slowBatchManager();
+        batchManager.startBatch("slow");
+        batchManager.stopBatch("slow");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> batchManager.startBatch("slow"));
+        assertTrue(exception.getMessage().startsWith("Batch was stopped"));
+
+        batchManager.startAllBatches();
+        assertTrue(batchManager.findBatchByName("slow").isStopped());
+        assertTrue(batchManager.getInstantiationErrors().isEmpty());
+
+        batchManager.resetBatch("slow");
+        batchManager.startBatch("slow");
+        assertTrue(batchManager.findBatchByName("slow").isStarted());
+    }
+
+    private static BatchManager slowBatchManager() {
+        return new BatchManager.BatchRunner()
+                .scanPackage(SlowBatch.class.getPackageName())
+                .registerShutdownHook(false)
+                .build();
+    }
+
+    /*
+     * Runs the task as if it was fired by the scheduler, the manual run blocking its thread
+     */
+    private Thread runInBackground(String name) {
+        Thread thread = new Thread(() -> {
+            try {
+                batchManager.runNow(name);
+            }
+            catch (RuntimeException exception) {
+                // Reported by the batch
+            }
+        });
+        thread.start();
+        return thread;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ranushan.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The behavior expected from every {@link ClusterLockProvider}, checked with several
+ * providers sharing the same storage, as the nodes of a cluster would.
+ */
+abstract class ClusterLockProviderContractTest {
+
+    private static final int NODES = 6;
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    private final List<ClusterLockProvider> providers = new ArrayList<>();
+
+    /**
+     * Creates a provider sharing its storage with the other providers of the current test.
+     */
+    protected abstract ClusterLockProvider createProvider() throws Exception;
+
+    @BeforeEach
+    void createProviders() throws Exception {
+        for (int i = 0; i < NODES; i++) {
+            providers.add(createProvider());
+        }
+    }
+
+    @AfterEach
+    void closeProviders() {
+        providers.forEach(ClusterLockProvider::close);
+    }
+
+    @Test
+    void eachFireTimeIsGrantedToExactlyOneNode() throws Exception {
+        for (long fireTime = 1_000L; fireTime <= 100_000L; fireTime += 1_000L) {
+            List<ClusterLock> granted = acquireConcurrently("concurrent", fireTime);
+            assertEquals(1, granted.size(), "Locks granted for fire time " + fireTime);
+            granted.get(0).release();
+        }
+    }
+
+    @Test
+    void heldLeaseBlocksTheNextFireTimeUntilReleased() throws Exception {
+        ClusterLock lock = acquire(providers.get(0), "lease", 1_000L).orElseThrow();
+
+        assertFalse(acquire(providers.get(1), "lease", 2_000L).isPresent());
+        lock.release();
+        assertTrue(acquire(providers.get(1), "lease", 2_000L).isPresent());
+    }
+
+    @Test
+    void pastFireTimesAreNeverGrantedAgain() throws Exception {
+        acquire(providers.get(0), "past", 5_000L).orElseThrow().release();
+
+        assertFalse(acquire(providers.get(1), "past", 5_000L).isPresent());
+        assertFalse(acquire(providers.get(2), "past", 4_000L).isPresent());
+        assertTrue(acquire(providers.get(3), "past", 6_000L).isPresent());
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() throws Exception {
+        assertTrue(providers.get(0).tryAcquire("expired", 1_000L, Duration.ofMillis(50)).get().isPresent());
+        assertFalse(acquire(providers.get(1), "expired", 2_000L).isPresent());
+
+        Thread.sleep(100);
+        assertTrue(acquire(providers.get(1), "expired", 2_000L).isPresent());
+    }
+
+    @Test
+    void batchesAreLockedIndependently() throws Exception {
+        assertTrue(acquire(providers.get(0), "first", 1_000L).isPresent());
+        assertTrue(acquire(providers.get(1), "second", 1_000L).isPresent());
+    }
+
+    private List<ClusterLock> acquireConcurrently(String batchName, long fireTime) throws Exception {
+        List<CompletableFuture<Optional<ClusterLock>>> acquisitions = new ArrayList<>();
+        for (ClusterLockProvider provider : providers) {
+            acquisitions.add(provider.tryAcquire(batchName, fireTime, LEASE));
+        }
+        List<ClusterLock> granted = new ArrayList<>();
+        for (CompletableFuture<Optional<ClusterLock>> acquisition : acquisitions) {
+            acquisition.get(10, TimeUnit.SECONDS).ifPresent(granted::add);
+        }
+        return granted;
+    }
+
+    private static Optional<ClusterLock> acquire(ClusterLockProvider provider, String batchName, long fireTime)
+            throws Exception {
+        return provider.tryAcquire(batchName, fireTime, LEASE).get(10, TimeUnit.SECONDS);
+    }
+}
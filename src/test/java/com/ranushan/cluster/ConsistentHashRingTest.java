@@ -0,0 +1,116 @@
+package com.ranushan.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Simulates the partitioning of 10,000 batches over 20 nodes, as nodes join and leave.
+ */
+class ConsistentHashRingTest {
+
+    private static final int BATCHES = 10_000;
+    private static final int NODES = 20;
+
+    @Test
+    void batchesAreSpreadEvenly() {
+        Map<String, Integer> shares = shares(ConsistentHashRing.of(nodes(NODES)));
+
+        assertEquals(NODES, shares.size());
+        double average = (double) BATCHES / NODES;
+        shares.forEach((node, share) -> {
+            assertTrue(share > 0.7 * average, () -> node + " owns too few batches: " + share);
+            assertTrue(share < 1.4 * average, () -> node + " owns too many batches: " + share);
+        });
+    }
+
+    @Test
+    void joiningNodeOnlyTakesBatchesOver() {
+        List<String> nodes = nodes(NODES);
+        ConsistentHashRing ring = ConsistentHashRing.of(nodes);
+        nodes.add("node-" + NODES);
+        ConsistentHashRing grownRing = ConsistentHashRing.of(nodes);
+
+        int moved = 0;
+        for (int i = 0; i < BATCHES; i++) {
+            String batchName = "batch-" + i;
+            String owner = ring.findOwner(batchName).orElseThrow();
+            String newOwner = grownRing.findOwner(batchName).orElseThrow();
+            if (!owner.equals(newOwner)) {
+                assertEquals("node-" + NODES, newOwner, () -> batchName + " moved between remaining nodes");
+                moved++;
+            }
+        }
+        assertMovedShare(moved, NODES + 1);
+    }
+
+    @Test
+    void leavingNodeOnlyGivesItsBatchesAway() {
+        List<String> nodes = nodes(NODES);
+        ConsistentHashRing ring = ConsistentHashRing.of(nodes);
+        String leaving = nodes.remove(7);
+        ConsistentHashRing shrunkRing = ConsistentHashRing.of(nodes);
+
+        int moved = 0;
+        for (int i = 0; i < BATCHES; i++) {
+            String batchName = "batch-" + i;
+            String owner = ring.findOwner(batchName).orElseThrow();
+            String newOwner = shrunkRing.findOwner(batchName).orElseThrow();
+            if (!owner.equals(newOwner)) {
+                assertEquals(leaving, owner, () -> batchName + " moved between remaining nodes");
+                moved++;
+            }
+        }
+        assertMovedShare(moved, NODES);
+    }
+
+    @Test
+    void ownerDoesNotDependOnTheOrderOfTheNodes() {
+        List<String> nodes = nodes(NODES);
+        ConsistentHashRing ring = ConsistentHashRing.of(nodes);
+        List<String> reversedNodes = new ArrayList<>(nodes);
+        Collections.reverse(reversedNodes);
+        ConsistentHashRing reversedRing = ConsistentHashRing.of(reversedNodes);
+
+        for (int i = 0; i < BATCHES; i++) {
+            assertEquals(ring.findOwner("batch-" + i), reversedRing.findOwner("batch-" + i));
+        }
+    }
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertTrue(ConsistentHashRing.of(List.of()).findOwner("batch").isEmpty());
+    }
+
+    /*
+     * About 1/n of the batches move when the n-th node joins or leaves
+     */
+    private static void assertMovedShare(int moved, int nodes) {
+        double expected = (double) BATCHES / nodes;
+        assertTrue(moved > 0.5 * expected && moved < 2 * expected,
+                () -> moved + " batches moved, about " + Math.round(expected) + " expected");
+    }
+
+    private static Map<String, Integer> shares(ConsistentHashRing ring) {
+        Map<String, Integer> shares = new HashMap<>();
+        for (int i = 0; i < BATCHES; i++) {
+            shares.merge(ring.findOwner("batch-" + i).orElseThrow(), 1, Integer::sum);
+        }
+        return shares;
+    }
+
+    private static List<String> nodes(int count) {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add("node-" + i);
+        }
+        return nodes;
+    }
+}
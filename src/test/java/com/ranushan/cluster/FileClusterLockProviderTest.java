@@ -0,0 +1,16 @@
+package com.ranushan.cluster;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+class FileClusterLockProviderTest extends ClusterLockProviderContractTest {
+
+    @TempDir
+    Path directory;
+
+    @Override
+    protected ClusterLockProvider createProvider() {
+        return new FileClusterLockProvider(directory);
+    }
+}
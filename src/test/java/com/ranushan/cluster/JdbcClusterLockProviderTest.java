@@ -0,0 +1,22 @@
+package com.ranushan.cluster;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+class JdbcClusterLockProviderTest extends ClusterLockProviderContractTest {
+
+    private JdbcDataSource dataSource;
+
+    @Override
+    protected ClusterLockProvider createProvider() throws SQLException {
+        if (dataSource == null) {
+            // A fresh database for each test, shared by all its providers
+            dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            new JdbcClusterLockProvider(dataSource).createTableIfNotExists();
+        }
+        return new JdbcClusterLockProvider(dataSource);
+    }
+}
@@ -0,0 +1,152 @@
+package com.ranushan.event;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.BatchType;
+import com.ranushan.journal.RunOutcome;
+import com.ranushan.runner.timer.TimerBatch;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.scheduler.ThreadPoolBatchScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchEventBusTest {
+
+    private final BatchScheduler scheduler = new ThreadPoolBatchScheduler(1);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void stopDuringARunIsPublished() throws Exception {
+        BatchEventBus bus = new BatchEventBus(16);
+        BlockingBatch batch = new BlockingBatch(scheduler, false);
+        batch.addStateListener(bus);
+        BatchEventSubscription subscription = bus.subscribe();
+
+        CompletableFuture<Void> run = CompletableFuture.runAsync(() -> batch.run(true));
+        assertTrue(batch.running.await(10, TimeUnit.SECONDS));
+        batch.stop();
+        batch.release.countDown();
+        run.get(10, TimeUnit.SECONDS);
+
+        List<BatchEvent> events = poll(subscription);
+        assertEquals(List.of(BatchEventType.RUNNING, BatchEventType.STOPPED, BatchEventType.FINISHED),
+                events.stream().map(BatchEvent::type).toList());
+        assertNull(events.get(1).outcome());
+        assertEquals(RunOutcome.SUCCESS, events.get(2).outcome());
+    }
+
+    @Test
+    void failedRunIsFollowedByAnError() throws Exception {
+        BatchEventBus bus = new BatchEventBus(16);
+        BlockingBatch batch = new BlockingBatch(scheduler, true);
+        batch.addStateListener(bus);
+        BatchEventSubscription subscription = bus.subscribe();
+
+        batch.release.countDown();
+        batch.run(true);
+
+        List<BatchEvent> events = poll(subscription);
+        assertEquals(List.of(BatchEventType.RUNNING, BatchEventType.FINISHED, BatchEventType.ERROR),
+                events.stream().map(BatchEvent::type).toList());
+        assertEquals(RunOutcome.FAILURE, events.get(1).outcome());
+        assertEquals(RunOutcome.FAILURE, events.get(2).outcome());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).sequence());
+        }
+    }
+
+    @Test
+    void concurrentProducersNeverStallTheConsumer() throws Exception {
+        int producers = 8;
+        int eventsPerProducer = 50_000;
+        BatchEventBus bus = new BatchEventBus(8);
+        BatchEventSubscription subscription = bus.subscribe();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < producers; i++) {
+                String batchName = "batch" + i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < eventsPerProducer; j++) {
+                        bus.publish(batchName, BatchEventType.RUNNING, j, null);
+                    }
+                }));
+            }
+            long[] lastSequence = {-1L};
+            long[] delivered = {0L};
+            long total = (long) producers * eventsPerProducer;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (delivered[0] + subscription.getDroppedCount() < total) {
+                assertTrue(System.nanoTime() < deadline, "Consumer stalled at " + lastSequence[0]);
+                subscription.poll(event -> {
+                    assertTrue(event.sequence() > lastSequence[0], "Out of order: " + event.sequence());
+                    assertTrue(event.batchName().startsWith("batch"));
+                    lastSequence[0] = event.sequence();
+                    delivered[0]++;
+                }, 64);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertEquals(total, bus.getPublishedCount());
+            assertEquals(0L, subscription.getBacklog());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<BatchEvent> poll(BatchEventSubscription subscription) {
+        List<BatchEvent> events = new ArrayList<>();
+        subscription.poll(events::add, Integer.MAX_VALUE);
+        return events;
+    }
+
+    private static final class BlockingBatch extends TimerBatch {
+        private final CountDownLatch running = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final boolean failing;
+
+        private BlockingBatch(BatchScheduler scheduler, boolean failing) {
+            super(BatchConfiguration.builder()
+                                    .name("events")
+                                    .type(BatchType.TIMER)
+                                    .className(BlockingBatch.class.getName())
+                                    .interval("1 hour")
+                                    .build(),
+                    new ConfigurationHolder(), scheduler);
+            this.failing = failing;
+        }
+
+        @Override
+        protected void runTask() {
+            running.countDown();
+            try {
+                release.await();
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException("Expected failure");
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ranushan.metrics;
+
+import com.ranushan.BatchManager;
+import com.ranushan.spring.boot.lifecycle.HourlyBatch;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchMetricsBinderTest {
+
+    private BatchManager batchManager;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        batchManager = new BatchManager.BatchRunner()
+                .scanPackage(HourlyBatch.class.getPackageName())
+                .registerShutdownHook(false)
+                .build();
+        registry = new SimpleMeterRegistry();
+        new BatchMetricsBinder(batchManager).bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchManager.shutdown();
+    }
+
+    @Test
+    void executionsArePublished() {
+        batchManager.runNow("hourly");
+        batchManager.runNow("hourly");
+
+        assertEquals(2.0, registry.get("shared.scheduler.batch.runs").tag("batch", "hourly").functionCounter().count());
+        assertEquals(0.0, registry.get("shared.scheduler.batch.failures").tag("batch", "hourly").functionCounter()
+                                  .count());
+        FunctionTimer duration = registry.get("shared.scheduler.batch.duration").tag("batch", "hourly").functionTimer();
+        assertEquals(2.0, duration.count());
+        assertTrue(duration.totalTime(TimeUnit.NANOSECONDS) > 0.0);
+        assertTrue(registry.get("shared.scheduler.batch.duration.percentile").tag("batch", "hourly").tag("phi", "0.99")
+                           .timeGauge().value(TimeUnit.NANOSECONDS) > 0.0);
+    }
+
+    @Test
+    void batchStatesArePublished() {
+        assertEquals(1.0, registry.get("shared.scheduler.batches").tag("state", "set").gauge().value());
+
+        batchManager.startAllBatches();
+
+        assertEquals(0.0, registry.get("shared.scheduler.batches").tag("state", "set").gauge().value());
+        assertEquals(1.0, registry.get("shared.scheduler.batches").tag("state", "started").gauge().value());
+    }
+
+    @Test
+    void metricsFollowResetBatches() {
+        batchManager.runNow("hourly");
+        batchManager.resetBatch("hourly");
+
+        assertEquals(0.0, registry.get("shared.scheduler.batch.runs").tag("batch", "hourly").functionCounter().count());
+        batchManager.removeBatch("hourly");
+        assertTrue(Double.isNaN(registry.get("shared.scheduler.batch.runs").tag("batch", "hourly").functionCounter()
+                                        .count()));
+    }
+}
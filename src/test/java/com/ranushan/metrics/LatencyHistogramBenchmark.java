@@ -0,0 +1,109 @@
+package com.ranushan.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the cost of {@link LatencyHistogram#record(long)}, from one thread and from
+ * several threads recording into the same histogram, with log-uniform values from 1 µs to
+ * 1 minute, as task durations and scheduling lags are.
+ * <p>
+ * The cost is the CPU time of the recording threads per value, so that it does not depend
+ * on the number of processors; the memory they allocate is reported as well, both from
+ * {@link com.sun.management.ThreadMXBean}. This is not a unit test, and is not run by the
+ * build. Run it from the test classpath, e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.metrics.LatencyHistogramBenchmark [threads] [rounds]
+ * </pre>
+ *
+ * The default is 4 threads, and 5 measured rounds of 10,000,000 values per thread after 2
+ * warm-up rounds; the best round is reported.
+ */
+public final class LatencyHistogramBenchmark {
+
+    private static final int DEFAULT_THREADS = 4;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int WARM_UP_ROUNDS = 2;
+    private static final int VALUES_PER_ROUND = 10_000_000;
+    private static final int DISTINCT_VALUES = 1 << 16;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private LatencyHistogramBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_THREADS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        long[] values = logUniformValues();
+        for (int threadCount : new int[] {1, threads}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            try {
+                double bestNanos = Double.MAX_VALUE;
+                double bestBytes = Double.MAX_VALUE;
+                for (int round = 0; round < WARM_UP_ROUNDS + rounds; round++) {
+                    List<Callable<Result>> tasks = new ArrayList<>();
+                    for (int thread = 0; thread < threadCount; thread++) {
+                        int offset = thread * 7919;
+                        tasks.add(() -> record(histogram, values, offset));
+                    }
+                    // The slowest thread of the round
+                    Result result = new Result(0.0, 0.0);
+                    for (Future<Result> future : executor.invokeAll(tasks)) {
+                        result = new Result(Math.max(result.nanos(), future.get().nanos()),
+                                Math.max(result.bytes(), future.get().bytes()));
+                    }
+                    if (round >= WARM_UP_ROUNDS) {
+                        bestNanos = Math.min(bestNanos, result.nanos());
+                        bestBytes = Math.min(bestBytes, result.bytes());
+                    }
+                }
+                HistogramSnapshot snapshot = histogram.snapshot();
+                System.out.printf(Locale.ROOT, "threads=%d %8.1f ns/value %6.2f B/value  (count=%,d p50=%,d ns)%n",
+                        threadCount, bestNanos, bestBytes, snapshot.count(), snapshot.p50());
+            }
+            finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private record Result(double nanos, double bytes) {
+    }
+
+    /*
+     * Returns the CPU time and the bytes allocated per recorded value
+     */
+    private static Result record(LatencyHistogram histogram, long[] values, int offset) {
+        long allocated = THREADS.getCurrentThreadAllocatedBytes();
+        long cpuTime = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < VALUES_PER_ROUND; i++) {
+            histogram.record(values[(offset + i) & (DISTINCT_VALUES - 1)]);
+        }
+        return new Result((double) (THREADS.getCurrentThreadCpuTime() - cpuTime) / VALUES_PER_ROUND,
+                (double) (THREADS.getCurrentThreadAllocatedBytes() - allocated) / VALUES_PER_ROUND);
+    }
+
+    private static long[] logUniformValues() {
+        SplittableRandom random = new SplittableRandom(42);
+        double min = Math.log(1_000.0);
+        double max = Math.log(60_000_000_000.0);
+        long[] values = new long[DISTINCT_VALUES];
+        for (int i = 0; i < DISTINCT_VALUES; i++) {
+            values[i] = (long) Math.exp(min + random.nextDouble() * (max - min));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ranushan.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void linearBucketsHoldASingleValue() {
+        for (int value = 0; value < 64; value++) {
+            assertEquals(value, LatencyHistogram.indexOf(value));
+            assertEquals(value, LatencyHistogram.highestValueOf(value));
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousAtPowersOfTwo() {
+        assertEquals(63, LatencyHistogram.indexOf(63));
+        assertEquals(64, LatencyHistogram.indexOf(64));
+        assertEquals(95, LatencyHistogram.indexOf(127));
+        assertEquals(96, LatencyHistogram.indexOf(128));
+
+        assertEquals(65, LatencyHistogram.highestValueOf(64));
+        assertEquals(127, LatencyHistogram.highestValueOf(95));
+        assertEquals(131, LatencyHistogram.highestValueOf(96));
+    }
+
+    @Test
+    void everyValueFallsInTheBucketEndingAtOrAboveIt() {
+        long previousIndex = -1;
+        for (int shift = 0; shift < 44; shift++) {
+            for (long value : new long[] {(1L << shift) - 1, 1L << shift, (1L << shift) + 1, 3L << shift >>> 1}) {
+                int index = LatencyHistogram.indexOf(value);
+                long highest = LatencyHistogram.highestValueOf(index);
+                assertTrue(highest >= value, () -> value + " above its bucket " + index);
+                assertTrue(index == 0 || LatencyHistogram.highestValueOf(index - 1) < value,
+                        () -> value + " also fits the bucket before " + index);
+                // The relative error is bounded by the width of the sub-buckets
+                assertTrue(highest - value <= value / 32, () -> "Bucket " + index + " too wide for " + value);
+            }
+            int index = LatencyHistogram.indexOf(1L << shift);
+            assertTrue(index > previousIndex);
+            previousIndex = index;
+        }
+    }
+
+    @Test
+    void maxValueIsTheEndOfTheLastBucket() {
+        int lastIndex = LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE);
+        assertEquals(LatencyHistogram.MAX_VALUE, LatencyHistogram.highestValueOf(lastIndex));
+        assertEquals(lastIndex - 1, LatencyHistogram.indexOf(LatencyHistogram.highestValueOf(lastIndex - 1)));
+    }
+
+    @Test
+    void outOfRangeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5L);
+        histogram.record(Long.MAX_VALUE);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.count());
+        assertEquals(LatencyHistogram.MAX_VALUE, snapshot.sum());
+        assertEquals(LatencyHistogram.MAX_VALUE, snapshot.max());
+        assertEquals(0L, snapshot.p50());
+        assertEquals(LatencyHistogram.MAX_VALUE, snapshot.p999());
+    }
+
+    @Test
+    void percentilesReportTheEndOfTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.count());
+        assertEquals(LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(500)), snapshot.p50());
+        assertEquals(LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(990)), snapshot.p99());
+        assertEquals(1000, snapshot.max());
+    }
+}
@@ -0,0 +1,173 @@
+package com.ranushan.registry;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.BatchType;
+import com.ranushan.runner.AbstractBatch;
+import com.ranushan.runner.timer.TimerBatch;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.scheduler.ThreadPoolBatchScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Measures the throughput of batch lookups by name in a {@link BatchRegistry} holding
+ * 100,000 batches, from one and from several threads, against a synchronized
+ * {@link TreeMap}, as batches were kept before the registry; and the listing of the
+ * batches with a tag through the index, against a filter over all batches.
+ * <p>
+ * This is not a unit test, and is not run by the build. Run it from the test classpath,
+ * with a heap large enough for the metrics of 100,000 batches (about 20 KB each), e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -Xmx3g -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.registry.RegistryLookupBenchmark [batches] [threads]
+ * </pre>
+ *
+ * The default is 100,000 batches, one batch in 100 being tagged, and 4 threads; each
+ * measurement runs 3 rounds after 2 warm-up rounds, and the best round is reported.
+ */
+public final class RegistryLookupBenchmark {
+
+    private static final int DEFAULT_BATCHES = 100_000;
+    private static final int DEFAULT_THREADS = 4;
+    private static final int LOOKUPS_PER_THREAD = 5_000_000;
+    private static final int LISTINGS = 500;
+    private static final int WARM_UP_ROUNDS = 2;
+    private static final int ROUNDS = 3;
+    private static final String TAG = "hot";
+
+    private RegistryLookupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BATCHES;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_THREADS;
+        BatchScheduler scheduler = new ThreadPoolBatchScheduler(1);
+        ConfigurationHolder configurationHolder = new ConfigurationHolder();
+        BatchRegistry registry = new BatchRegistry();
+        Map<String, AbstractBatch> treeMap = Collections.synchronizedMap(new TreeMap<>());
+        String[] names = new String[batches];
+        for (int i = 0; i < batches; i++) {
+            IdleBatch batch = new IdleBatch("batch-" + i, i % 100 == 0 ? Set.of(TAG) : Set.of(),
+                    configurationHolder, scheduler);
+            registry.register(batch);
+            treeMap.put(batch.getName(), batch);
+            names[i] = batch.getName();
+        }
+        int[] order = shuffledIndexes(batches);
+        System.out.printf(Locale.ROOT, "%,d batches%n", batches);
+        try {
+            for (int threadCount : new int[] {1, threads}) {
+                report("registry findByName", threadCount, measure(threadCount, LOOKUPS_PER_THREAD,
+                        index -> registry.findByName(names[order[index % batches]])
+                                         .map(AbstractBatch::hashCode)
+                                         .orElse(0)));
+                report("synchronized TreeMap get", threadCount, measure(threadCount, LOOKUPS_PER_THREAD,
+                        index -> treeMap.get(names[order[index % batches]]).hashCode()));
+            }
+            report("registry getBatchesByTag", 1, measure(1, LISTINGS,
+                    index -> registry.getBatchesByTag(TAG).size()));
+            report("filter over getBatches", 1, measure(1, LISTINGS,
+                    index -> (int) registry.getBatches().stream()
+                                           .filter(batch -> batch.getConfiguration().getTags().contains(TAG))
+                                           .count()));
+        }
+        finally {
+            scheduler.shutdown();
+        }
+    }
+
+    /*
+     * Runs the given number of operations on each thread, and returns the best round, in
+     * nanoseconds of elapsed time per operation of a thread
+     */
+    private static double measure(int threads, int operations, IntUnaryOperator operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            double best = Double.MAX_VALUE;
+            long checksum = 0;
+            for (int round = 0; round < WARM_UP_ROUNDS + ROUNDS; round++) {
+                List<Callable<Long>> tasks = new ArrayList<>();
+                for (int thread = 0; thread < threads; thread++) {
+                    int offset = thread * 7919;
+                    tasks.add(() -> {
+                        long sum = 0;
+                        for (int i = 0; i < operations; i++) {
+                            sum += operation.applyAsInt(offset + i);
+                        }
+                        return sum;
+                    });
+                }
+                long start = System.nanoTime();
+                for (Future<Long> future : executor.invokeAll(tasks)) {
+                    checksum += future.get();
+                }
+                double nanosPerOperation = (double) (System.nanoTime() - start) / operations;
+                if (round >= WARM_UP_ROUNDS) {
+                    best = Math.min(best, nanosPerOperation);
+                }
+            }
+            // Keeps the operations from being eliminated
+            if (checksum == Long.MIN_VALUE) {
+                System.out.println(checksum);
+            }
+            return best;
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void report(String label, int threads, double nanosPerOperation) {
+        System.out.printf(Locale.ROOT, "%-26s threads=%-2d %,14.0f ops/s%n", label, threads,
+                threads * 1e9 / nanosPerOperation);
+    }
+
+    private static int[] shuffledIndexes(int size) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int index = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = index;
+        }
+        return indexes;
+    }
+
+    private static final class IdleBatch extends TimerBatch {
+
+        private IdleBatch(String name, Set<String> tags, ConfigurationHolder configurationHolder,
+                BatchScheduler scheduler) {
+            super(BatchConfiguration.builder()
+                                    .name(name)
+                                    .type(BatchType.TIMER)
+                                    .className(IdleBatch.class.getName() + '$' + name)
+                                    .interval("1 hour")
+                                    .tags(tags)
+                                    .build(),
+                    configurationHolder, scheduler);
+        }
+
+        @Override
+        protected void runTask() {
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ranushan.runner;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.BatchType;
+import com.ranushan.runner.timer.TimerBatch;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.scheduler.ThreadPoolBatchScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that no state transition is lost when many threads start, stop and run the same
+ * batch concurrently.
+ */
+class AbstractBatchStateStressTest {
+
+    private static final int THREADS = 64;
+    private static final int OPERATIONS_PER_THREAD = 200;
+
+    private BatchScheduler scheduler;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ThreadPoolBatchScheduler(2);
+        callers = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        scheduler.shutdown();
+    }
+
+    @RepeatedTest(10)
+    void concurrentStartStopAndRunNowLoseNoTransition() throws Exception {
+        CountingBatch batch = new CountingBatch(scheduler);
+        TransitionCounter transitions = new TransitionCounter();
+        batch.addStateListener(transitions);
+
+        AtomicInteger starts = new AtomicInteger();
+        AtomicInteger stops = new AtomicInteger();
+        AtomicInteger manualRuns = new AtomicInteger();
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(callers.submit(() -> {
+                barrier.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                    int operation = random.nextInt(20);
+                    try {
+                        if (operation == 0) {
+                            batch.start();
+                            starts.incrementAndGet();
+                        } else if (operation == 1 && j > OPERATIONS_PER_THREAD / 2) {
+                            batch.stop();
+                            stops.incrementAndGet();
+                        } else {
+                            batch.run(true);
+                            manualRuns.incrementAndGet();
+                        }
+                    }
+                    catch (IllegalStateException expected) {
+                        // Already started, already stopped or already running
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        if (!batch.isStopped()) {
+            batch.stop();
+            stops.incrementAndGet();
+        }
+        awaitIdle(batch, transitions);
+
+        assertTrue(starts.get() <= 1, "The batch was started " + starts.get() + " times");
+        assertEquals(1, stops.get(), "Number of successful stops");
+        assertEquals(1, batch.maxConcurrentRuns.get(), "Maximum number of concurrent runs");
+        assertTrue(batch.runs.get() >= manualRuns.get(), "Manual runs missing from the executions");
+        assertEquals(batch.runs.get(), transitions.enteredRunning.get(), "Transitions to RUNNING");
+        assertEquals(batch.runs.get(), transitions.leftRunning.get(), "Transitions from RUNNING");
+        assertEquals(AbstractBatch.State.STOPPED, batch.getState());
+        assertFalse(batch.isStarted());
+        assertFalse(batch.isRunning());
+    }
+
+    /*
+     * The listeners are notified after each transition, so the last one may still be on its
+     * way once the batch is no longer running.
+     */
+    private static void awaitIdle(AbstractBatch batch, TransitionCounter transitions) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((batch.isRunning() || transitions.leftRunning.get() < transitions.enteredRunning.get())
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class TransitionCounter implements BatchStateListener {
+        private final AtomicInteger enteredRunning = new AtomicInteger();
+        private final AtomicInteger leftRunning = new AtomicInteger();
+
+        @Override
+        public void stateChanged(AbstractBatch batch, AbstractBatch.State previous, AbstractBatch.State current) {
+            if (current == AbstractBatch.State.RUNNING) {
+                enteredRunning.incrementAndGet();
+            } else if (previous == AbstractBatch.State.RUNNING) {
+                leftRunning.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class CountingBatch extends TimerBatch {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxConcurrentRuns = new AtomicInteger();
+        private final AtomicInteger runs = new AtomicInteger();
+
+        private CountingBatch(BatchScheduler scheduler) {
+            super(BatchConfiguration.builder()
+                                    .name("stress")
+                                    .type(BatchType.TIMER)
+                                    .className(CountingBatch.class.getName())
+                                    .interval("1 hour")
+                                    .build(),
+                    new ConfigurationHolder(), scheduler);
+        }
+
+        @Override
+        protected void runTask() {
+            int concurrentRuns = running.incrementAndGet();
+            maxConcurrentRuns.accumulateAndGet(concurrentRuns, Math::max);
+            runs.incrementAndGet();
+            Thread.onSpinWait();
+            running.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ranushan.runner.cron;
+
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link CompiledCron} computes the same execution times as cron-utils,
+ * whenever it computes one.
+ */
+class CompiledCronTest {
+
+    private static final long SEED = 20_241_103L;
+    private static final int EXPRESSIONS = 2000;
+    private static final int INSTANTS_PER_EXPRESSION = 20;
+
+    private static final CronParser PARSER = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.UNIX));
+
+    private static final List<ZoneId> ZONES = List.of(
+            ZoneId.of("UTC"),
+            ZoneId.of("Europe/Paris"),
+            ZoneId.of("America/New_York"),
+            ZoneId.of("America/Sao_Paulo"),
+            ZoneId.of("Australia/Lord_Howe"),
+            ZoneId.of("Asia/Kathmandu"),
+            ZoneId.of("Pacific/Apia"),
+            ZoneId.of("Pacific/Chatham"));
+
+    private static final long FROM = Instant.parse("1995-01-01T00:00:00Z").toEpochMilli();
+    private static final long TO = Instant.parse("2040-01-01T00:00:00Z").toEpochMilli();
+
+    @Test
+    void randomExpressionsMatchCronUtils() {
+        Random random = new Random(SEED);
+        int compared = 0;
+        for (int i = 0; i < EXPRESSIONS; i++) {
+            String expression = randomExpression(random);
+            Optional<CompiledCron> compiled = CompiledCron.compile(expression);
+            assertTrue(compiled.isPresent(), () -> "Not compiled: " + expression);
+            ExecutionTime executionTime = ExecutionTime.forCron(PARSER.parse(expression));
+            for (int j = 0; j < INSTANTS_PER_EXPRESSION; j++) {
+                ZoneId zone = ZONES.get(random.nextInt(ZONES.size()));
+                long instant = FROM + (long) (random.nextDouble() * (TO - FROM));
+                if (random.nextBoolean()) {
+                    // Whole minutes are the usual reference times of a schedule
+                    instant -= Math.floorMod(instant, 60_000L);
+                }
+                if (assertSameNextExecution(expression, compiled.get(), executionTime, instant, zone)) {
+                    compared++;
+                }
+            }
+        }
+        // Rare executions are often beyond the next offset transition, and left to cron-utils
+        assertTrue(compared > EXPRESSIONS * INSTANTS_PER_EXPRESSION / 2, "Only " + compared + " comparisons");
+    }
+
+    @Test
+    void leapDaysMatchCronUtils() {
+        List<String> expressions = List.of("0 0 29 2 *", "30 12 28-29 2 *", "0 0 * 2 *", "59 23 */29 * *",
+                "0 0 1 3 *", "15 6 * * 4");
+        List<String> dates = List.of("2023-02-28T23:59", "2024-02-28T00:00", "2024-02-28T23:59", "2024-02-29T00:00",
+                "2024-02-29T23:59", "2096-02-28T12:00", "2100-02-28T12:00", "2100-02-28T23:59", "2400-02-28T23:59");
+        for (String expression : expressions) {
+            CompiledCron compiled = CompiledCron.compile(expression).orElseThrow();
+            ExecutionTime executionTime = ExecutionTime.forCron(PARSER.parse(expression));
+            for (ZoneId zone : ZONES) {
+                for (String date : dates) {
+                    long instant = LocalDateTime.parse(date).atZone(zone).toInstant().toEpochMilli();
+                    assertSameNextExecution(expression, compiled, executionTime, instant, zone);
+                }
+            }
+        }
+    }
+
+    /*
+     * Around a transition, the compiled expression either computes the same time as
+     * cron-utils, or declines.
+     */
+    @Test
+    void offsetTransitionsMatchCronUtils() {
+        List<String> expressions = List.of("* * * * *", "*/15 * * * *", "30 2 * * *", "0 1-3 * * *", "0 0 * * *",
+                "45 23 * * 0", "0 */6 * * *", "30 1 * 3,10,11 *");
+        List<Long> offsetsMinutes = List.of(-1441L, -61L, -31L, -1L, 0L, 1L, 29L, 59L, 61L, 1439L);
+        int declined = 0;
+        for (ZoneId zone : ZONES) {
+            List<ZoneOffsetTransition> transitions = new ArrayList<>();
+            ZoneOffsetTransition transition = zone.getRules().nextTransition(Instant.parse("2019-01-01T00:00:00Z"));
+            while (transition != null && transition.getInstant().isBefore(Instant.parse("2026-01-01T00:00:00Z"))) {
+                transitions.add(transition);
+                transition = zone.getRules().nextTransition(transition.getInstant());
+            }
+            for (String expression : expressions) {
+                CompiledCron compiled = CompiledCron.compile(expression).orElseThrow();
+                ExecutionTime executionTime = ExecutionTime.forCron(PARSER.parse(expression));
+                for (ZoneOffsetTransition offsetTransition : transitions) {
+                    for (long offsetMinutes : offsetsMinutes) {
+                        long instant = offsetTransition.getInstant().toEpochMilli() + offsetMinutes * 60_000L;
+                        if (!assertSameNextExecution(expression, compiled, executionTime, instant, zone)) {
+                            declined++;
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(declined > 0, "The transitions were never left to cron-utils");
+    }
+
+    /*
+     * Returns false if the compiled expression declined to compute the next execution.
+     */
+    private static boolean assertSameNextExecution(String expression, CompiledCron compiled,
+                                                   ExecutionTime executionTime, long instant, ZoneId zone) {
+        long actual = compiled.nextExecution(instant, zone);
+        if (actual == CompiledCron.UNSUPPORTED) {
+            return false;
+        }
+        ZonedDateTime date = ZonedDateTime.ofInstant(Instant.ofEpochMilli(instant), zone);
+        long expected = executionTime.nextExecution(date).orElseThrow().toInstant().toEpochMilli();
+        assertEquals(expected, actual, () -> String.format("\"%s\" after %s in %s: expected %s, was %s",
+                expression, date, zone, Instant.ofEpochMilli(expected), Instant.ofEpochMilli(actual)));
+        return true;
+    }
+
+    private static String randomExpression(Random random) {
+        String minutes = randomField(random, 0, 59);
+        String hours = randomField(random, 0, 23);
+        String daysOfMonth = randomField(random, 1, 28);
+        String months = randomField(random, 1, 12);
+        String daysOfWeek = randomField(random, 0, 6);
+        // Both day fields restricted is not compiled
+        if (random.nextBoolean()) {
+            daysOfMonth = "*";
+        } else {
+            daysOfWeek = "*";
+        }
+        return String.join(" ", minutes, hours, daysOfMonth, months, daysOfWeek);
+    }
+
+    private static String randomField(Random random, int min, int max) {
+        int parts = 1 + (random.nextInt(4) == 0 ? random.nextInt(3) : 0);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < parts; i++) {
+            values.add(randomPart(random, min, max));
+        }
+        return String.join(",", values);
+    }
+
+    private static String randomPart(Random random, int min, int max) {
+        int from = min + random.nextInt(max - min + 1);
+        int to = from + random.nextInt(max - from + 1);
+        return switch (random.nextInt(6)) {
+            case 0 -> "*";
+            case 1 -> "*/" + (1 + random.nextInt(Math.max(1, (max - min) / 2)));
+            case 2 -> from + "-" + to;
+            case 3 -> from + "-" + to + "/" + (1 + random.nextInt(5));
+            default -> String.valueOf(from);
+        };
+    }
+}
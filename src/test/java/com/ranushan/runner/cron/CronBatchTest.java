@@ -0,0 +1,90 @@
+package com.ranushan.runner.cron;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.BatchType;
+import com.ranushan.domain.MisfirePolicy;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.scheduler.ThreadPoolBatchScheduler;
+import com.ranushan.store.FileFireTimeStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CronBatchTest {
+
+    @TempDir
+    Path directory;
+
+    private final BatchScheduler scheduler = new ThreadPoolBatchScheduler(1);
+    private final ConfigurationHolder configurationHolder = new ConfigurationHolder();
+    private FileFireTimeStore fireTimeStore;
+
+    @BeforeEach
+    void setUp() {
+        fireTimeStore = new FileFireTimeStore(directory);
+        configurationHolder.setFireTimeStore(fireTimeStore);
+        // Three hourly executions were missed
+        fireTimeStore.recordFireTime("hourly", System.currentTimeMillis() - TimeUnit.HOURS.toMillis(3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+        fireTimeStore.close();
+    }
+
+    @Test
+    void startReplaysMissedExecutions() throws InterruptedException {
+        HourlyBatch batch = new HourlyBatch(configurationHolder, scheduler);
+        batch.start();
+        try {
+            assertTrue(batch.executed.await(10, TimeUnit.SECONDS), "The missed execution was not replayed");
+        }
+        finally {
+            batch.stop();
+        }
+    }
+
+    @Test
+    void startOnScheduleSkipsMissedExecutions() throws InterruptedException {
+        HourlyBatch batch = new HourlyBatch(configurationHolder, scheduler);
+        batch.startOnSchedule();
+        try {
+            assertTrue(batch.getNextExecutionDate().orElseThrow().isAfter(ZonedDateTime.now()));
+            assertFalse(batch.executed.await(500, TimeUnit.MILLISECONDS), "A missed execution was replayed");
+        }
+        finally {
+            batch.stop();
+        }
+    }
+
+    private static final class HourlyBatch extends CronBatch {
+        private final CountDownLatch executed = new CountDownLatch(1);
+
+        private HourlyBatch(ConfigurationHolder configurationHolder, BatchScheduler scheduler) {
+            super(BatchConfiguration.builder()
+                                    .name("hourly")
+                                    .type(BatchType.CRON)
+                                    .className(HourlyBatch.class.getName())
+                                    .interval("0 * * * *")
+                                    .misfirePolicy(MisfirePolicy.FIRE_ONCE)
+                                    .build(),
+                    configurationHolder, scheduler);
+        }
+
+        @Override
+        protected void runTask() {
+            executed.countDown();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.ranushan.runner.cron;
+
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Measures the computation of the next execution time of Unix Cron expressions by
+ * {@link CompiledCron#nextExecution(long, ZoneId)} against cron-utils'
+ * {@link ExecutionTime#nextExecution(ZonedDateTime)}, for a few common expressions and for
+ * random expressions of values, ranges, steps and lists, from random instants.
+ * <p>
+ * Both the time and the memory allocated per operation are reported, the latter from
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}. This is not a
+ * unit test, and is not run by the build. Run it from the test classpath, e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.runner.cron.CronEvaluationBenchmark [rounds] [zone]
+ * </pre>
+ *
+ * The default is 5 measured rounds after 2 warm-up rounds, in UTC; the best round is
+ * reported.
+ */
+public final class CronEvaluationBenchmark {
+
+    private static final List<String> COMMON_EXPRESSIONS = List.of("* * * * *", "*/5 * * * *", "0 * * * *",
+            "0 0 * * *", "30 2 * * 1-5", "0 9-17/2 1,15 * *", "0 0 1 1 *");
+    private static final int RANDOM_EXPRESSIONS = 100;
+    private static final int INSTANTS = 4096;
+    private static final int OPERATIONS_PER_ROUND = 100_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int WARM_UP_ROUNDS = 2;
+    private static final long SEED = 42L;
+    private static final long FROM = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final long TO = Instant.parse("2027-01-01T00:00:00Z").toEpochMilli();
+
+    private static final CronParser PARSER =
+            new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.UNIX));
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private CronEvaluationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+        ZoneId zone = args.length > 1 ? ZoneId.of(args[1]) : ZoneOffset.UTC;
+        Random random = new Random(SEED);
+        long[] instants = new long[INSTANTS];
+        for (int i = 0; i < INSTANTS; i++) {
+            instants[i] = FROM + (long) (random.nextDouble() * (TO - FROM));
+        }
+        System.out.printf(Locale.ROOT, "%s%n", zone);
+        for (String expression : COMMON_EXPRESSIONS) {
+            compare(expression, List.of(expression), instants, zone, rounds);
+        }
+        List<String> randomExpressions = new ArrayList<>();
+        for (int i = 0; i < RANDOM_EXPRESSIONS; i++) {
+            randomExpressions.add(randomExpression(random));
+        }
+        compare(RANDOM_EXPRESSIONS + " random expressions", randomExpressions, instants, zone, rounds);
+    }
+
+    private static void compare(String label, List<String> expressions, long[] instants, ZoneId zone, int rounds) {
+        CompiledCron[] compiled = expressions.stream()
+                                             .map(expression -> CompiledCron.compile(expression).orElseThrow())
+                                             .toArray(CompiledCron[]::new);
+        ExecutionTime[] executionTimes = expressions.stream()
+                                                    .map(expression -> ExecutionTime.forCron(PARSER.parse(expression)))
+                                                    .toArray(ExecutionTime[]::new);
+        Result compiledResult = measure(rounds, operation ->
+                compiled[operation % compiled.length].nextExecution(instants[operation % instants.length], zone));
+        Result cronUtilsResult = measure(rounds, operation ->
+                executionTimes[operation % executionTimes.length]
+                        .nextExecution(ZonedDateTime.ofInstant(
+                                Instant.ofEpochMilli(instants[operation % instants.length]), zone))
+                        .map(next -> next.toInstant().toEpochMilli())
+                        .orElse(-1L));
+        System.out.printf(Locale.ROOT, "%-24s compiled %,8.1f ns/op %,7.1f B/op   cron-utils %,10.1f ns/op %,9.1f B/op%n",
+                label, compiledResult.nanos(), compiledResult.bytes(), cronUtilsResult.nanos(), cronUtilsResult.bytes());
+    }
+
+    private record Result(double nanos, double bytes) {
+    }
+
+    private static Result measure(int rounds, IntToLongFunction operation) {
+        double bestNanos = Double.MAX_VALUE;
+        double bestBytes = Double.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS + rounds; round++) {
+            long allocated = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+                checksum += operation.applyAsLong(i);
+            }
+            double nanos = (double) (System.nanoTime() - start) / OPERATIONS_PER_ROUND;
+            double bytes = (double) (THREADS.getCurrentThreadAllocatedBytes() - allocated) / OPERATIONS_PER_ROUND;
+            if (round >= WARM_UP_ROUNDS) {
+                bestNanos = Math.min(bestNanos, nanos);
+                bestBytes = Math.min(bestBytes, bytes);
+            }
+        }
+        // Keeps the operations from being eliminated
+        if (checksum == Long.MIN_VALUE) {
+            System.out.println(checksum);
+        }
+        return new Result(bestNanos, bestBytes);
+    }
+
+    /*
+     * Only one of the day fields is restricted, since the compiled engine declines both
+     */
+    private static String randomExpression(Random random) {
+        String daysOfMonth = randomField(random, 1, 28);
+        String daysOfWeek = randomField(random, 0, 6);
+        if (random.nextBoolean()) {
+            daysOfMonth = "*";
+        } else {
+            daysOfWeek = "*";
+        }
+        return String.join(" ", randomField(random, 0, 59), randomField(random, 0, 23), daysOfMonth,
+                randomField(random, 1, 12), daysOfWeek);
+    }
+
+    private static String randomField(Random random, int min, int max) {
+        int parts = 1 + (random.nextInt(4) == 0 ? random.nextInt(3) : 0);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < parts; i++) {
+            int from = min + random.nextInt(max - min + 1);
+            int to = from + random.nextInt(max - from + 1);
+            values.add(switch (random.nextInt(6)) {
+                case 0 -> "*";
+                case 1 -> "*/" + (1 + random.nextInt(Math.max(1, (max - min) / 2)));
+                case 2 -> from + "-" + to;
+                case 3 -> from + "-" + to + "/" + (1 + random.nextInt(5));
+                default -> String.valueOf(from);
+            });
+        }
+        return String.join(",", values);
+    }
+}
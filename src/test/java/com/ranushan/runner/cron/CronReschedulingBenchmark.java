@@ -0,0 +1,126 @@
+package com.ranushan.runner.cron;
+
+import com.cronutils.model.Cron;
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Measures the rescheduling of Cron batches sharing a handful of expressions, as
+ * {@link CronBatch} did before the {@link CronCache} (a parser per batch, and a new
+ * {@link ExecutionTime} per firing), with the cached {@link ExecutionTime}, and with the
+ * cached entry, which evaluates the expression with its {@link CompiledCron} when possible.
+ * <p>
+ * Both the time and the memory allocated per operation are reported, the latter from
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}. This is not a
+ * unit test, and is not run by the build. Run it from the test classpath, e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.runner.cron.CronReschedulingBenchmark [batches] [rounds] [zone]
+ * </pre>
+ *
+ * The default is 1,000 batches in UTC, and 5 measured rounds after 2 warm-up rounds; the
+ * best round is reported. In a time zone with daylight saving time, the fire times close to
+ * an offset transition are computed by cron-utils, which shows in the compiled figures.
+ */
+public final class CronReschedulingBenchmark {
+
+    private static final String[] EXPRESSIONS = {
+            "*/5 * * * *", "0 * * * *", "*/15 9-17 * * *", "0 0 * * *", "30 2 * * 1-5"
+    };
+    private static final int DEFAULT_BATCHES = 1000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int WARM_UP_ROUNDS = 2;
+    private static final int RESCHEDULINGS_PER_ROUND = 200_000;
+    private static final long START = Instant.parse("2026-01-05T00:00:00Z").toEpochMilli();
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private CronReschedulingBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BATCHES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        ZoneId zone = args.length > 2 ? ZoneId.of(args[2]) : ZoneOffset.UTC;
+        System.out.printf(Locale.ROOT, "%,d batches, %d distinct expressions, %s%n", batches, EXPRESSIONS.length,
+                zone);
+
+        measure("parse per batch", batches, rounds,
+                batch -> parse(EXPRESSIONS[batch % EXPRESSIONS.length]).hashCode());
+        CronCache cache = new CronCache(CronCache.DEFAULT_MAXIMUM_SIZE);
+        measure("CronCache.get", batches, rounds,
+                batch -> cache.get(EXPRESSIONS[batch % EXPRESSIONS.length]).hashCode());
+
+        Cron[] crons = new Cron[batches];
+        CronCache.Entry[] entries = new CronCache.Entry[batches];
+        for (int batch = 0; batch < batches; batch++) {
+            crons[batch] = parse(EXPRESSIONS[batch % EXPRESSIONS.length]);
+            entries[batch] = cache.get(EXPRESSIONS[batch % EXPRESSIONS.length]);
+        }
+        long[] fireTimes = new long[batches];
+        measure("ExecutionTime per firing", RESCHEDULINGS_PER_ROUND, rounds,
+                reschedule(fireTimes, batch -> nextExecution(ExecutionTime.forCron(crons[batch]), fireTimes[batch], zone)));
+        measure("cached ExecutionTime", RESCHEDULINGS_PER_ROUND, rounds,
+                reschedule(fireTimes, batch -> nextExecution(entries[batch].getExecutionTime(), fireTimes[batch], zone)));
+        measure("cached entry (compiled)", RESCHEDULINGS_PER_ROUND, rounds,
+                reschedule(fireTimes, batch -> entries[batch].nextExecution(fireTimes[batch], zone)));
+    }
+
+    private static Cron parse(String expression) {
+        return new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.UNIX)).parse(expression);
+    }
+
+    private static long nextExecution(ExecutionTime executionTime, long epochMillis, ZoneId zone) {
+        return executionTime.nextExecution(ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone))
+                            .map(next -> next.toInstant().toEpochMilli())
+                            .orElse(-1L);
+    }
+
+    /*
+     * Each operation moves the next batch, in turn, to its next fire time
+     */
+    private static IntToLongFunction reschedule(long[] fireTimes, IntToLongFunction nextExecution) {
+        Arrays.fill(fireTimes, START);
+        return operation -> {
+            int batch = operation % fireTimes.length;
+            long next = nextExecution.applyAsLong(batch);
+            fireTimes[batch] = next;
+            return next;
+        };
+    }
+
+    private static void measure(String label, int operations, int rounds, IntToLongFunction operation) {
+        double bestNanos = Double.MAX_VALUE;
+        double bestBytes = Double.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS + rounds; round++) {
+            long allocated = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < operations; i++) {
+                checksum += operation.applyAsLong(i);
+            }
+            double nanos = (double) (System.nanoTime() - start) / operations;
+            double bytes = (double) (THREADS.getCurrentThreadAllocatedBytes() - allocated) / operations;
+            if (round >= WARM_UP_ROUNDS) {
+                bestNanos = Math.min(bestNanos, nanos);
+                bestBytes = Math.min(bestBytes, bytes);
+            }
+        }
+        System.out.printf(Locale.ROOT, "%-26s %,12.1f ns/op %,10.1f B/op%s%n", label, bestNanos, bestBytes,
+                checksum == Long.MIN_VALUE ? " " : "");
+    }
+}
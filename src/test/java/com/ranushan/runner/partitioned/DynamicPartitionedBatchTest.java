@@ -0,0 +1,210 @@
+package com.ranushan.runner.partitioned;
+
+import com.ranushan.annotation.Aggregate;
+import com.ranushan.annotation.Partitioner;
+import com.ranushan.annotation.Run;
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.BatchType;
+import com.ranushan.exception.InvalidClassException;
+import com.ranushan.scheduler.BatchScheduler;
+import com.ranushan.scheduler.ThreadPoolBatchScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DynamicPartitionedBatchTest {
+
+    private final BatchScheduler scheduler = new ThreadPoolBatchScheduler(1);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void partitionsAreRunAndAggregated() {
+        SumBatch.total = 0;
+        create(SumBatch.class).run(true);
+
+        assertEquals(6, SumBatch.total);
+    }
+
+    @Test
+    void partitionTypeMustBeAcceptedByTheRunMethod() {
+        InvalidClassException exception = assertThrows(InvalidClassException.class,
+                () -> create(MismatchedBatch.class));
+        assertTrue(exception.getMessage().contains("java.lang.Integer"), exception.getMessage());
+    }
+
+    @Test
+    void partitionTypeIsResolvedThroughTheCollectionSupertypes() {
+        assertThrows(InvalidClassException.class, () -> create(MismatchedSubclassBatch.class));
+        assertThrows(InvalidClassException.class, () -> create(MismatchedWildcardBatch.class));
+    }
+
+    @Test
+    void unknownPartitionTypeIsNotChecked() {
+        assertDoesNotThrow(() -> create(RawBatch.class));
+        assertDoesNotThrow(() -> create(SupertypeBatch.class));
+    }
+
+    @Test
+    void deferredInstantiationLoadsTheClassWithTheContextClassLoaderOfTheConstruction(@TempDir Path root)
+            throws Exception {
+        Path source = root.resolve("generated/PluginPartitionedBatch.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, """
+                package generated;
+
+                public class PluginPartitionedBatch {
+                    public static int total;
+
+                    @com.ranushan.annotation.Partitioner
+                    public java.util.List<Integer> partitions() {
+                        return java.util.List.of(1, 2, 3);
+                    }
+
+                    @com.ranushan.annotation.Run
+                    public synchronized void run(Integer partition) {
+                        total += partition;
+                    }
+                }
+                """, StandardCharsets.UTF_8);
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, "-proc:none",
+                "-d", root.toString(), "-cp", System.getProperty("java.class.path"), source.toString()));
+        ConfigurationHolder configurationHolder = new ConfigurationHolder();
+        configurationHolder.setLazyInstantiation(true);
+
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {root.toUri().toURL()},
+                getClass().getClassLoader())) {
+            DynamicPartitionedBatch batch;
+            try {
+                thread.setContextClassLoader(classLoader);
+                batch = create("generated.PluginPartitionedBatch", configurationHolder);
+            }
+            finally {
+                thread.setContextClassLoader(contextClassLoader);
+            }
+            batch.run(true);
+
+            assertEquals(6, classLoader.loadClass("generated.PluginPartitionedBatch").getField("total").getInt(null));
+        }
+    }
+
+    @Test
+    void nameOfTheBatchClassIsPrefixedWithTheRunnerType() {
+        assertEquals("DynamicPartitionedBatch$" + SumBatch.class.getName(), create(SumBatch.class).toString());
+    }
+
+    private DynamicPartitionedBatch create(Class<?> batchClass) {
+        return create(batchClass.getName(), new ConfigurationHolder());
+    }
+
+    private DynamicPartitionedBatch create(String className, ConfigurationHolder configurationHolder) {
+        return new DynamicPartitionedBatch(BatchConfiguration.builder()
+                                                             .name(className.substring(className.lastIndexOf('.') + 1))
+                                                             .type(BatchType.PARTITIONED)
+                                                             .className(className)
+                                                             .interval("1 hour")
+                                                             .build(),
+                configurationHolder, scheduler);
+    }
+
+    public static class SumBatch {
+        private static int total;
+
+        @Partitioner
+        public List<Integer> partitions() {
+            return List.of(1, 2, 3);
+        }
+
+        @Run
+        public int run(int partition) {
+            return partition;
+        }
+
+        @Aggregate
+        public void aggregate(List<Object> results) {
+            total = results.stream().mapToInt(Integer.class::cast).sum();
+        }
+    }
+
+    public static class MismatchedBatch {
+        @Partitioner
+        public Set<Integer> partitions() {
+            return Set.of(1);
+        }
+
+        @Run
+        public void run(String partition) {
+        }
+    }
+
+    public static class Names extends ArrayList<String> {
+    }
+
+    public static class MismatchedSubclassBatch {
+        @Partitioner
+        public Names partitions() {
+            return new Names();
+        }
+
+        @Run
+        public void run(Integer partition) {
+        }
+    }
+
+    public static class MismatchedWildcardBatch {
+        @Partitioner
+        public Collection<? extends Number> partitions() {
+            return List.of(1);
+        }
+
+        @Run
+        public void run(Integer partition) {
+        }
+    }
+
+    public static class RawBatch {
+        @SuppressWarnings("rawtypes")
+        @Partitioner
+        public List partitions() {
+            return List.of("a");
+        }
+
+        @Run
+        public void run(String partition) {
+        }
+    }
+
+    public static class SupertypeBatch {
+        @Partitioner
+        public List<Integer> partitions() {
+            return List.of(1);
+        }
+
+        @Run
+        public void run(Number partition) {
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ranushan.runner.step;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileItemReaderTest {
+
+    private static final List<String> LINES = List.of("plain", "é à ü", "€ 10", "𝄞 clef", "", "last");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void smallestBuffersReadMultibyteCharacters() throws Exception {
+        for (Charset charset : List.of(StandardCharsets.UTF_8, StandardCharsets.UTF_16LE, StandardCharsets.UTF_16)) {
+            Path file = directory.resolve(charset.name() + ".txt");
+            Files.writeString(file, String.join("\r\n", LINES), charset);
+            int minBufferSize = 2 * (int) Math.ceil(charset.newEncoder().maxBytesPerChar());
+            for (int bufferSize = minBufferSize; bufferSize <= minBufferSize + 8; bufferSize++) {
+                assertEquals(LINES, readAll(file, charset, bufferSize), charset + ", buffer of " + bufferSize);
+            }
+        }
+    }
+
+    @Test
+    void bufferTooSmallForTheCharsetIsRejected() throws Exception {
+        Path file = Files.writeString(directory.resolve("lines.txt"), "€");
+
+        assertThrows(IllegalArgumentException.class, () -> readAll(file, StandardCharsets.UTF_8, 5));
+        assertThrows(IllegalArgumentException.class, () -> readAll(file, StandardCharsets.UTF_8, 0));
+        assertEquals(List.of("€"), readAll(file, StandardCharsets.UTF_8, 6));
+    }
+
+    @Test
+    void writtenLinesAreReadBack() throws Exception {
+        Path file = directory.resolve("copy.txt");
+        try (FileItemWriter<String> writer = new FileItemWriter<>(file, StandardCharsets.UTF_8, Function.identity(),
+                6, false)) {
+            writer.write(LINES);
+            writer.commit();
+        }
+
+        assertEquals(LINES, readAll(file, StandardCharsets.UTF_8, 6));
+    }
+
+    private static List<String> readAll(Path file, Charset charset, int bufferSize) {
+        List<String> lines = new ArrayList<>();
+        try (FileItemReader<String> reader = new FileItemReader<>(file, charset, Function.identity(), bufferSize)) {
+            String line;
+            while ((line = reader.read()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
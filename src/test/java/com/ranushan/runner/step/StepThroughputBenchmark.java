@@ -0,0 +1,141 @@
+package com.ranushan.runner.step;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Measures the throughput of a {@link Step} copying a CSV file through a parse, filter and
+ * format pipeline, for several chunk sizes and numbers of chunks in flight, against the
+ * same pipeline run on {@link Files#readAllLines(Path)} and {@link Files#write}.
+ * <p>
+ * This is not a unit test, and is not run by the build. Run it from the test classpath,
+ * with a small heap to check that the memory used does not depend on the size of the
+ * file, e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -Xmx32m -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.runner.step.StepThroughputBenchmark [lines] [rounds]
+ * </pre>
+ *
+ * The default is 2,000,000 lines (about 60 MB), and 3 measured rounds after one warm-up
+ * round; the best round is reported.
+ */
+public final class StepThroughputBenchmark {
+
+    private static final int DEFAULT_LINES = 2_000_000;
+    private static final int DEFAULT_ROUNDS = 3;
+    private static final int[] CHUNK_SIZES = {100, 1000, 10_000};
+    private static final int[] IN_FLIGHT_CHUNKS = {1, 2, 4};
+
+    private record Order(long id, String customer, int quantity, double price) {
+    }
+
+    private StepThroughputBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LINES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        Path directory = Files.createTempDirectory("step-benchmark");
+        Path input = directory.resolve("orders.csv");
+        Path output = directory.resolve("totals.csv");
+        try {
+            generate(input, lines);
+            System.out.printf("%,d lines, %,d bytes, max heap %,d MB%n", lines, Files.size(input),
+                    Runtime.getRuntime().maxMemory() >> 20);
+            for (int chunkSize : CHUNK_SIZES) {
+                for (int inFlightChunks : IN_FLIGHT_CHUNKS) {
+                    double best = 0;
+                    for (int round = 0; round <= rounds; round++) {
+                        double itemsPerSecond = runStep(input, output, chunkSize, inFlightChunks);
+                        // The first round is a warm-up
+                        best = round == 0 ? 0 : Math.max(best, itemsPerSecond);
+                    }
+                    System.out.printf(Locale.ROOT, "step chunk=%-6d inFlight=%d %,12.0f items/s%n", chunkSize,
+                            inFlightChunks, best);
+                }
+            }
+            double best = 0;
+            for (int round = 0; round <= rounds; round++) {
+                try {
+                    double itemsPerSecond = runInMemory(input, output);
+                    best = round == 0 ? 0 : Math.max(best, itemsPerSecond);
+                }
+                catch (OutOfMemoryError error) {
+                    System.out.println("readAllLines/write: OutOfMemoryError");
+                    return;
+                }
+            }
+            System.out.printf(Locale.ROOT, "readAllLines/write           %,12.0f items/s%n", best);
+        }
+        finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static double runStep(Path input, Path output, int chunkSize, int inFlightChunks) {
+        StepResult result = Step.builder(
+                                    new FileItemReader<>(input, StandardCharsets.UTF_8,
+                                            StepThroughputBenchmark::parse, FileItemReader.DEFAULT_BUFFER_SIZE),
+                                    StepThroughputBenchmark::process,
+                                    new FileItemWriter<>(output, StandardCharsets.UTF_8, Objects::toString,
+                                            FileItemWriter.DEFAULT_BUFFER_SIZE, false))
+                                .name("benchmark")
+                                .chunkSize(chunkSize)
+                                .maxInFlightChunks(inFlightChunks)
+                                .build()
+                                .execute();
+        return result.itemsPerSecond();
+    }
+
+    private static double runInMemory(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        List<String> totals = new ArrayList<>();
+        int count = 0;
+        for (String line : Files.readAllLines(input, StandardCharsets.UTF_8)) {
+            count++;
+            String total = process(parse(line));
+            if (total != null) {
+                totals.add(total);
+            }
+        }
+        Files.write(output, totals, StandardCharsets.UTF_8);
+        return count * 1e9 / (System.nanoTime() - start);
+    }
+
+    private static Order parse(String line) {
+        String[] fields = line.split(",", -1);
+        return new Order(Long.parseLong(fields[0]), fields[1], Integer.parseInt(fields[2]),
+                Double.parseDouble(fields[3]));
+    }
+
+    /*
+     * Filters out about a tenth of the orders
+     */
+    private static String process(Order order) {
+        if (order.quantity() == 0) {
+            return null;
+        }
+        return order.id() + "," + order.customer() + "," + String.format(Locale.ROOT, "%.2f",
+                order.quantity() * order.price());
+    }
+
+    private static void generate(Path file, int lines) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write(i + ",customer-" + (i % 9973) + "," + (i % 10) + "," + (i % 1000) / 10.0);
+                writer.newLine();
+            }
+        }
+    }
+}
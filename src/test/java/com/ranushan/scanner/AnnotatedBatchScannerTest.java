@@ -0,0 +1,82 @@
+package com.ranushan.scanner;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.scanner.stale.FormerBatch;
+import com.ranushan.scanner.stale.IndexedBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnnotatedBatchScannerTest {
+
+    private static final String PACKAGE = IndexedBatch.class.getPackageName();
+
+    @TempDir
+    Path root;
+
+    @Test
+    void staleIndexEntriesAreSkipped() throws Exception {
+        Path index = root.resolve(BatchIndex.LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(BatchIndex.COMMENT + " Left by a previous compilation",
+                IndexedBatch.class.getName(), FormerBatch.class.getName(), PACKAGE + ".DeletedBatch"),
+                StandardCharsets.UTF_8);
+
+        Set<String> names = scan(PACKAGE).stream()
+                                         .map(BatchConfiguration::getName)
+                                         .collect(Collectors.toSet());
+
+        assertEquals(Set.of("indexed"), names);
+    }
+
+    @Test
+    void classesAreLoadedWithTheScannedClassLoader() throws Exception {
+        Path source = root.resolve("generated/PluginBatch.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, """
+                package generated;
+
+                @com.ranushan.annotation.Batch(name = "plugin", interval = "1 hour")
+                public class PluginBatch {
+
+                    @com.ranushan.annotation.Run
+                    public void run() {
+                    }
+                }
+                """, StandardCharsets.UTF_8);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, "-proc:none", "-d", root.toString(),
+                "-cp", System.getProperty("java.class.path"), source.toString()));
+
+        Set<BatchConfiguration> configurations = scan("generated");
+
+        assertEquals(1, configurations.size());
+        assertEquals("plugin", configurations.iterator().next().getName());
+    }
+
+    private Set<BatchConfiguration> scan(String basePackage) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {root.toUri().toURL()},
+                getClass().getClassLoader())) {
+            thread.setContextClassLoader(classLoader);
+            return AnnotatedBatchScanner.scanPackage(basePackage);
+        }
+        finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+}
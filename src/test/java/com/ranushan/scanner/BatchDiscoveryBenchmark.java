@@ -0,0 +1,135 @@
+package com.ranushan.scanner;
+
+import com.ranushan.processor.BatchIndexProcessor;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Measures the discovery of batches by {@link AnnotatedBatchScanner#scanPackage(String)} in
+ * a generated class-path root of several thousand classes, a tenth of which are batches,
+ * with the {@link BatchIndex} written by the {@link BatchIndexProcessor} and with a full
+ * scan of the class-file bytes.
+ * <p>
+ * Each round uses a new class loader, so that loading the batch classes is measured as at
+ * startup. This is not a unit test, and is not run by the build. Run it from the test
+ * classpath, e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.scanner.BatchDiscoveryBenchmark [classes] [rounds]
+ * </pre>
+ *
+ * The default is 5,000 classes, and 5 measured rounds after 2 warm-up rounds; the best
+ * round is reported.
+ */
+public final class BatchDiscoveryBenchmark {
+
+    private static final int DEFAULT_CLASSES = 5000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int WARM_UP_ROUNDS = 2;
+    private static final int CLASSES_PER_PACKAGE = 100;
+    private static final String BASE_PACKAGE = "discovery";
+
+    private BatchDiscoveryBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int classes = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLASSES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        Path directory = Files.createTempDirectory("discovery-benchmark");
+        try {
+            Path root = compile(directory, classes);
+            Path index = root.resolve(BatchIndex.LOCATION);
+            System.out.printf(Locale.ROOT, "%,d classes, %,d batches%n", classes, (classes + 9) / 10);
+            System.out.printf(Locale.ROOT, "index     %8.1f ms%n", measure(root, rounds));
+            Files.delete(index);
+            System.out.printf(Locale.ROOT, "full scan %8.1f ms%n", measure(root, rounds));
+        }
+        finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private static double measure(Path root, int rounds) throws IOException {
+        double best = Double.MAX_VALUE;
+        int batches = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS + rounds; round++) {
+            Thread thread = Thread.currentThread();
+            ClassLoader contextClassLoader = thread.getContextClassLoader();
+            try (URLClassLoader classLoader = new URLClassLoader(new URL[] {root.toUri().toURL()},
+                    BatchDiscoveryBenchmark.class.getClassLoader())) {
+                thread.setContextClassLoader(classLoader);
+                long start = System.nanoTime();
+                batches = AnnotatedBatchScanner.scanPackage(BASE_PACKAGE).size();
+                double millis = (System.nanoTime() - start) / 1e6;
+                if (round >= WARM_UP_ROUNDS) {
+                    best = Math.min(best, millis);
+                }
+            }
+            finally {
+                thread.setContextClassLoader(contextClassLoader);
+            }
+        }
+        if (batches != (countClasses(root) + 9) / 10) {
+            throw new IllegalStateException("Unexpected number of batches: " + batches);
+        }
+        return best;
+    }
+
+    private static int countClasses(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return (int) paths.filter(path -> path.toString().endsWith(".class")).count();
+        }
+    }
+
+    /*
+     * Every tenth class is a batch; the others are plain classes of the same size, which the
+     * full scan has to read as well.
+     */
+    private static Path compile(Path directory, int classes) throws IOException {
+        Path sources = directory.resolve("sources");
+        Path root = directory.resolve("classes");
+        Files.createDirectories(root);
+        List<String> arguments = new ArrayList<>(List.of("-d", root.toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-processor", BatchIndexProcessor.class.getName()));
+        for (int i = 0; i < classes; i++) {
+            String packageName = BASE_PACKAGE + ".p" + i / CLASSES_PER_PACKAGE;
+            String className = "Class" + i;
+            Path source = sources.resolve(packageName.replace('.', '/')).resolve(className + ".java");
+            Files.createDirectories(source.getParent());
+            String annotation = i % 10 == 0
+                    ? "@com.ranushan.annotation.Batch(name = \"batch-" + i + "\", interval = \"1 hour\")\n"
+                    : "";
+            String runAnnotation = i % 10 == 0 ? "    @com.ranushan.annotation.Run\n" : "";
+            Files.writeString(source, "package " + packageName + ";\n\n" + annotation
+                    + "public class " + className + " {\n\n" + runAnnotation
+                    + "    public void run() {\n    }\n}\n", StandardCharsets.UTF_8);
+            arguments.add(source.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        long start = System.nanoTime();
+        if (compiler.run(null, null, null, arguments.toArray(String[]::new)) != 0) {
+            throw new IllegalStateException("Unable to compile the generated classes");
+        }
+        System.out.printf(Locale.ROOT, "compiled in %.1f s%n", (System.nanoTime() - start) / 1e9);
+        return root;
+    }
+}
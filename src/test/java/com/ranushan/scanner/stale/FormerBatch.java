@@ -0,0 +1,10 @@
+package com.ranushan.scanner.stale;
+
+/**
+ * A class that is listed in a stale index, but is not annotated with {@code @Batch} anymore.
+ */
+public class FormerBatch {
+
+    public void run() {
+    }
+}
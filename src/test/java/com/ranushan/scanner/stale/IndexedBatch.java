@@ -0,0 +1,12 @@
+package com.ranushan.scanner.stale;
+
+import com.ranushan.annotation.Batch;
+import com.ranushan.annotation.Run;
+
+@Batch(name = "indexed", interval = "1 hour")
+public class IndexedBatch {
+
+    @Run
+    public void run() {
+    }
+}
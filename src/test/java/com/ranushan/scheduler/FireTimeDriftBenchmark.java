@@ -0,0 +1,142 @@
+package com.ranushan.scheduler;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.BatchType;
+import com.ranushan.runner.timer.TimerBatch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how late timer batches with a period of 100 milliseconds fire, against the fire
+ * times they were scheduled for, with each {@link BatchScheduler}.
+ * <p>
+ * The lag of each execution is its actual start time, with microsecond resolution, minus
+ * its intended fire time. The drift is the growth of the intended fire times beyond a
+ * whole number of periods since the first execution, which stays at zero as long as each
+ * fire time is computed from the previous one rather than from the end of the previous
+ * execution.
+ * <p>
+ * This is not a unit test, and is not run by the build. Run it from the test classpath,
+ * e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.scheduler.FireTimeDriftBenchmark [batches] [seconds]
+ * </pre>
+ *
+ * The default is 100 batches for 10 seconds per scheduler; the first second is a warm-up
+ * and is not reported.
+ */
+public final class FireTimeDriftBenchmark {
+
+    private static final int DEFAULT_BATCHES = 100;
+    private static final int DEFAULT_SECONDS = 10;
+    private static final long PERIOD_MILLIS = 100L;
+    private static final int WARM_UP_EXECUTIONS = (int) (1000L / PERIOD_MILLIS);
+
+    private FireTimeDriftBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BATCHES;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+        System.out.printf(Locale.ROOT, "%d batches every %d ms, %d s%n", batches, PERIOD_MILLIS, seconds);
+        run(new ThreadPoolBatchScheduler(), batches, seconds);
+        run(new TimingWheelBatchScheduler(ThreadPoolBatchScheduler.DEFAULT_POOL_SIZE, Duration.ofMillis(1)),
+                batches, seconds);
+    }
+
+    private static void run(BatchScheduler scheduler, int batches, int seconds) throws InterruptedException {
+        int executions = (int) (seconds * 1000L / PERIOD_MILLIS);
+        List<TickingBatch> started = new ArrayList<>(batches);
+        try {
+            for (int i = 0; i < batches; i++) {
+                TickingBatch batch = new TickingBatch("batch-" + i, executions, scheduler);
+                batch.start();
+                started.add(batch);
+            }
+            TimeUnit.SECONDS.sleep(seconds + 1L);
+        }
+        finally {
+            started.forEach(TickingBatch::stop);
+            scheduler.shutdown();
+        }
+        report(scheduler.getClass().getSimpleName(), started);
+    }
+
+    private static void report(String label, List<TickingBatch> batches) {
+        List<Long> lags = new ArrayList<>();
+        long maxDrift = 0L;
+        long executions = 0L;
+        for (TickingBatch batch : batches) {
+            int count = batch.count;
+            executions += count;
+            for (int i = WARM_UP_EXECUTIONS; i < count; i++) {
+                lags.add(batch.actualMicros[i] - batch.intendedMillis[i] * 1000L);
+                long periods = (batch.intendedMillis[i] - batch.intendedMillis[0]) / PERIOD_MILLIS;
+                maxDrift = Math.max(maxDrift,
+                        Math.abs(batch.intendedMillis[i] - batch.intendedMillis[0] - periods * PERIOD_MILLIS));
+            }
+        }
+        long[] sorted = lags.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length == 0) {
+            System.out.printf(Locale.ROOT, "%-28s no execution%n", label);
+            return;
+        }
+        System.out.printf(Locale.ROOT,
+                "%-28s executions=%,d lag p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms drift=%d ms%n",
+                label, executions, percentile(sorted, 50.0), percentile(sorted, 99.0), percentile(sorted, 99.9),
+                sorted[sorted.length - 1] / 1000.0, maxDrift);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(sorted.length * percentile / 100.0) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    private static long nowMicros() {
+        Instant now = Instant.now();
+        return TimeUnit.SECONDS.toMicros(now.getEpochSecond()) + now.getNano() / 1000L;
+    }
+
+    /*
+     * Records the intended and actual start time of its executions. The executions of a
+     * batch never overlap, and the count is published last.
+     */
+    private static final class TickingBatch extends TimerBatch {
+
+        private final long[] intendedMillis;
+        private final long[] actualMicros;
+        private volatile int count;
+
+        private TickingBatch(String name, int executions, BatchScheduler scheduler) {
+            super(BatchConfiguration.builder()
+                                    .name(name)
+                                    .type(BatchType.TIMER)
+                                    .className(TickingBatch.class.getName())
+                                    .interval(PERIOD_MILLIS + " milliseconds")
+                                    .build(),
+                    new ConfigurationHolder(), scheduler);
+            this.intendedMillis = new long[executions];
+            this.actualMicros = new long[executions];
+        }
+
+        @Override
+        protected void runTask() {
+            long actual = nowMicros();
+            int index = count;
+            if (index < actualMicros.length) {
+                actualMicros[index] = actual;
+                intendedMillis[index] = getScheduledFireTime();
+                count = index + 1;
+            }
+        }
+    }
+}
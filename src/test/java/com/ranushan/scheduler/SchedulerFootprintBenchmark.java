@@ -0,0 +1,126 @@
+package com.ranushan.scheduler;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.BatchType;
+import com.ranushan.factory.BatchThreadFactory;
+import com.ranushan.runner.AbstractBatch;
+import com.ranushan.runner.timer.TimerBatch;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the threads and the resident memory of a process holding 10,000 started batches,
+ * either dispatched by one shared {@link BatchScheduler}, or each owning a single-thread
+ * {@link ScheduledExecutorService}, as batches did before the shared scheduler.
+ * <p>
+ * This is not a unit test, and is not run by the build. Run each mode in its own JVM, so
+ * that the resident memory of one does not include the other, with a fixed, pre-touched
+ * heap, so that the growth of the resident memory is not the growth of the heap, e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -Xms512m -Xmx512m -XX:+AlwaysPreTouch -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.scheduler.SchedulerFootprintBenchmark [thread-pool|timing-wheel|per-batch] [batches]
+ * </pre>
+ *
+ * The resident memory is read from {@code /proc/self/status}, and is only reported on Linux.
+ */
+public final class SchedulerFootprintBenchmark {
+
+    private static final int DEFAULT_BATCHES = 10_000;
+
+    private SchedulerFootprintBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "thread-pool";
+        int batches = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BATCHES;
+        report("idle", batches);
+        switch (mode) {
+            case "thread-pool" -> runShared(new ThreadPoolBatchScheduler(), batches);
+            case "timing-wheel" -> runShared(new TimingWheelBatchScheduler(), batches);
+            case "per-batch" -> runPerBatch(batches);
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    private static void runShared(BatchScheduler scheduler, int batches) throws Exception {
+        List<AbstractBatch> started = new ArrayList<>(batches);
+        ConfigurationHolder configurationHolder = new ConfigurationHolder();
+        for (int i = 0; i < batches; i++) {
+            IdleBatch batch = new IdleBatch("batch-" + i, configurationHolder, scheduler);
+            batch.start();
+            started.add(batch);
+        }
+        settle();
+        report(scheduler.getClass().getSimpleName(), batches);
+        started.forEach(AbstractBatch::stop);
+        scheduler.shutdown();
+    }
+
+    /*
+     * One idle timer thread per batch, as each batch created its own executor
+     */
+    private static void runPerBatch(int batches) throws Exception {
+        List<ScheduledExecutorService> executors = new ArrayList<>(batches);
+        for (int i = 0; i < batches; i++) {
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                    new BatchThreadFactory("batch-" + i));
+            executor.schedule(() -> { }, 1, TimeUnit.HOURS);
+            executors.add(executor);
+        }
+        settle();
+        report("per-batch executors", batches);
+        executors.forEach(ScheduledExecutorService::shutdownNow);
+    }
+
+    private static void settle() throws InterruptedException {
+        System.gc();
+        Thread.sleep(1000);
+    }
+
+    private static void report(String label, int batches) throws IOException {
+        System.out.printf(Locale.ROOT, "%-26s batches=%-6d threads=%-6d rss=%s%n", label,
+                label.equals("idle") ? 0 : batches, ManagementFactory.getThreadMXBean().getThreadCount(),
+                residentMemory());
+    }
+
+    private static String residentMemory() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return "n/a";
+        }
+        return Files.readAllLines(status).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.substring("VmRSS:".length()).trim())
+                    .findFirst()
+                    .orElse("n/a");
+    }
+
+    private static final class IdleBatch extends TimerBatch {
+
+        private IdleBatch(String name, ConfigurationHolder configurationHolder, BatchScheduler scheduler) {
+            super(BatchConfiguration.builder()
+                                    .name(name)
+                                    .type(BatchType.TIMER)
+                                    .className(IdleBatch.class.getName())
+                                    .interval("1 hour")
+                                    .build(),
+                    configurationHolder, scheduler);
+        }
+
+        @Override
+        protected void runTask() {
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.ranushan.scheduler;
+
+import com.ranushan.configuration.BatchConfiguration;
+import com.ranushan.configuration.ConfigurationHolder;
+import com.ranushan.domain.BatchType;
+import com.ranushan.domain.ExecutionMode;
+import com.ranushan.runner.timer.TimerBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long 1,000 I/O-bound batches fired at the same time take to complete, when
+ * their tasks run on the scheduler threads, and when they are dispatched to virtual threads
+ * (or, on Java 17, to the bounded pool of platform threads replacing them).
+ * <p>
+ * Each task sleeps for 100 ms, standing for a blocking call. With tasks on the scheduler
+ * threads, the batches are served a pool at a time; with virtual threads, all of them
+ * complete in about one task duration.
+ * <p>
+ * This is not a unit test, and is not run by the build. Run it from the test classpath,
+ * e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.scheduler.TaskDispatchBenchmark [batches] [rounds]
+ * </pre>
+ *
+ * The best of the measured rounds is reported, after one warm-up round.
+ */
+public final class TaskDispatchBenchmark {
+
+    private static final int DEFAULT_BATCHES = 1000;
+    private static final int DEFAULT_ROUNDS = 3;
+    private static final long TASK_MILLIS = 100L;
+
+    private TaskDispatchBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BATCHES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        System.out.printf(Locale.ROOT, "%,d batches, %d ms tasks, Java %s%n", batches, TASK_MILLIS,
+                Runtime.version());
+        for (ExecutionMode executionMode : List.of(ExecutionMode.SCHEDULER_THREAD, ExecutionMode.VIRTUAL_THREAD)) {
+            BatchScheduler scheduler = new ThreadPoolBatchScheduler();
+            try {
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round <= rounds; round++) {
+                    long elapsed = fireAll(scheduler, executionMode, batches);
+                    // The first round is a warm-up
+                    best = round == 0 ? best : Math.min(best, elapsed);
+                }
+                System.out.printf(Locale.ROOT, "%-16s all done in %,6d ms, %,8.0f tasks/s%n", executionMode,
+                        TimeUnit.NANOSECONDS.toMillis(best), batches * 1e9 / best);
+            }
+            finally {
+                scheduler.shutdown();
+            }
+        }
+    }
+
+    private static long fireAll(BatchScheduler scheduler, ExecutionMode executionMode, int batches)
+            throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(batches);
+        ConfigurationHolder configurationHolder = new ConfigurationHolder();
+        List<SleepingBatch> sleepingBatches = new ArrayList<>(batches);
+        for (int i = 0; i < batches; i++) {
+            sleepingBatches.add(new SleepingBatch("batch-" + i, executionMode, configurationHolder, scheduler, done));
+        }
+        long start = System.nanoTime();
+        for (SleepingBatch batch : sleepingBatches) {
+            scheduler.schedule(batch, 0L, TimeUnit.MILLISECONDS);
+        }
+        if (!done.await(10, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Tasks still running after 10 minutes");
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static final class SleepingBatch extends TimerBatch {
+        private final CountDownLatch done;
+
+        private SleepingBatch(String name, ExecutionMode executionMode, ConfigurationHolder configurationHolder,
+                              BatchScheduler scheduler, CountDownLatch done) {
+            super(BatchConfiguration.builder()
+                                    .name(name)
+                                    .type(BatchType.TIMER)
+                                    .className(SleepingBatch.class.getName())
+                                    .interval("1 hour")
+                                    .executionMode(executionMode)
+                                    .build(),
+                    configurationHolder, scheduler);
+            this.done = done;
+        }
+
+        @Override
+        protected void runTask() {
+            try {
+                Thread.sleep(TASK_MILLIS);
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            finally {
+                done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ranushan.shutdown;
+
+import com.ranushan.annotation.Batch;
+import com.ranushan.annotation.Run;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Batch(name = "slow", interval = "1 hour")
+public class SlowBatch {
+
+    private static volatile long taskMillis;
+    private static volatile CountDownLatch running = new CountDownLatch(1);
+    private static volatile CountDownLatch interrupted = new CountDownLatch(1);
+
+    public static void prepare(long taskMillis) {
+        SlowBatch.taskMillis = taskMillis;
+        SlowBatch.running = new CountDownLatch(1);
+        SlowBatch.interrupted = new CountDownLatch(1);
+    }
+
+    public static boolean awaitRunning() throws InterruptedException {
+        return running.await(5, TimeUnit.SECONDS);
+    }
+
+    public static boolean awaitInterrupted(long timeoutMillis) throws InterruptedException {
+        return interrupted.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Run
+    public void run() {
+        running.countDown();
+        try {
+            TimeUnit.MILLISECONDS.sleep(taskMillis);
+        }
+        catch (InterruptedException exception) {
+            interrupted.countDown();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
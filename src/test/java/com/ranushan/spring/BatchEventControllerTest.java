@@ -0,0 +1,113 @@
+package com.ranushan.spring;
+
+import com.ranushan.BatchManager;
+import com.ranushan.spring.boot.lifecycle.HourlyBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchEventControllerTest {
+
+    private BatchManager batchManager;
+    private BatchEventController controller;
+
+    @BeforeEach
+    void setUp() {
+        batchManager = new BatchManager.BatchRunner()
+                .scanPackage(HourlyBatch.class.getPackageName())
+                .registerShutdownHook(false)
+                .build();
+        controller = new BatchEventController(batchManager, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.shutdown();
+        batchManager.shutdown();
+    }
+
+    @Test
+    void stalledClientDoesNotDelayTheOthersAndIsDisconnected() throws InterruptedException {
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        controller.subscribe(stalled);
+        controller.subscribe(healthy);
+
+        batchManager.startBatch("hourly");
+        assertTrue(stalled.sendStarted.await(5, TimeUnit.SECONDS));
+        assertTrue(healthy.awaitEvent("STARTED", 5));
+
+        // Served while the stalled client still holds its sender, before the send timeout
+        batchManager.stopBatch("hourly");
+        assertTrue(healthy.awaitEvent("STOPPED", 1));
+
+        assertTrue(stalled.interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        batchManager.resetBatch("hourly");
+        batchManager.startBatch("hourly");
+        assertTrue(healthy.awaitEvent("STARTED", 5));
+        assertEquals(1, stalled.sends.get());
+    }
+
+    /*
+     * Blocks in its first send until interrupted, as a write to a client that stopped reading
+     */
+    private static final class StalledEmitter extends SseEmitter {
+        private final AtomicInteger sends = new AtomicInteger();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sends.incrementAndGet();
+            sendStarted.countDown();
+            try {
+                new CountDownLatch(1).await();
+            }
+            catch (InterruptedException exception) {
+                interrupted.countDown();
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+            super.complete();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<SseEventBuilder> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder);
+        }
+
+        private boolean awaitEvent(String name, long timeoutSeconds) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            SseEventBuilder event;
+            while ((event = events.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) != null) {
+                if (event.build().stream().anyMatch(part -> part.getData().toString().contains("event:" + name))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
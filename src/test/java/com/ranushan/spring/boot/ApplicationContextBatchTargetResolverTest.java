@@ -0,0 +1,77 @@
+package com.ranushan.spring.boot;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationContextBatchTargetResolverTest {
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    private final ApplicationContextBatchTargetResolver resolver = new ApplicationContextBatchTargetResolver(beanFactory);
+
+    @Test
+    void uniqueBeanIsRun() {
+        ReportBatch bean = new ReportBatch();
+        beanFactory.registerSingleton("reportBatch", bean);
+
+        assertSame(bean, resolver.resolveTarget(ReportBatch.class).orElseThrow());
+    }
+
+    @Test
+    void interfaceBasedProxyIsMatchedOnItsTargetClass() {
+        ProxyFactory proxyFactory = new ProxyFactory(new ReportBatch());
+        proxyFactory.setInterfaces(Task.class);
+        Object proxy = proxyFactory.getProxy();
+        beanFactory.registerSingleton("reportBatch", proxy);
+        beanFactory.registerSingleton("otherTask", (Task) () -> {
+        });
+
+        assertSame(proxy, resolver.resolveTarget(ReportBatch.class).orElseThrow());
+    }
+
+    @Test
+    void beanOfTheExactClassIsPreferredToSubclasses() {
+        ReportBatch bean = new ReportBatch();
+        beanFactory.registerSingleton("reportBatch", bean);
+        beanFactory.registerSingleton("monthlyReportBatch", new MonthlyReportBatch());
+
+        assertSame(bean, resolver.resolveTarget(ReportBatch.class).orElseThrow());
+    }
+
+    @Test
+    void severalBeansAreAnError() {
+        beanFactory.registerSingleton("first", new ReportBatch());
+        beanFactory.registerSingleton("second", new ReportBatch());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> resolver.resolveTarget(ReportBatch.class));
+        assertTrue(exception.getMessage().contains("first"));
+    }
+
+    @Test
+    void classWithoutBeanIsInstantiated() {
+        assertEquals(Optional.empty(), resolver.resolveTarget(ReportBatch.class));
+    }
+
+    interface Task {
+        void run();
+    }
+
+    @Component
+    static class ReportBatch implements Task {
+        @Override
+        public void run() {
+        }
+    }
+
+    static class MonthlyReportBatch extends ReportBatch {
+    }
+}
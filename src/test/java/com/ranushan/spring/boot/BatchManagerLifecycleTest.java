@@ -0,0 +1,63 @@
+package com.ranushan.spring.boot;
+
+import com.ranushan.BatchManager;
+import com.ranushan.cluster.FileMembershipStore;
+import com.ranushan.spring.boot.lifecycle.HourlyBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchManagerLifecycleTest {
+
+    @TempDir
+    Path directory;
+
+    private BatchManager batchManager;
+
+    @AfterEach
+    void tearDown() {
+        batchManager.shutdown();
+    }
+
+    @Test
+    void stoppedLifecycleCanBeStartedAgain() {
+        batchManager = runner().build();
+        BatchManagerLifecycle lifecycle = new BatchManagerLifecycle(batchManager, new SharedSchedulerProperties());
+
+        lifecycle.start();
+        assertTrue(batchManager.findBatchByName("hourly").isStarted());
+        lifecycle.stop();
+        assertTrue(batchManager.findBatchByName("hourly").isStopped());
+        lifecycle.start();
+        assertTrue(batchManager.findBatchByName("hourly").isStarted());
+    }
+
+    @Test
+    void stoppedLifecycleLeavesTheClusterAndJoinsItAgain() {
+        FileMembershipStore membershipStore = new FileMembershipStore(directory);
+        batchManager = runner().membershipStore(membershipStore).nodeId("node-1").build();
+        BatchManagerLifecycle lifecycle = new BatchManagerLifecycle(batchManager, new SharedSchedulerProperties());
+
+        lifecycle.start();
+        assertTrue(batchManager.findBatchByName("hourly").isStarted());
+        lifecycle.stop();
+        assertFalse(batchManager.findBatchByName("hourly").isStarted());
+        assertTrue(membershipStore.findLiveNodes(System.currentTimeMillis()).isEmpty());
+        lifecycle.start();
+        assertTrue(batchManager.findBatchByName("hourly").isStarted());
+        assertEquals(Set.of("node-1"), membershipStore.findLiveNodes(System.currentTimeMillis()));
+    }
+
+    private static BatchManager.BatchRunner runner() {
+        return new BatchManager.BatchRunner()
+                .scanPackage(HourlyBatch.class.getPackageName())
+                .registerShutdownHook(false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ranushan.spring.boot.lifecycle;
+
+import com.ranushan.annotation.Batch;
+import com.ranushan.annotation.Run;
+
+@Batch(name = "hourly", interval = "1 hour")
+public class HourlyBatch {
+
+    @Run
+    public void run() {
+    }
+}
@@ -0,0 +1,20 @@
+package com.ranushan.startup;
+
+import com.ranushan.annotation.Batch;
+import com.ranushan.annotation.Run;
+
+/**
+ * A batch that cannot be instantiated, started before {@link HealthyBatch} since batches
+ * are started by name.
+ */
+@Batch(name = "broken", interval = "1 hour")
+public class BrokenBatch {
+
+    public BrokenBatch() {
+        throw new IllegalStateException("Missing resource");
+    }
+
+    @Run
+    public void run() {
+    }
+}
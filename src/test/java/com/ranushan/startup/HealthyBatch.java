@@ -0,0 +1,12 @@
+package com.ranushan.startup;
+
+import com.ranushan.annotation.Batch;
+import com.ranushan.annotation.Run;
+
+@Batch(name = "healthy", interval = "1 hour")
+public class HealthyBatch {
+
+    @Run
+    public void run() {
+    }
+}
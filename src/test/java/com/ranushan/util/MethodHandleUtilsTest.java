@@ -0,0 +1,78 @@
+package com.ranushan.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MethodHandleUtilsTest {
+
+    @Test
+    void sneakyCheckedExceptionIsWrappedByTheDirectRunnable() throws NoSuchMethodException {
+        assertWrapsCheckedException(MethodHandleUtils.toRunnable(Target.class.getMethod("sneakyThrow"), new Target()));
+    }
+
+    @Test
+    void sneakyCheckedExceptionIsWrappedByTheReflectiveRunnable() throws NoSuchMethodException {
+        Method method = Target.class.getDeclaredMethod("sneakyThrowPackagePrivate");
+        assertWrapsCheckedException(MethodHandleUtils.toRunnable(method, new Target()));
+    }
+
+    @Test
+    void sneakyCheckedExceptionIsWrappedByTheDirectConsumer() throws NoSuchMethodException {
+        Consumer<String> consumer = MethodHandleUtils.toConsumer(Target.class.getMethod("sneakyThrow", String.class),
+                new Target());
+        assertWrapsCheckedException(() -> consumer.accept("argument"));
+    }
+
+    @Test
+    void declaredCheckedExceptionIsWrappedByTheDirectRunnable() throws NoSuchMethodException {
+        assertWrapsCheckedException(MethodHandleUtils.toRunnable(Target.class.getMethod("declaredThrow"), new Target()));
+    }
+
+    @Test
+    void uncheckedExceptionIsPropagatedAsItIs() throws NoSuchMethodException {
+        Runnable runnable = MethodHandleUtils.toRunnable(Target.class.getMethod("uncheckedThrow"), new Target());
+        IllegalStateException exception = assertThrows(IllegalStateException.class, runnable::run);
+        assertEquals("unchecked", exception.getMessage());
+    }
+
+    private static void assertWrapsCheckedException(Runnable runnable) {
+        UndeclaredThrowableException exception = assertThrows(UndeclaredThrowableException.class, runnable::run);
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    public static class Target {
+
+        public void sneakyThrow() {
+            Target.<RuntimeException>sneakyThrow(new IOException("checked"));
+        }
+
+        public void sneakyThrow(String argument) {
+            Target.<RuntimeException>sneakyThrow(new IOException(argument));
+        }
+
+        void sneakyThrowPackagePrivate() {
+            Target.<RuntimeException>sneakyThrow(new IOException("checked"));
+        }
+
+        public void declaredThrow() throws IOException {
+            throw new IOException("checked");
+        }
+
+        public void uncheckedThrow() {
+            throw new IllegalStateException("unchecked");
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E extends Throwable> void sneakyThrow(Throwable throwable) throws E {
+            throw (E) throwable;
+        }
+    }
+}
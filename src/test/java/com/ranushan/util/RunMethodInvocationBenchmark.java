@@ -0,0 +1,80 @@
+package com.ranushan.util;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * Measures the cost of invoking a {@code @Run} method through the invoker built by
+ * {@link MethodHandleUtils#toRunnable(Method, Object)}, against the reflective path of
+ * {@link ReflectionUtils#invokeMethod(Method, Object, Object...)} it replaced, and against a
+ * direct call.
+ * <p>
+ * The invoked method only updates a hash, a dependency chain the JIT compiler cannot fold
+ * into a single operation across the loop, so that the differences between the figures are the overhead of
+ * the invocation itself. The invokers share one measuring loop, as the scheduler threads
+ * share one call site for all batches.
+ * <p>
+ * This is not a unit test, and is not run by the build. Run it from the test classpath,
+ * e.g.:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *     com.ranushan.util.RunMethodInvocationBenchmark [invocations] [rounds]
+ * </pre>
+ *
+ * The best of the measured rounds is reported, after two warm-up rounds.
+ */
+public final class RunMethodInvocationBenchmark {
+
+    private static final int DEFAULT_INVOCATIONS = 50_000_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int WARM_UP_ROUNDS = 2;
+
+    private RunMethodInvocationBenchmark() {
+    }
+
+    public static void main(String[] args) throws NoSuchMethodException {
+        int invocations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_INVOCATIONS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        CountingTask task = new CountingTask();
+        Method method = CountingTask.class.getMethod("run");
+        Runnable direct = task::run;
+        Runnable lambda = MethodHandleUtils.toRunnable(method, task);
+        Runnable reflective = () -> ReflectionUtils.invokeMethod(method, task);
+
+        System.out.printf(Locale.ROOT, "%,d invocations per round, Java %s%n", invocations, Runtime.version());
+        report("direct call", measure(direct, invocations, rounds), invocations);
+        report("LambdaMetafactory", measure(lambda, invocations, rounds), invocations);
+        report("Method.invoke", measure(reflective, invocations, rounds), invocations);
+        // Keeps the hash, and therefore the invocations, alive
+        System.out.println("(hash " + task.count + ")");
+    }
+
+    private static long measure(Runnable invoker, int invocations, int rounds) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < WARM_UP_ROUNDS + rounds; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < invocations; i++) {
+                invoker.run();
+            }
+            long elapsed = System.nanoTime() - start;
+            if (round >= WARM_UP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        return best;
+    }
+
+    private static void report(String label, long elapsedNanos, int invocations) {
+        System.out.printf(Locale.ROOT, "%-18s %6.2f ns/invocation%n", label, (double) elapsedNanos / invocations);
+    }
+
+    public static final class CountingTask {
+        private long count;
+
+        public void run() {
+            count = count * 31 + 1;
+        }
+    }
+}